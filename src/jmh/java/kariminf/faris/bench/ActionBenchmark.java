@@ -0,0 +1,73 @@
+/* FARIS : Factual Arrangement and Representation of Ideas in Sentences
+ * FAris : Farabi & Aristotle
+ * Faris : A knight (in Arabic)
+ * --------------------------------------------------------------------
+ * Copyright (C) 2017 Abdelkrime Aries (kariminfo0@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package kariminf.faris.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import kariminf.faris.philosophical.Action;
+import kariminf.faris.philosophical.QuantSubstance;
+import kariminf.faris.philosophical.Substance;
+
+/**
+ * The equality of actions, which is used by all the sets of Faris.
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ActionBenchmark {
+
+	private Action action;
+	private Action same;
+	private Action other;
+
+	@Setup
+	public void setup(){
+		QuantSubstance agent = new QuantSubstance(new Substance(1));
+		QuantSubstance theme = new QuantSubstance(new Substance(2));
+		action = BenchData.newAction(1, agent, theme);
+		same = BenchData.newAction(1, agent, theme);
+		other = BenchData.newAction(2);
+	}
+
+	@Benchmark
+	public boolean equalsSame(){
+		return action.equals(same);
+	}
+
+	@Benchmark
+	public boolean equalsOther(){
+		return action.equals(other);
+	}
+
+	@Benchmark
+	public int hashCodeAction(){
+		return action.hashCode();
+	}
+
+}
@@ -0,0 +1,125 @@
+/* FARIS : Factual Arrangement and Representation of Ideas in Sentences
+ * FAris : Farabi & Aristotle
+ * Faris : A knight (in Arabic)
+ * --------------------------------------------------------------------
+ * Copyright (C) 2017 Abdelkrime Aries (kariminfo0@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package kariminf.faris.bench;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import kariminf.faris.knowledge.Faris;
+import kariminf.faris.knowledge.Faris.FarisWrapper;
+import kariminf.faris.knowledge.Mind.MentalState;
+import kariminf.faris.linguistic.Verb;
+import kariminf.faris.philosophical.Action;
+import kariminf.faris.philosophical.QuantSubstance;
+import kariminf.faris.philosophical.Substance;
+
+/**
+ * The data shared by the benchmarks: the STON files of the test resources
+ * and synthetic graphs.
+ *
+ */
+final class BenchData {
+
+	/**
+	 * The STON files bundled in the test resources (src/test/resources/STON)
+	 */
+	static final String[] STON_FILES = {"think1", "think2", "update_info"};
+
+	//Synsets used to build synthetic actions
+	private static final int VERB_BASE = 1000000;
+	private static final int NOUN_BASE = 10000000;
+
+	private BenchData(){}
+
+	/**
+	 * Reads a STON file from the classpath
+	 * @param name the name of the file, without extension
+	 * @return its content
+	 */
+	static String readSton(String name){
+		String path = "/STON/" + name + ".ston";
+		InputStream in = BenchData.class.getResourceAsStream(path);
+		if (in == null) throw new IllegalArgumentException("No such resource: " + path);
+
+		StringBuilder contents = new StringBuilder();
+		try (BufferedReader input = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))){
+			for(String line = input.readLine(); line != null; line = input.readLine())
+				contents.append(line).append("\n");
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+
+		return contents.toString();
+	}
+
+	/**
+	 * Creates a distinct action: a verb with an agent and a theme
+	 * @param i the number of the action
+	 * @return a new action
+	 */
+	static Action newAction(int i){
+		return newAction(i, new QuantSubstance(new Substance(NOUN_BASE + i)), 
+				new QuantSubstance(new Substance(NOUN_BASE + i + 1)));
+	}
+
+	/**
+	 * Creates an action with given roles. Since quantified substances are compared
+	 * by identity, two actions are equal if they have the same number and share
+	 * their roles.
+	 * @param i the number of the action
+	 * @param agent the agent
+	 * @param theme the theme
+	 * @return a new action
+	 */
+	static Action newAction(int i, QuantSubstance agent, QuantSubstance theme){
+		Action action = Action.getNew(new Verb(VERB_BASE + i));
+		List<QuantSubstance> agents = new ArrayList<>();
+		agents.add(agent);
+		action.addConjunctSubjects(agents);
+		List<QuantSubstance> themes = new ArrayList<>();
+		themes.add(theme);
+		action.addConjunctObjects(themes);
+		return action;
+	}
+
+	/**
+	 * Creates a Faris representation with a given number of facts
+	 * @param size the number of distinct actions
+	 * @return a new Faris
+	 */
+	static Faris newFaris(int size){
+		Faris faris = new Faris();
+		FarisWrapper wrapper = new FarisWrapper(faris);
+		wrapper.unsafeAddAll();
+		for (int i = 0; i < size; i++){
+			Action action = newAction(i);
+			wrapper.actions.add(action);
+			wrapper.minds.get("$").addAction(MentalState.FACT, action);
+		}
+		return faris;
+	}
+
+}
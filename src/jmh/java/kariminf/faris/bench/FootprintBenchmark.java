@@ -0,0 +1,53 @@
+/* FARIS : Factual Arrangement and Representation of Ideas in Sentences
+ * FAris : Farabi & Aristotle
+ * Faris : A knight (in Arabic)
+ * --------------------------------------------------------------------
+ * Copyright (C) 2017 Abdelkrime Aries (kariminfo0@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package kariminf.faris.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import kariminf.faris.knowledge.Faris;
+
+/**
+ * The memory used by the entities: with the GC profiler, gc.alloc.rate.norm 
+ * divided by the size gives the bytes allocated per fact (an action with 
+ * an agent and a theme, and its thought).
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class FootprintBenchmark {
+
+	@Param({"100000"})
+	public int size;
+
+	@Benchmark
+	public Faris buildFaris(){
+		return BenchData.newFaris(size);
+	}
+
+}
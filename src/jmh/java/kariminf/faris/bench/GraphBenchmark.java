@@ -0,0 +1,73 @@
+/* FARIS : Factual Arrangement and Representation of Ideas in Sentences
+ * FAris : Farabi & Aristotle
+ * Faris : A knight (in Arabic)
+ * --------------------------------------------------------------------
+ * Copyright (C) 2017 Abdelkrime Aries (kariminfo0@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package kariminf.faris.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import kariminf.faris.knowledge.Faris;
+import kariminf.faris.knowledge.GraphAnalytics;
+
+/**
+ * Building the substance-action graph and running the analytics on it.
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class GraphBenchmark {
+
+	@Param({"1000", "100000", "1000000"})
+	public int size;
+
+	private Faris faris;
+
+	private GraphAnalytics graph;
+
+	@Setup
+	public void setup(){
+		faris = BenchData.newFaris(size);
+		graph = GraphAnalytics.of(faris);
+	}
+
+	@Benchmark
+	public GraphAnalytics build(){
+		return GraphAnalytics.of(faris);
+	}
+
+	@Benchmark
+	public int[] components(){
+		return graph.components();
+	}
+
+	@Benchmark
+	public double[] pageRank(){
+		return graph.pageRank(GraphAnalytics.DAMPING, 20, 0.0);
+	}
+
+}
@@ -0,0 +1,72 @@
+/* FARIS : Factual Arrangement and Representation of Ideas in Sentences
+ * FAris : Farabi & Aristotle
+ * Faris : A knight (in Arabic)
+ * --------------------------------------------------------------------
+ * Copyright (C) 2017 Abdelkrime Aries (kariminfo0@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package kariminf.faris.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import kariminf.faris.knowledge.Faris;
+
+/**
+ * Adding STON descriptions to graphs of growing sizes. <br>
+ * The graph is created once per iteration, so the first call adds the
+ * description and the next ones merge it into the existing elements.
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class IngestBenchmark {
+
+	@Param({"0", "100", "1000", "10000"})
+	public int graphSize;
+
+	@Param({"think1", "think2", "update_info"})
+	public String file;
+
+	private String description;
+
+	private Faris faris;
+
+	@Setup
+	public void readFile(){
+		description = BenchData.readSton(file);
+	}
+
+	@Setup(Level.Iteration)
+	public void createGraph(){
+		faris = BenchData.newFaris(graphSize);
+	}
+
+	@Benchmark
+	public boolean addStonDescription(){
+		return faris.addStonDescription(description);
+	}
+
+}
@@ -0,0 +1,84 @@
+/* FARIS : Factual Arrangement and Representation of Ideas in Sentences
+ * FAris : Farabi & Aristotle
+ * Faris : A knight (in Arabic)
+ * --------------------------------------------------------------------
+ * Copyright (C) 2017 Abdelkrime Aries (kariminfo0@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package kariminf.faris.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import kariminf.faris.knowledge.Faris;
+import kariminf.faris.knowledge.Faris.FarisWrapper;
+import kariminf.faris.process.ston.FarisParse;
+
+/**
+ * Parsing the bundled STON files into a new Faris representation.
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ParseBenchmark {
+
+	@Param({"think1", "think2", "update_info"})
+	public String file;
+
+	private String description;
+
+	@Setup
+	public void setup(){
+		description = BenchData.readSton(file);
+	}
+
+	/**
+	 * The parser alone, as called by {@link Faris#addStonDescription(String)}
+	 */
+	@Benchmark
+	public boolean farisParse(){
+		FarisWrapper wrapper = new FarisWrapper(new Faris());
+		wrapper.unsafeAddAll();
+		FarisParse parser = new FarisParse(wrapper);
+		parser.parse(description);
+		return parser.parsed();
+	}
+
+	/**
+	 * The parser of the thread, reused from a document to another
+	 */
+	@Benchmark
+	public boolean pooledFarisParse(){
+		FarisWrapper wrapper = new FarisWrapper(new Faris());
+		wrapper.unsafeAddAll();
+		FarisParse parser = FarisParse.acquire(wrapper);
+		try {
+			parser.parse(description);
+			return parser.parsed();
+		} finally {
+			parser.release();
+		}
+	}
+
+}
@@ -0,0 +1,90 @@
+/* FARIS : Factual Arrangement and Representation of Ideas in Sentences
+ * FAris : Farabi & Aristotle
+ * Faris : A knight (in Arabic)
+ * --------------------------------------------------------------------
+ * Copyright (C) 2017 Abdelkrime Aries (kariminfo0@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package kariminf.faris.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import kariminf.faris.knowledge.Faris;
+import kariminf.faris.process.ston.SyntheticSton;
+
+/**
+ * Ingestion throughput (documents per second) against the size of the graph,
+ * using a synthetic corpus. <br>
+ * The graph is filled with the first documents of the corpus; then, each call
+ * adds the next document, so the graph grows a little during an iteration.
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ScalingBenchmark {
+
+	//Number of documents already in the graph
+	@Param({"0", "1000", "10000", "100000"})
+	public int graphDocs;
+
+	@Param({"1"})
+	public int opinionDepth;
+
+	@Param({"0.3"})
+	public double duplicateRate;
+
+	@Param({"42"})
+	public long seed;
+
+	//Documents which are generated in advance, so the generation is not measured
+	private static final int BATCH = 4096;
+
+	private SyntheticSton corpus;
+	private String[] documents;
+	private Faris faris;
+	private int next;
+
+	@Setup(Level.Trial)
+	public void createCorpus(){
+		corpus = new SyntheticSton(seed).opinionDepth(opinionDepth).duplicateRate(duplicateRate);
+		documents = corpus.documents(graphDocs, BATCH).toArray(String[]::new);
+	}
+
+	@Setup(Level.Iteration)
+	public void createGraph(){
+		faris = new Faris();
+		corpus.documents(graphDocs).forEach(faris::addStonDescription);
+		next = 0;
+	}
+
+	@Benchmark
+	public boolean addDocument(){
+		String doc = documents[next];
+		next = (next + 1) % BATCH;
+		return faris.addStonDescription(doc);
+	}
+
+}
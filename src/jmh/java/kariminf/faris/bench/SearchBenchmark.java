@@ -0,0 +1,82 @@
+/* FARIS : Factual Arrangement and Representation of Ideas in Sentences
+ * FAris : Farabi & Aristotle
+ * Faris : A knight (in Arabic)
+ * --------------------------------------------------------------------
+ * Copyright (C) 2017 Abdelkrime Aries (kariminfo0@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package kariminf.faris.bench;
+
+import java.util.HashSet;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import kariminf.faris.philosophical.Action;
+import kariminf.faris.philosophical.QuantSubstance;
+import kariminf.faris.philosophical.Substance;
+import kariminf.faris.tools.Search;
+
+/**
+ * Searching an element equal to a model, as done for each element when
+ * a description is merged into Faris.
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class SearchBenchmark {
+
+	@Param({"10", "1000", "100000"})
+	public int size;
+
+	private HashSet<Action> actions = new HashSet<>();
+
+	//An action equal to an element of the set, but not the same instance
+	private Action found;
+
+	private Action notFound;
+
+	@Setup
+	public void setup(){
+		actions.clear();
+		for (int i = 0; i < size; i++)
+			if (i != size/2) actions.add(BenchData.newAction(i));
+
+		QuantSubstance agent = new QuantSubstance(new Substance(1));
+		QuantSubstance theme = new QuantSubstance(new Substance(2));
+		actions.add(BenchData.newAction(size/2, agent, theme));
+		found = BenchData.newAction(size/2, agent, theme);
+		notFound = BenchData.newAction(size + 2);
+	}
+
+	@Benchmark
+	public Action getElementFound(){
+		return Search.getElement(actions, found);
+	}
+
+	@Benchmark
+	public Action getElementNotFound(){
+		return Search.getElement(actions, notFound);
+	}
+
+}
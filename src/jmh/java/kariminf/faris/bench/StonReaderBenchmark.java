@@ -0,0 +1,110 @@
+/* FARIS : Factual Arrangement and Representation of Ideas in Sentences
+ * FAris : Farabi & Aristotle
+ * Faris : A knight (in Arabic)
+ * --------------------------------------------------------------------
+ * Copyright (C) 2017 Abdelkrime Aries (kariminfo0@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package kariminf.faris.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import kariminf.faris.knowledge.Faris;
+import kariminf.faris.knowledge.Faris.FarisWrapper;
+import kariminf.faris.process.ston.FarisParse;
+import kariminf.faris.process.ston.StonReader;
+import kariminf.faris.process.ston.SyntheticSton;
+
+/**
+ * The STON reader of Faris against the parser of sentrep, on the bundled STON files
+ * and on synthetic corpora: many small documents, or a few large ones.
+ * Each operation parses all the documents into a new Faris representation.
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class StonReaderBenchmark {
+
+	@Param({"think1", "think2", "update_info", "small", "large"})
+	public String corpus;
+
+	private String[] documents;
+
+	@Setup
+	public void setup(){
+		switch (corpus) {
+		case "small":
+			documents = new SyntheticSton(42).documents(1000).toArray(String[]::new);
+			break;
+		case "large":
+			documents = new SyntheticSton(42).roles(2000).actions(1000)
+				.documents(10).toArray(String[]::new);
+			break;
+		default:
+			documents = new String[]{BenchData.readSton(corpus)};
+			break;
+		}
+	}
+
+	/**
+	 * The parser of sentrep, as called by {@link Faris#addStonDescription(String)}
+	 */
+	@Benchmark
+	public Faris sentrep(){
+		FarisWrapper wrapper = new FarisWrapper(new Faris());
+		wrapper.unsafeAddAll();
+		FarisParse parser = FarisParse.acquire(wrapper);
+		try {
+			for (String description: documents){
+				parser.reset(wrapper);
+				parser.parse(description);
+			}
+		} finally {
+			parser.release();
+		}
+		return wrapper.faris;
+	}
+
+	/**
+	 * {@link StonReader}, as called by {@link Faris#readStonDescription(CharSequence)}
+	 */
+	@Benchmark
+	public Faris reader(){
+		FarisWrapper wrapper = new FarisWrapper(new Faris());
+		wrapper.unsafeAddAll();
+		FarisParse parser = FarisParse.acquire(wrapper);
+		try {
+			for (String description: documents){
+				parser.reset(wrapper);
+				parser.read(description);
+			}
+		} finally {
+			parser.release();
+		}
+		return wrapper.faris;
+	}
+
+}
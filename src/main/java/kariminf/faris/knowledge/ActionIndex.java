@@ -0,0 +1,160 @@
+/* FARIS : Factual Arrangement and Representation of Ideas in Sentences
+ * FAris : Farabi & Aristotle
+ * Faris : A knight (in Arabic)
+ * --------------------------------------------------------------------
+ * Copyright (C) 2017 Abdelkrime Aries (kariminfo0@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package kariminf.faris.knowledge;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
+import kariminf.faris.philosophical.Action;
+import kariminf.faris.philosophical.Action.ActionWrapper;
+import kariminf.faris.tools.ConjunctedSubstances;
+
+/**
+ * An index used to find the action equal to a new one, when a description is merged. <br>
+ * Two actions are equal if they have the same verb, doers and receivers; but when one 
+ * of them has the adverb "also", having the same doers or the same receivers is enough. 
+ * This is not consistent with {@link Action#hashCode()}, so a hash set can't find such 
+ * actions. Here, the actions are indexed twice: by (verb, doers) and by (verb, receivers); 
+ * a lookup checks the actions of the two keys.
+ * <pre>
+ * Action act = faris.getActionIndex().find(action);
+ * </pre>
+ * An action must be indexed again (using {@link #add(Action)}) after being updated.
+ *
+ */
+public class ActionIndex {
+
+	private final HashMap<Long, List<Action>> byDoers = new HashMap<>();
+	private final HashMap<Long, List<Action>> byReceivers = new HashMap<>();
+
+	//The keys of each indexed action, since they change when the action is updated
+	private final IdentityHashMap<Action, long[]> keys = new IdentityHashMap<>();
+
+	private static long key(int verbSynSet, Set<ConjunctedSubstances> roles){
+		return ((long) verbSynSet << 32) | (roles.hashCode() & 0xffffffffL);
+	}
+
+	private static long[] keys(Action action){
+		ActionWrapper wrapper = new ActionWrapper(action);
+		wrapper.unsafeAddAll();
+		int verb = action.getVerb().getSynSet();
+		return new long[]{key(verb, wrapper.doers), key(verb, wrapper.receivers)};
+	}
+
+	//=====================================================================
+	//========================== MAINTENANCE ==============================
+	//=====================================================================
+
+	/**
+	 * Indexes an action, or indexes it again if it has been updated
+	 * @param action the action
+	 */
+	public void add(Action action){
+		long[] newKeys = keys(action);
+		long[] oldKeys = keys.put(action, newKeys);
+		if (oldKeys != null){
+			if (oldKeys[0] == newKeys[0] && oldKeys[1] == newKeys[1]) return;
+			remove(byDoers, oldKeys[0], action);
+			remove(byReceivers, oldKeys[1], action);
+		}
+		add(byDoers, newKeys[0], action);
+		add(byReceivers, newKeys[1], action);
+	}
+
+	/**
+	 * @param action an indexed action
+	 */
+	public void remove(Action action){
+		long[] oldKeys = keys.remove(action);
+		if (oldKeys == null) return;
+		remove(byDoers, oldKeys[0], action);
+		remove(byReceivers, oldKeys[1], action);
+	}
+
+	private static void add(HashMap<Long, List<Action>> index, long key, Action action){
+		List<Action> actions = index.get(key);
+		if (actions == null){
+			actions = new ArrayList<>(1);
+			index.put(key, actions);
+		}
+		actions.add(action);
+	}
+
+	private static void remove(HashMap<Long, List<Action>> index, long key, Action action){
+		List<Action> actions = index.get(key);
+		if (actions == null) return;
+		for (int i = 0; i < actions.size(); i++)
+			if (actions.get(i) == action){
+				actions.remove(i);
+				break;
+			}
+		if (actions.isEmpty()) index.remove(key);
+	}
+
+	/**
+	 * Indexes again all the actions
+	 * @param actions the actions
+	 */
+	public void rebuild(Collection<Action> actions){
+		clear();
+		for (Action action: actions) add(action);
+	}
+
+	public void clear(){
+		byDoers.clear();
+		byReceivers.clear();
+		keys.clear();
+	}
+
+	/**
+	 * @return the number of indexed actions
+	 */
+	public int size(){
+		return keys.size();
+	}
+
+	//=====================================================================
+	//=========================== QUERIES =================================
+	//=====================================================================
+
+	/**
+	 * @param model an action
+	 * @return an indexed action equal to the model (see {@link Action#equals(Object)}), 
+	 * or null if there is none
+	 */
+	public Action find(Action model){
+		long[] modelKeys = keys(model);
+		Action result = find(byDoers.get(modelKeys[0]), model);
+		if (result != null) return result;
+		return find(byReceivers.get(modelKeys[1]), model);
+	}
+
+	private static Action find(List<Action> actions, Action model){
+		if (actions == null) return null;
+		for (Action action: actions)
+			if (action.equals(model)) return action;
+		return null;
+	}
+
+}
@@ -18,15 +18,24 @@
  */
 package kariminf.faris.knowledge;
 
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Set;
+import java.util.stream.Stream;
 
+import kariminf.faris.knowledge.Mind.MentalState;
 import kariminf.faris.philosophical.Action;
 import kariminf.faris.philosophical.QuantSubstance;
 import kariminf.faris.philosophical.State;
 import kariminf.faris.philosophical.Substance;
 import kariminf.faris.process.Processor;
+import kariminf.faris.process.bin.FarisDecode;
 import kariminf.faris.process.ston.FarisParse;
+import kariminf.faris.tools.metrics.CachedCounter;
+import kariminf.faris.tools.metrics.CachedHistogram;
 
 
 /**
@@ -56,6 +65,11 @@ public class Faris {
 		public HashSet<Action> actions;
 		public HashMap<String, Mind> minds;
 		public HashSet<State> states;
+		public TimeIndex timeIndex;
+		public PlaceIndex placeIndex;
+		public ActionIndex actionIndex;
+		public SubstanceIndex substanceIndex;
+		public NameIndex nameIndex;
 		
 		public FarisWrapper(Faris faris){
 			this.faris = faris;
@@ -66,9 +80,36 @@ public class Faris {
 			actions = faris.actions;
 			minds = faris.minds;
 			states = faris.states;
+			timeIndex = faris.timeIndex;
+			placeIndex = faris.placeIndex;
+			actionIndex = faris.actionIndex;
+			substanceIndex = faris.substanceIndex;
+			nameIndex = faris.nameIndex;
+		}
+		
+		/**
+		 * Updates a substance of Faris from another one having the same noun. 
+		 * It is removed then added again, since its hash changes with its qualities.
+		 * @param known a substance of Faris
+		 * @param sub the source substance
+		 */
+		public void updateSubstance(Substance known, Substance sub){
+			substances.remove(known);
+			substanceIndex.remove(known);
+			known.update(sub);
+			substances.add(known);
+			substanceIndex.add(known);
 		}
 	}
 	
+	private static final CachedHistogram STON_PARSE_TIME = new CachedHistogram("ston.parse.time");
+	private static final CachedHistogram STON_READ_TIME = new CachedHistogram("ston.read.time");
+	private static final CachedCounter STON_PARSED = new CachedCounter("ston.parsed");
+	private static final CachedCounter STON_FAILED = new CachedCounter("ston.failed");
+	private static final CachedHistogram BIN_DECODE_TIME = new CachedHistogram("bin.decode.time");
+	private static final CachedCounter BIN_DECODED = new CachedCounter("bin.decoded");
+	private static final CachedCounter BIN_FAILED = new CachedCounter("bin.failed");
+	
 	private HashSet<Substance> substances = new HashSet<>();
 	
 	private HashSet<Action> actions = new HashSet<>();
@@ -77,6 +118,16 @@ public class Faris {
 	
 	private HashSet<State> states = new HashSet<>();
 	
+	private TimeIndex timeIndex = new TimeIndex();
+	
+	private PlaceIndex placeIndex = new PlaceIndex();
+	
+	private ActionIndex actionIndex = new ActionIndex();
+	
+	private SubstanceIndex substanceIndex = new SubstanceIndex();
+	
+	private NameIndex nameIndex = new NameIndex();
+	
 	
 	public Faris() {
 		QuantSubstance s = new QuantSubstance(new Substance(0));
@@ -91,12 +142,165 @@ public class Faris {
 	public boolean addStonDescription(String description){
 		FarisWrapper wrapper = new FarisWrapper(this);
 		wrapper.unsafeAddAll();
-		FarisParse parser = new FarisParse(wrapper);
-		parser.parse(description);
-		return parser.parsed();
+		FarisParse parser = FarisParse.acquire(wrapper);
+		try {
+			long start = System.nanoTime();
+			parser.parse(description);
+			STON_PARSE_TIME.record(System.nanoTime() - start);
+			(parser.parsed()? STON_PARSED: STON_FAILED).inc();
+			return parser.parsed();
+		} finally {
+			parser.release();
+		}
+	}
+	
+	/**
+	 * Adds a STON description using {@link kariminf.faris.process.ston.StonReader}
+	 * instead of the parser of sentrep
+	 * @param description the STON description
+	 * @return true if the description has been parsed and added
+	 */
+	public boolean readStonDescription(CharSequence description){
+		FarisWrapper wrapper = new FarisWrapper(this);
+		wrapper.unsafeAddAll();
+		FarisParse parser = FarisParse.acquire(wrapper);
+		try {
+			long start = System.nanoTime();
+			boolean parsed = parser.read(description);
+			STON_READ_TIME.record(System.nanoTime() - start);
+			(parsed? STON_PARSED: STON_FAILED).inc();
+			return parsed;
+		} finally {
+			parser.release();
+		}
+	}
+	
+	/**
+	 * Adds a description encoded by {@link kariminf.faris.process.bin.BinGeneratorHandler}
+	 * @param description the binary description
+	 * @return true if the description has been decoded and added
+	 */
+	public boolean addBinDescription(byte[] description){
+		FarisWrapper wrapper = new FarisWrapper(this);
+		wrapper.unsafeAddAll();
+		FarisDecode decoder = new FarisDecode(wrapper);
+		long start = System.nanoTime();
+		decoder.decode(description);
+		BIN_DECODE_TIME.record(System.nanoTime() - start);
+		(decoder.decoded()? BIN_DECODED: BIN_FAILED).inc();
+		return decoder.decoded();
+	}
+	
+	
+	
+	//=====================================================================
+	//========================== VIEWS ====================================
+	//=====================================================================
+	
+	/**
+	 * @return an unmodifiable view of the principal minds
+	 */
+	public Collection<Mind> getMinds(){
+		return Collections.unmodifiableCollection(minds.values());
+	}
+	
+	/**
+	 * @return an unmodifiable view of the actions
+	 */
+	public Set<Action> getActions(){
+		return Collections.unmodifiableSet(actions);
 	}
 	
+	/**
+	 * @return an unmodifiable view of the substances
+	 */
+	public Set<Substance> getSubstances(){
+		return Collections.unmodifiableSet(substances);
+	}
 	
+	/**
+	 * @return an unmodifiable view of the states
+	 */
+	public Set<State> getStates(){
+		return Collections.unmodifiableSet(states);
+	}
+	
+	/**
+	 * @return the index of the actions by their dates
+	 */
+	public TimeIndex getTimeIndex(){
+		return timeIndex;
+	}
+	
+	/**
+	 * @return the index of the actions and states by their locations
+	 */
+	public PlaceIndex getPlaceIndex(){
+		return placeIndex;
+	}
+	
+	/**
+	 * @return the index used to find the actions when merging descriptions
+	 */
+	public ActionIndex getActionIndex(){
+		return actionIndex;
+	}
+	
+	/**
+	 * @return the index of the substances by their noun and qualities
+	 */
+	public SubstanceIndex getSubstanceIndex(){
+		return substanceIndex;
+	}
+	
+	/**
+	 * @return the index of the named substances
+	 */
+	public NameIndex getNameIndex(){
+		return nameIndex;
+	}
+	
+	/**
+	 * Builds the indexes again; it is needed only if the actions have been 
+	 * modified without adding a description.
+	 */
+	public void reindex(){
+		timeIndex.rebuild(actions);
+		placeIndex.rebuild(actions, states);
+		actionIndex.rebuild(actions);
+		substanceIndex.rebuild(substances);
+		nameIndex.rebuild(substances);
+	}
+	
+	/**
+	 * All the minds: the principal ones and, recursively, their opinion minds
+	 * @return a lazy stream of the minds
+	 */
+	public Stream<Mind> minds(){
+		return minds.values().stream().flatMap(Faris::withOpinions);
+	}
+	
+	private static Stream<Mind> withOpinions(Mind mind){
+		return Stream.concat(Stream.of(mind), mind.opinionMinds().flatMap(Faris::withOpinions));
+	}
+	
+	/**
+	 * The thoughts of all the minds
+	 * @return a lazy stream of the thoughts
+	 */
+	public Stream<Thought> thoughts(){
+		return minds().flatMap(Mind::thoughts);
+	}
+	
+	/**
+	 * The roles (agents and themes) of all the actions
+	 * @return a lazy stream of the roles
+	 */
+	public Stream<QuantSubstance> roles(){
+		return actions.stream().flatMap(Action::roles);
+	}
+	
+	//=====================================================================
 	
 	/**
 	 * 
@@ -109,6 +313,14 @@ public class Faris {
 		result += "There are " + substances.size() + " different substances\n";
 		result += "There are " + actions.size() + " different actions\n";
 		
+		EnumMap<MentalState, Integer> sizes = new EnumMap<>(MentalState.class);
+		minds().forEach(mind -> {
+			for (MentalState ms: mind.getMentalStates())
+				sizes.merge(ms, mind.getThoughts(ms).size(), Integer::sum);
+		});
+		for (MentalState ms: sizes.keySet())
+			result += "There are " + sizes.get(ms) + " thought(s) of type " + ms + "\n";
+		
 		return result;
 	}
 
@@ -0,0 +1,325 @@
+/* FARIS : Factual Arrangement and Representation of Ideas in Sentences
+ * FAris : Farabi & Aristotle
+ * Faris : A knight (in Arabic)
+ * --------------------------------------------------------------------
+ * Copyright (C) 2017 Abdelkrime Aries (kariminfo0@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package kariminf.faris.knowledge;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.stream.IntStream;
+
+import kariminf.faris.philosophical.Action;
+import kariminf.faris.philosophical.Substance;
+
+/**
+ * Analytics over the bipartite graph of substances and actions: a substance is 
+ * linked to the actions where it is a doer or a receiver. <br>
+ * The graph is stored as compact CSR adjacency arrays (the neighbours of the node 
+ * i are in targets[offsets[i]..offsets[i+1]]); the substances are the nodes 
+ * [0, substanceCount()) and the actions the following ones. <br>
+ * The computations run as parallel streams, in the common fork-join pool.
+ * <pre>
+ * GraphAnalytics graph = GraphAnalytics.of(faris);
+ * List&lt;Substance&gt; main = graph.topSubstances(graph.pageRank(), 5);
+ * </pre>
+ * It is a snapshot: it must be built again when the knowledge changes.
+ *
+ */
+public class GraphAnalytics {
+
+	public static final double DAMPING = 0.85;
+	public static final int MAX_ITERATIONS = 100;
+	public static final double TOLERANCE = 1e-9;
+
+	private final Substance[] substances;
+	private final Action[] actions;
+
+	private final int[] offsets;
+	private final int[] targets;
+
+	private GraphAnalytics(Substance[] substances, Action[] actions, int[] offsets, int[] targets){
+		this.substances = substances;
+		this.actions = actions;
+		this.offsets = offsets;
+		this.targets = targets;
+	}
+
+	//=====================================================================
+	//=========================== BUILDING ================================
+	//=====================================================================
+
+	/**
+	 * @param faris the knowledge
+	 * @return the graph of its substances and actions
+	 */
+	public static GraphAnalytics of(Faris faris){
+		return of(faris.getSubstances(), faris.getActions());
+	}
+
+	/**
+	 * @param substances the substances, even isolated ones; the roles of the actions 
+	 * are added if they are not there
+	 * @param actions the actions
+	 * @return the graph
+	 */
+	public static GraphAnalytics of(Collection<Substance> substances, Collection<Action> actions){
+		//Substances are compared by identity, like the roles of the actions
+		IdentityHashMap<Substance, Integer> ids = new IdentityHashMap<>();
+		List<Substance> nodes = new ArrayList<>(substances.size());
+		for (Substance sub: substances)
+			if (! ids.containsKey(sub)){
+				ids.put(sub, nodes.size());
+				nodes.add(sub);
+			}
+
+		Action[] acts = actions.toArray(new Action[actions.size()]);
+
+		//Edges (substance, action), without repeating a role of the same action
+		int[] edgeSubs = new int[acts.length];
+		int[] edgeActs = new int[acts.length];
+		int nbEdges = 0;
+		for (int a = 0; a < acts.length; a++){
+			int[] roles = acts[a].roles().mapToInt(role -> {
+				Substance sub = role.getSubstance();
+				Integer id = ids.get(sub);
+				if (id == null){
+					id = nodes.size();
+					ids.put(sub, id);
+					nodes.add(sub);
+				}
+				return id;
+			}).sorted().distinct().toArray();
+
+			if (nbEdges + roles.length > edgeSubs.length){
+				int length = Math.max(edgeSubs.length * 2, nbEdges + roles.length);
+				edgeSubs = Arrays.copyOf(edgeSubs, length);
+				edgeActs = Arrays.copyOf(edgeActs, length);
+			}
+			for (int role: roles){
+				edgeSubs[nbEdges] = role;
+				edgeActs[nbEdges] = a;
+				nbEdges++;
+			}
+		}
+
+		int nbSubs = nodes.size();
+		int nbNodes = nbSubs + acts.length;
+
+		//Each edge is stored in both directions
+		int[] offsets = new int[nbNodes + 1];
+		for (int e = 0; e < nbEdges; e++){
+			offsets[edgeSubs[e] + 1]++;
+			offsets[nbSubs + edgeActs[e] + 1]++;
+		}
+		for (int i = 0; i < nbNodes; i++)
+			offsets[i + 1] += offsets[i];
+
+		int[] targets = new int[2 * nbEdges];
+		int[] next = Arrays.copyOf(offsets, nbNodes);
+		for (int e = 0; e < nbEdges; e++){
+			int s = edgeSubs[e], a = nbSubs + edgeActs[e];
+			targets[next[s]++] = a;
+			targets[next[a]++] = s;
+		}
+
+		return new GraphAnalytics(nodes.toArray(new Substance[nbSubs]), acts, offsets, targets);
+	}
+
+	//=====================================================================
+	//============================ NODES ==================================
+	//=====================================================================
+
+	public int nodeCount(){
+		return offsets.length - 1;
+	}
+
+	public int substanceCount(){
+		return substances.length;
+	}
+
+	public int actionCount(){
+		return actions.length;
+	}
+
+	/**
+	 * @return the number of (substance, action) edges
+	 */
+	public int edgeCount(){
+		return targets.length / 2;
+	}
+
+	public boolean isSubstance(int node){
+		return node < substances.length;
+	}
+
+	public Substance getSubstance(int node){
+		return substances[node];
+	}
+
+	public Action getAction(int node){
+		return actions[node - substances.length];
+	}
+
+	/**
+	 * @param node a node
+	 * @return a copy of its neighbours
+	 */
+	public int[] neighbours(int node){
+		return Arrays.copyOfRange(targets, offsets[node], offsets[node + 1]);
+	}
+
+	//=====================================================================
+	//========================== COMPONENTS ===============================
+	//=====================================================================
+
+	/**
+	 * Finds the connected components with a lock-free union-find, the edges 
+	 * being united in parallel.
+	 * @return for each node, the smallest node of its component
+	 */
+	public int[] components(){
+		int n = nodeCount();
+		AtomicIntegerArray parents = new AtomicIntegerArray(n);
+		IntStream.range(0, n).parallel().forEach(i -> parents.set(i, i));
+
+		IntStream.range(0, substances.length).parallel().forEach(s -> {
+			for (int e = offsets[s]; e < offsets[s + 1]; e++)
+				union(parents, s, targets[e]);
+		});
+
+		return IntStream.range(0, n).parallel().map(i -> find(parents, i)).toArray();
+	}
+
+	private static int find(AtomicIntegerArray parents, int i){
+		int parent = parents.get(i);
+		while (parent != i){
+			//path halving; losing the race just leaves a longer path
+			int grand = parents.get(parent);
+			parents.compareAndSet(i, parent, grand);
+			i = grand;
+			parent = parents.get(i);
+		}
+		return i;
+	}
+
+	private static void union(AtomicIntegerArray parents, int a, int b){
+		while (true){
+			a = find(parents, a);
+			b = find(parents, b);
+			if (a == b) return;
+			//The biggest root is attached to the smallest one, so there are no cycles
+			if (a < b){
+				int tmp = a; a = b; b = tmp;
+			}
+			if (parents.compareAndSet(a, a, b)) return;
+		}
+	}
+
+	/**
+	 * @param components the result of {@link #components()}
+	 * @return the number of components
+	 */
+	public static int componentCount(int[] components){
+		int result = 0;
+		for (int i = 0; i < components.length; i++)
+			if (components[i] == i) result++;
+		return result;
+	}
+
+	//=====================================================================
+	//========================== CENTRALITY ===============================
+	//=====================================================================
+
+	/**
+	 * @return for each node, its number of neighbours
+	 */
+	public int[] degrees(){
+		return IntStream.range(0, nodeCount()).parallel()
+				.map(i -> offsets[i + 1] - offsets[i]).toArray();
+	}
+
+	/**
+	 * @return the PageRank of the nodes with the default parameters
+	 */
+	public double[] pageRank(){
+		return pageRank(DAMPING, MAX_ITERATIONS, TOLERANCE);
+	}
+
+	/**
+	 * Computes the PageRank of the nodes, the edges being followed in both directions. 
+	 * Each iteration pulls the ranks of the neighbours in parallel; the rank of the 
+	 * isolated nodes is spread over all the nodes.
+	 * @param damping the probability to follow an edge
+	 * @param maxIterations the maximum number of iterations
+	 * @param tolerance the iterations stop when the sum of the changes is less than it
+	 * @return the ranks, which sum to 1
+	 */
+	public double[] pageRank(double damping, int maxIterations, double tolerance){
+		int n = nodeCount();
+		if (n == 0) return new double[0];
+
+		double[] ranks = new double[n];
+		Arrays.fill(ranks, 1.0 / n);
+		double[] shares = new double[n];
+
+		for (int iteration = 0; iteration < maxIterations; iteration++){
+			double[] current = ranks;
+			IntStream.range(0, n).parallel().forEach(i -> {
+				int degree = offsets[i + 1] - offsets[i];
+				shares[i] = (degree == 0)? 0.0: current[i] / degree;
+			});
+			double dangling = IntStream.range(0, n).parallel()
+					.filter(i -> offsets[i + 1] == offsets[i])
+					.mapToDouble(i -> current[i]).sum();
+
+			double base = (1.0 - damping) / n + damping * dangling / n;
+			double[] next = IntStream.range(0, n).parallel().mapToDouble(i -> {
+				double sum = 0.0;
+				for (int e = offsets[i]; e < offsets[i + 1]; e++)
+					sum += shares[targets[e]];
+				return base + damping * sum;
+			}).toArray();
+
+			double change = IntStream.range(0, n).parallel()
+					.mapToDouble(i -> Math.abs(next[i] - current[i])).sum();
+			ranks = next;
+			if (change < tolerance) break;
+		}
+
+		return ranks;
+	}
+
+	/**
+	 * @param scores a score for each node (degrees, ranks, ...)
+	 * @param k the maximum number of substances
+	 * @return the substances having the best scores, the best first
+	 */
+	public List<Substance> topSubstances(double[] scores, int k){
+		List<Substance> result = new ArrayList<>();
+		IntStream.range(0, substances.length).boxed()
+			.sorted((a, b) -> Double.compare(scores[b], scores[a]))
+			.limit(k)
+			.forEach(i -> result.add(substances[i]));
+		return result;
+	}
+
+}
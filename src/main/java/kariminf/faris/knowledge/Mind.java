@@ -20,14 +20,17 @@
 
 package kariminf.faris.knowledge;
 
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Set;
+import java.util.stream.Stream;
 
 import kariminf.faris.philosophical.Action;
 import kariminf.faris.philosophical.QuantSubstance;
 import kariminf.faris.process.Processor;
 import kariminf.faris.tools.Search;
+import kariminf.faris.tools.metrics.CachedCounter;
 
 
 /**
@@ -94,6 +97,13 @@ public class Mind {
 	
 	private HashSet<MentalState> mentalStates = new HashSet<>();
 	
+	//Metrics counting the new thoughts, by mental state
+	private static final CachedCounter[] THOUGHTS_METRICS = new CachedCounter[MentalState.values().length];
+	static {
+		for (MentalState ms: MentalState.values())
+			THOUGHTS_METRICS[ms.ordinal()] = new CachedCounter("mind.thoughts." + ms);
+	}
+	
 	
 	/**
 	 * 
@@ -113,6 +123,14 @@ public class Mind {
 		return name;
 	}
 	
+	/**
+	 * 
+	 * @return the substance which owns this mind
+	 */
+	public QuantSubstance getOwner(){
+		return owner;
+	}
+	
 	/**
 	 * 
 	 * @param agent
@@ -132,6 +150,30 @@ public class Mind {
 		return getIdeas(ms, thoughts);
 	}
 	
+	/**
+	 * @return an unmodifiable view of the mental states used by this mind
+	 */
+	public Set<MentalState> getMentalStates(){
+		return Collections.unmodifiableSet(mentalStates);
+	}
+	
+	/**
+	 * The thoughts of this mind, whatever their mental state. 
+	 * The thoughts of the opinion minds are not included.
+	 * @return a lazy stream of the thoughts
+	 */
+	public Stream<Thought> thoughts(){
+		return thoughts.values().stream().flatMap(Set::stream);
+	}
+	
+	/**
+	 * The minds of the others, as seen by this mind (opinions)
+	 * @return a lazy stream of the opinion minds
+	 */
+	public Stream<Mind> opinionMinds(){
+		return opinions.values().stream().flatMap(Set::stream).map(Opinion::getMind);
+	}
+	
 	/**
 	 * 
 	 * @param ms
@@ -165,7 +207,8 @@ public class Mind {
 		Thought thought = Search.getElement(ideas, newIdea);
 		thought.update(newIdea);
 
-		ideas.add(thought);
+		if (ideas.add(thought))
+			THOUGHTS_METRICS[ms.ordinal()].inc();
 		mentalStates.add(ms);
 	}
 
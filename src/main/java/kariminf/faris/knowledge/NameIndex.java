@@ -0,0 +1,184 @@
+/* FARIS : Factual Arrangement and Representation of Ideas in Sentences
+ * FAris : Farabi & Aristotle
+ * Faris : A knight (in Arabic)
+ * --------------------------------------------------------------------
+ * Copyright (C) 2017 Abdelkrime Aries (kariminfo0@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package kariminf.faris.knowledge;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import kariminf.faris.linguistic.Noun;
+import kariminf.faris.philosophical.Substance;
+import kariminf.faris.tools.SmallSet;
+
+/**
+ * An index of the named substances (having a proper noun), as a trie over their names. 
+ * It finds the substances by their exact name or by a prefix of it, and it is used 
+ * to resolve a named substance to the one already known.
+ * <pre>
+ * faris.getNameIndex().prefix("Nag");
+ * </pre>
+ * Faris updates it when a description is added.
+ *
+ */
+public class NameIndex {
+
+	private static final char[] NO_CHARS = new char[0];
+	private static final Node[] NO_NODES = new Node[0];
+
+	private static final class Node {
+		//The children are sorted by their character
+		private char[] chars = NO_CHARS;
+		private Node[] children = NO_NODES;
+		//The substances having the name ending here, kept by identity
+		private Set<Substance> substances = SmallSet.empty();
+
+		private Node child(char c){
+			int i = Arrays.binarySearch(chars, c);
+			return (i < 0)? null: children[i];
+		}
+
+		private Node addChild(char c){
+			int i = Arrays.binarySearch(chars, c);
+			if (i >= 0) return children[i];
+			i = -i - 1;
+			Node child = new Node();
+			char[] newChars = new char[chars.length + 1];
+			Node[] newChildren = new Node[chars.length + 1];
+			System.arraycopy(chars, 0, newChars, 0, i);
+			System.arraycopy(children, 0, newChildren, 0, i);
+			newChars[i] = c;
+			newChildren[i] = child;
+			System.arraycopy(chars, i, newChars, i + 1, chars.length - i);
+			System.arraycopy(children, i, newChildren, i + 1, chars.length - i);
+			chars = newChars;
+			children = newChildren;
+			return child;
+		}
+	}
+
+	private Node root = new Node();
+
+	private int size = 0;
+
+	//=====================================================================
+	//========================== MAINTENANCE ==============================
+	//=====================================================================
+
+	/**
+	 * Indexes a substance if it has a name
+	 * @param substance the substance
+	 */
+	public void add(Substance substance){
+		String name = substance.getName();
+		if (name == null) return;
+		Node node = root;
+		for (int i = 0; i < name.length(); i++)
+			node = node.addChild(name.charAt(i));
+		int before = node.substances.size();
+		node.substances = SmallSet.addIdentity(node.substances, substance);
+		size += node.substances.size() - before;
+	}
+
+	/**
+	 * Indexes again all the substances
+	 * @param substances the substances
+	 */
+	public void rebuild(Collection<Substance> substances){
+		clear();
+		for (Substance substance: substances) add(substance);
+	}
+
+	public void clear(){
+		root = new Node();
+		size = 0;
+	}
+
+	/**
+	 * @return the number of indexed substances
+	 */
+	public int size(){
+		return size;
+	}
+
+	//=====================================================================
+	//=========================== QUERIES =================================
+	//=====================================================================
+
+	private Node find(String name){
+		Node node = root;
+		for (int i = 0; i < name.length() && node != null; i++)
+			node = node.child(name.charAt(i));
+		return node;
+	}
+
+	/**
+	 * @param name a name
+	 * @return the substances having exactly this name
+	 */
+	public List<Substance> exact(String name){
+		Node node = find(name);
+		if (node == null || node.substances.isEmpty()) return Collections.emptyList();
+		return new ArrayList<>(node.substances);
+	}
+
+	/**
+	 * @param prefix the beginning of a name
+	 * @return the substances whose name starts with it, in the order of the names
+	 */
+	public List<Substance> prefix(String prefix){
+		Node node = find(prefix);
+		if (node == null) return Collections.emptyList();
+
+		List<Substance> result = new ArrayList<>();
+		ArrayDeque<Node> stack = new ArrayDeque<>();
+		stack.push(node);
+		while (! stack.isEmpty()){
+			node = stack.pop();
+			result.addAll(node.substances);
+			for (int i = node.children.length - 1; i >= 0; i--)
+				stack.push(node.children[i]);
+		}
+		return result;
+	}
+
+	/**
+	 * Resolves a named substance: a substance having the same noun (synset, 
+	 * gender and definiteness) and the same name is the same entity. 
+	 * The whole noun is compared since {@link Substance#update(Substance)} 
+	 * only merges substances with equal nouns.
+	 * @param model a substance
+	 * @return the indexed substance with the same name and noun, or null
+	 */
+	public Substance resolve(Substance model){
+		String name = model.getName();
+		if (name == null) return null;
+		Node node = find(name);
+		if (node == null) return null;
+		Noun noun = model.getNoun();
+		for (Substance substance: node.substances)
+			if (substance.hasNoun(noun)) return substance;
+		return null;
+	}
+
+}
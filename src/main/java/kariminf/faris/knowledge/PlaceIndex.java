@@ -0,0 +1,232 @@
+/* FARIS : Factual Arrangement and Representation of Ideas in Sentences
+ * FAris : Farabi & Aristotle
+ * Faris : A knight (in Arabic)
+ * --------------------------------------------------------------------
+ * Copyright (C) 2017 Abdelkrime Aries (kariminfo0@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package kariminf.faris.knowledge;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import kariminf.faris.philosophical.Action;
+import kariminf.faris.philosophical.Place;
+import kariminf.faris.philosophical.QuantSubstance;
+import kariminf.faris.philosophical.State;
+import kariminf.faris.philosophical.Substance;
+import kariminf.sentrep.types.Relation.Adpositional;
+
+/**
+ * An index of the actions and states by their locations, for "what happened 
+ * in/near X" questions. The locations are found by their substance or by the synset 
+ * of their noun, and can be filtered by relation (INSIDE, OUTSIDE, ABOVE, PROXIMITY, ...).
+ * Faris updates it when a description is added.
+ * <pre>
+ * faris.getPlaceIndex().actionsAt(carSynSet, Adpositional.INSIDE);
+ * </pre>
+ *
+ */
+public class PlaceIndex {
+
+	/**
+	 * An action (or a state) located somewhere
+	 */
+	public static final class Located {
+		public final Action action;
+		//null if the action is not the action of a state
+		public final State state;
+		public final Adpositional relation;
+		public final QuantSubstance location;
+
+		private Located(Action action, State state, Adpositional relation, QuantSubstance location){
+			this.action = action;
+			this.state = state;
+			this.relation = relation;
+			this.location = location;
+		}
+
+		//The elements are mutable, so they are compared by identity
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) return true;
+			if (!(obj instanceof Located)) return false;
+			Located other = (Located) obj;
+			return action == other.action && state == other.state 
+					&& relation == other.relation && location == other.location;
+		}
+
+		@Override
+		public int hashCode() {
+			int result = System.identityHashCode(action);
+			result = 31 * result + System.identityHashCode(state);
+			result = 31 * result + ((relation == null)? 0: relation.hashCode());
+			result = 31 * result + System.identityHashCode(location);
+			return result;
+		}
+
+		/* (non-Javadoc)
+		 * @see java.lang.Object#toString()
+		 */
+		@Override
+		public String toString() {
+			return ((state == null)? action: state) + " " + relation + " " + location;
+		}
+	}
+
+	private final HashMap<Integer, Set<Located>> bySynSet = new HashMap<>();
+	private final IdentityHashMap<Substance, Set<Located>> bySubstance = new IdentityHashMap<>();
+
+	private int size = 0;
+
+	//=====================================================================
+	//========================== MAINTENANCE ==============================
+	//=====================================================================
+
+	/**
+	 * Indexes the places of an action; it can be called again when the action 
+	 * is updated with new places.
+	 * @param action the action
+	 */
+	public void add(Action action){
+		add(action, null);
+	}
+
+	/**
+	 * Indexes the places of a state (the man in the car)
+	 * @param state the state
+	 */
+	public void add(State state){
+		Action action = state.getStateAction();
+		if (action != null) add(action, state);
+	}
+
+	private void add(Action action, State state){
+		for (Place place: action.getPlaces()){
+			if (place.getRelation() == null) continue;
+			for (QuantSubstance location: place.getLocations()){
+				Located located = new Located(action, state, place.getRelation(), location);
+				Substance sub = location.getSubstance();
+
+				if (! get(bySynSet, sub.getNounSynSet()).add(located)) continue;
+				get(bySubstance, sub).add(located);
+				size++;
+			}
+		}
+	}
+
+	private static <K> Set<Located> get(Map<K, Set<Located>> index, K key){
+		Set<Located> result = index.get(key);
+		if (result == null){
+			result = new LinkedHashSet<>();
+			index.put(key, result);
+		}
+		return result;
+	}
+
+	/**
+	 * Indexes again all the actions and states
+	 * @param actions the actions
+	 * @param states the states
+	 */
+	public void rebuild(Collection<Action> actions, Collection<State> states){
+		clear();
+		for (Action action: actions) add(action);
+		for (State state: states) add(state);
+	}
+
+	public void clear(){
+		bySynSet.clear();
+		bySubstance.clear();
+		size = 0;
+	}
+
+	/**
+	 * @return the number of indexed (action or state, location) pairs
+	 */
+	public int size(){
+		return size;
+	}
+
+	//=====================================================================
+	//=========================== QUERIES =================================
+	//=====================================================================
+
+	private static List<Located> filter(Set<Located> found, Adpositional... relations){
+		if (found == null) return Collections.emptyList();
+		if (relations.length == 0) return new ArrayList<>(found);
+
+		EnumSet<Adpositional> accepted = EnumSet.noneOf(Adpositional.class);
+		Collections.addAll(accepted, relations);
+		List<Located> result = new ArrayList<>();
+		for (Located located: found)
+			if (accepted.contains(located.relation)) result.add(located);
+		return result;
+	}
+
+	/**
+	 * @param synSet the synset of a location's noun
+	 * @param relations the accepted relations; all if none is given
+	 * @return what is located there
+	 */
+	public List<Located> at(int synSet, Adpositional... relations){
+		return filter(bySynSet.get(synSet), relations);
+	}
+
+	/**
+	 * @param location the substance of a location
+	 * @param relations the accepted relations; all if none is given
+	 * @return what is located there
+	 */
+	public List<Located> at(Substance location, Adpositional... relations){
+		return filter(bySubstance.get(location), relations);
+	}
+
+	/**
+	 * @param synSet the synset of a location's noun
+	 * @param relations the accepted relations; all if none is given
+	 * @return the actions happening there, without duplicates
+	 */
+	public List<Action> actionsAt(int synSet, Adpositional... relations){
+		List<Action> result = new ArrayList<>();
+		Set<Action> found = Collections.newSetFromMap(new IdentityHashMap<Action, Boolean>());
+		for (Located located: at(synSet, relations))
+			if (located.state == null && found.add(located.action)) result.add(located.action);
+		return result;
+	}
+
+	/**
+	 * @param synSet the synset of a location's noun
+	 * @param relations the accepted relations; all if none is given
+	 * @return the states there (the man in the car), without duplicates
+	 */
+	public List<State> statesAt(int synSet, Adpositional... relations){
+		List<State> result = new ArrayList<>();
+		Set<State> found = Collections.newSetFromMap(new IdentityHashMap<State, Boolean>());
+		for (Located located: at(synSet, relations))
+			if (located.state != null && found.add(located.state)) result.add(located.state);
+		return result;
+	}
+
+}
@@ -0,0 +1,135 @@
+/* FARIS : Factual Arrangement and Representation of Ideas in Sentences
+ * FAris : Farabi & Aristotle
+ * Faris : A knight (in Arabic)
+ * --------------------------------------------------------------------
+ * Copyright (C) 2017 Abdelkrime Aries (kariminfo0@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package kariminf.faris.knowledge;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Set;
+
+import kariminf.faris.philosophical.Substance;
+import kariminf.faris.tools.SmallSet;
+import kariminf.faris.tools.SortedInts;
+
+/**
+ * An index of the substances by their noun and their qualities, for 
+ * "the entities described as X and Y" questions. A substance is listed under its 
+ * noun, and under each pair (noun, quality); a query takes the shortest of the 
+ * lists of its qualities, and keeps the substances having all of them.
+ * <pre>
+ * faris.getSubstanceIndex().find(carSynSet, redSynSet, bigSynSet);
+ * </pre>
+ * Faris updates it when a description is added.
+ *
+ */
+public class SubstanceIndex {
+
+	//Substances are mutable (they gain qualities), so they are kept by identity
+	private final HashMap<Integer, Set<Substance>> byNoun = new HashMap<>();
+	private final HashMap<Long, Set<Substance>> byQuality = new HashMap<>();
+
+	private static long key(int nounSynSet, int adjSynSet){
+		return ((long) nounSynSet << 32) | (adjSynSet & 0xffffffffL);
+	}
+
+	/**
+	 * Indexes a substance; it can be called again when the substance 
+	 * has new qualities.
+	 * @param substance the substance
+	 */
+	public void add(Substance substance){
+		int noun = substance.getNounSynSet();
+		byNoun.put(noun, SmallSet.addIdentity(get(byNoun, noun), substance));
+		for (int adj: substance.getQualitySynSets()){
+			long key = key(noun, adj);
+			byQuality.put(key, SmallSet.addIdentity(get(byQuality, key), substance));
+		}
+	}
+
+	/**
+	 * Removes a substance, indexed with its current qualities
+	 * @param substance the substance
+	 */
+	public void remove(Substance substance){
+		int noun = substance.getNounSynSet();
+		remove(byNoun, noun, substance);
+		for (int adj: substance.getQualitySynSets())
+			remove(byQuality, key(noun, adj), substance);
+	}
+
+	private static <K> void remove(HashMap<K, Set<Substance>> index, K key, Substance substance){
+		Set<Substance> substances = index.get(key);
+		if (substances == null) return;
+		substances.remove(substance);
+		if (substances.isEmpty()) index.remove(key);
+	}
+
+	private static <K> Set<Substance> get(HashMap<K, Set<Substance>> index, K key){
+		Set<Substance> result = index.get(key);
+		return (result == null)? SmallSet.<Substance>empty(): result;
+	}
+
+	/**
+	 * Indexes again all the substances
+	 * @param substances the substances
+	 */
+	public void rebuild(Collection<Substance> substances){
+		clear();
+		for (Substance substance: substances) add(substance);
+	}
+
+	public void clear(){
+		byNoun.clear();
+		byQuality.clear();
+	}
+
+	/**
+	 * @return the number of indexed substances
+	 */
+	public int size(){
+		int result = 0;
+		for (Set<Substance> substances: byNoun.values()) result += substances.size();
+		return result;
+	}
+
+	/**
+	 * @param nounSynSet the synset of the noun
+	 * @param adjSynSets the synsets of the adjectives of the qualities
+	 * @return the substances of this noun having at least these qualities
+	 */
+	public List<Substance> find(int nounSynSet, int... adjSynSets){
+		int[] qualities = SortedInts.of(adjSynSets);
+
+		Set<Substance> candidates = get(byNoun, nounSynSet);
+		for (int adj: qualities){
+			Set<Substance> found = get(byQuality, key(nounSynSet, adj));
+			if (found.size() < candidates.size()) candidates = found;
+		}
+		if (candidates.isEmpty()) return Collections.emptyList();
+
+		List<Substance> result = new ArrayList<>();
+		for (Substance substance: candidates)
+			if (substance.hasQualities(qualities)) result.add(substance);
+		return result;
+	}
+
+}
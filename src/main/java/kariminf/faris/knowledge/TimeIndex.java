@@ -0,0 +1,162 @@
+/* FARIS : Factual Arrangement and Representation of Ideas in Sentences
+ * FAris : Farabi & Aristotle
+ * Faris : A knight (in Arabic)
+ * --------------------------------------------------------------------
+ * Copyright (C) 2017 Abdelkrime Aries (kariminfo0@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package kariminf.faris.knowledge;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+
+import kariminf.faris.philosophical.Action;
+import kariminf.faris.philosophical.Time;
+
+/**
+ * An index of the actions by the dates of their times, for "what happened when" 
+ * questions. Only the times having a date (set, or resolved from the name of their 
+ * substance: see {@link Time#resolveDateTime()}) are indexed. <br>
+ * Faris updates it when a description is added; the dates are kept sorted, so a range 
+ * query costs O(log n) plus the number of found actions.
+ * <pre>
+ * faris.getTimeIndex().between(1950, 1960);
+ * </pre>
+ *
+ */
+public class TimeIndex {
+
+	//Actions are mutable (their hash changes when they are updated), 
+	//so they are kept by identity
+	private final TreeMap<LocalDateTime, List<Action>> index = new TreeMap<>();
+
+	private int size = 0;
+
+	/**
+	 * Indexes the times of an action; it can be called again when the action 
+	 * is updated with new times.
+	 * @param action the action
+	 */
+	public void add(Action action){
+		for (Time time: action.getTimes()){
+			LocalDateTime datetime = time.resolveDateTime();
+			if (datetime == null) continue;
+
+			List<Action> actions = index.get(datetime);
+			if (actions == null){
+				actions = new ArrayList<>(1);
+				index.put(datetime, actions);
+			}
+			if (containsSame(actions, action)) continue;
+			actions.add(action);
+			size++;
+		}
+	}
+
+	private static boolean containsSame(List<Action> actions, Action action){
+		for (Action a: actions)
+			if (a == action) return true;
+		return false;
+	}
+
+	/**
+	 * Indexes again a set of actions
+	 * @param actions all the actions
+	 */
+	public void rebuild(Collection<Action> actions){
+		clear();
+		for (Action action: actions) add(action);
+	}
+
+	public void clear(){
+		index.clear();
+		size = 0;
+	}
+
+	/**
+	 * @return the number of indexed (date, action) pairs
+	 */
+	public int size(){
+		return size;
+	}
+
+	//=====================================================================
+	//=========================== QUERIES =================================
+	//=====================================================================
+
+	/**
+	 * The actions having a time in [from, to[, sorted by their first time in this range
+	 * @param from the beginning, included
+	 * @param to the end, excluded
+	 * @return the actions, without duplicates
+	 */
+	public List<Action> between(LocalDateTime from, LocalDateTime to){
+		if (! from.isBefore(to)) return Collections.emptyList();
+		return collect(index.subMap(from, true, to, false));
+	}
+
+	/**
+	 * The actions having a time between two years
+	 * @param fromYear the first year, included
+	 * @param toYear the last year, included
+	 * @return the actions, without duplicates
+	 */
+	public List<Action> between(int fromYear, int toYear){
+		return between(LocalDateTime.of(fromYear, 1, 1, 0, 0), LocalDateTime.of(toYear + 1, 1, 1, 0, 0));
+	}
+
+	/**
+	 * @param datetime a date and time
+	 * @return the actions having exactly this time
+	 */
+	public List<Action> at(LocalDateTime datetime){
+		List<Action> actions = index.get(datetime);
+		return (actions == null)? Collections.<Action>emptyList(): Collections.unmodifiableList(actions);
+	}
+
+	/**
+	 * @param datetime a date and time
+	 * @return the actions having a time before it (excluded)
+	 */
+	public List<Action> before(LocalDateTime datetime){
+		return collect(index.headMap(datetime, false));
+	}
+
+	/**
+	 * @param datetime a date and time
+	 * @return the actions having a time after it (excluded)
+	 */
+	public List<Action> after(LocalDateTime datetime){
+		return collect(index.tailMap(datetime, false));
+	}
+
+	private static List<Action> collect(NavigableMap<LocalDateTime, List<Action>> range){
+		List<Action> result = new ArrayList<>();
+		Set<Action> found = Collections.newSetFromMap(new IdentityHashMap<Action, Boolean>());
+		for (Map.Entry<LocalDateTime, List<Action>> e: range.entrySet())
+			for (Action action: e.getValue())
+				if (found.add(action)) result.add(action);
+		return result;
+	}
+
+}
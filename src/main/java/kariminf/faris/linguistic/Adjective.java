@@ -49,7 +49,7 @@ public class Adjective extends POS {
 	private Graduation graduation;*/
 
 	public Adjective(int adjSynSet) {
-		super(adjSynSet);
+		super(adjSynSet, PosType.ADJECTIVE);
 	}
 
 	@Override
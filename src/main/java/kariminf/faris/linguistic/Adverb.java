@@ -41,7 +41,7 @@ package kariminf.faris.linguistic;
 public class Adverb extends POS {
 	
 	public Adverb(int advSynSet) {
-		super(advSynSet);
+		super(advSynSet, PosType.ADVERB);
 	}
 
 	@Override
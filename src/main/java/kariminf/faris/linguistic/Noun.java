@@ -48,23 +48,21 @@ public class Noun extends POS {
 		FEMININE
 	}
 	
-	private Gender gender = Gender.COMMON;
-	
 	//gender, number, person, case
-	
-	
-	private boolean defined;
-	
+	//The attributes are packed in the key (see POS)
+	private static final int GENDER_SHIFT = ATTRIBUTES_SHIFT;
+	private static final long GENDER_MASK = 3L << GENDER_SHIFT;
+	private static final long DEFINED = 1L << (ATTRIBUTES_SHIFT + 2);
+	private static final Gender[] GENDERS = Gender.values();
 	
 	
 	protected Noun(int nounSynSet) {
-		super(nounSynSet);
+		super(nounSynSet, PosType.NOUN);
 	}
 	
 	protected Noun(Noun noun) {
-		super(noun.getSynSet());
-		gender = noun.gender;
-		defined = noun.defined;
+		super(noun.getSynSet(), PosType.NOUN);
+		setBits(~SYNSET_TYPE_MASK, noun.getKey());
 	}
 	
 	public static Noun getNew(int nounSynSet){
@@ -81,62 +79,38 @@ public class Noun extends POS {
 	}
 	
 	public void setAttributs(Gender g, boolean d){
-		gender = g;
-		defined = d;
+		setBits(GENDER_MASK, (long) g.ordinal() << GENDER_SHIFT);
+		setBits(DEFINED, d? DEFINED: 0L);
 	}
 	
 	public boolean sameAttributs(Gender g, boolean d){
 		return (
-				gender == g
-				&& defined == d
+				getGender() == g
+				&& isDefined() == d
 				);
 	}
 	
 	public boolean isDefined(){
-		return defined;
+		return (getKey() & DEFINED) != 0;
 	}
 	
 	public Gender getGender(){
-		return gender;
+		return GENDERS[(int) ((getKey() & GENDER_MASK) >>> GENDER_SHIFT)];
 	}
 	
-	/* (non-Javadoc)
-	 * @see java.lang.Object#equals(java.lang.Object)
-	 */
 	@Override
-	public boolean equals(Object obj) {
-		if (!(obj instanceof Noun)) return false;
-        if (obj == this) return true;
-        
-        Noun n = (Noun) obj;
-        
-		return (
-				super.equals(obj) 
-				&& 
-				n.sameAttributs(gender, defined)
-				);
+	protected long equalityMask() {
+		return SYNSET_TYPE_MASK | GENDER_MASK | DEFINED;
 	}
 	
-	/* (non-Javadoc)
-	 * @see java.lang.Object#hashCode(java.lang.Object)
-	 */
-	@Override
-	public int hashCode() {
-		int result = 3;
-		result = super.hashCode() + 5 *  result;
-		result = gender.hashCode() + 7 * result;
-		result = (defined)? 11 * result: result;
-		return result;
-	}
-
 	/* (non-Javadoc)
 	 * @see java.lang.Object#toString()
 	 */
 	@Override
 	public String toString() {
 		String result = "N@" + getSynSet();
-		result += "." + gender;
-		result += (defined)? ".def": "";
+		result += "." + getGender();
+		result += (isDefined())? ".def": "";
 		return  result;
 	}
 	
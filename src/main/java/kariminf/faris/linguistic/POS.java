@@ -51,18 +51,53 @@ public abstract class POS {
 		ADVERB
 	}
 
-	private int synSet = -1;
+	//The key packs the synset (bits 0-31), the POS type (bits 32-35) and 
+	//the attributes of the subclasses (bits 36-63)
+	protected static final int TYPE_SHIFT = 32;
+	protected static final int ATTRIBUTES_SHIFT = 36;
+	protected static final long SYNSET_TYPE_MASK = (1L << ATTRIBUTES_SHIFT) - 1;
+
+	private long key;
 	
-	public POS(int synSet) {
-		this.synSet = synSet;
+	/**
+	 * @param synSet the synset
+	 * @param type the POS type, as returned by {@link #getPosType()}
+	 */
+	public POS(int synSet, PosType type) {
+		key = (synSet & 0xffffffffL) 
+				| ((type == null)? 0L: (long) (type.ordinal() + 1) << TYPE_SHIFT);
 	}
 	
 	public int getSynSet(){
-		return synSet;
+		return (int) key;
 	}
 	
 	public boolean hasSynset(int synSet){
-		return (this.synSet == synSet);
+		return (getSynSet() == synSet);
+	}
+	
+	/**
+	 * @return the synset, the POS type and the attributes packed in one long
+	 */
+	public long getKey(){
+		return key;
+	}
+	
+	/**
+	 * Sets some bits of the key
+	 * @param mask the bits to set
+	 * @param bits their new values
+	 */
+	protected void setBits(long mask, long bits){
+		key = (key & ~mask) | (bits & mask);
+	}
+	
+	/**
+	 * @return the bits of the key compared by equals and hashCode; 
+	 * the synset and the type by default
+	 */
+	protected long equalityMask(){
+		return SYNSET_TYPE_MASK;
 	}
 	
 	
@@ -73,10 +108,8 @@ public abstract class POS {
 	public boolean equals(Object obj) {
 		if (!(obj instanceof POS)) return false;
         if (obj == this) return true;
-        POS pos = (POS) obj;
-		return (synSet == pos.getSynSet()
-				&& this.getPosType() == pos.getPosType()
-				);
+        long mask = equalityMask();
+		return (key & mask) == (((POS) obj).key & mask);
 	}
 
 	
@@ -85,21 +118,19 @@ public abstract class POS {
 	 */
 	@Override
 	public int hashCode() {
-		//A synset is an integer in 8 positions max
-		int result = synSet;
-		result += (getPosType() == null) ? 0 : 1E9 * (getPosType().ordinal() + 1) ;
-		return result;
+		long result = key & equalityMask();
+		return (int) (result ^ (result >>> 32));
 	}
 	
 	public static List<Integer> getSynsets (List<? extends POS> elements){
 		ArrayList<Integer> result = new ArrayList<>();
-		for (POS pos: elements) result.add(pos.synSet);
+		for (POS pos: elements) result.add(pos.getSynSet());
 		return result;
 	}
 	
 	public static List<Integer> getSynsets (Set<? extends POS> elements){
 		ArrayList<Integer> result = new ArrayList<>();
-		for (POS pos: elements) result.add(pos.synSet);
+		for (POS pos: elements) result.add(pos.getSynSet());
 		return result;
 	}
 
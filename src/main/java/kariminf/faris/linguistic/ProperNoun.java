@@ -20,6 +20,8 @@
 
 package kariminf.faris.linguistic;
 
+import kariminf.faris.tools.NameDictionary;
+
 /**
  * 
  * @author Abdelkrime Aries (kariminfo0@gmail.com)
@@ -40,20 +42,28 @@ package kariminf.faris.linguistic;
  */
 public class ProperNoun extends Noun {
 
-	private String name;
+	//The name is stored once in the dictionary, so it can be compared by reference
+	private final String name;
 	
 	//a person, a company, a country, etc.
 	
+	/**
+	 * @param noun the noun, with its attributes
+	 * @param name the name; it is interned by {@link NameDictionary}, so that 
+	 * equal names are the same instance and are compared by reference
+	 */
 	public ProperNoun(Noun noun, String name) {
 		super(noun);
-		this.name = name;
+		this.name = NameDictionary.intern(name);
 	}
 	
 	public static ProperNoun getNew(ProperNoun noun){
-		Noun n = new Noun(noun);
-		return new ProperNoun(n, noun.name);
+		return new ProperNoun(noun, noun.name);
 	}
 	
+	/**
+	 * @return the name, as stored in {@link NameDictionary}
+	 */
 	public String getName(){
 		return name;
 	}
@@ -63,7 +73,7 @@ public class ProperNoun extends Noun {
 	 */
 	@Override
 	public String toString() {
-		return super.toString() + "." + name;
+		return super.toString() + "." + getName();
 	}
 	
 	
@@ -77,8 +87,15 @@ public class ProperNoun extends Noun {
 		if (!(obj instanceof ProperNoun)) return false;
         if (!super.equals(obj)) return false;
         
-        //TODO try to complete
-        return true;
+        return name == ((ProperNoun) obj).name;
+	}
+	
+	/* (non-Javadoc)
+	 * @see java.lang.Object#hashCode()
+	 */
+	@Override
+	public int hashCode() {
+		return 31 * super.hashCode() + ((name == null)? 0: name.hashCode());
 	}
 	
 
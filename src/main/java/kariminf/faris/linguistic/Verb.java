@@ -42,48 +42,55 @@ import kariminf.sentrep.types.VerbTense;
  */
 public class Verb extends POS {
 	
-	private VerbTense tense = VerbTense.PRESENT;
-	
-	private boolean perfect = false;
-	private boolean progressive = false;
+	//The attributes are packed in the key (see POS); 
+	//they are not compared by equals
+	private static final int TENSE_SHIFT = ATTRIBUTES_SHIFT;
+	private static final long TENSE_MASK = 0xfL << TENSE_SHIFT;
+	private static final long PERFECT = 1L << (ATTRIBUTES_SHIFT + 4);
+	private static final long PROGRESSIVE = 1L << (ATTRIBUTES_SHIFT + 5);
+	private static final VerbTense[] TENSES = VerbTense.values();
 	
 	/**
-	 * @return the tense
+	 * @return the tense, or null if it is not known
 	 */
 	public VerbTense getTense() {
-		return tense;
+		int tense = (int) ((getKey() & TENSE_MASK) >>> TENSE_SHIFT);
+		return (tense == 0)? null: TENSES[tense - 1];
 	}
 
 	/**
-	 * @param tense the tense to set
+	 * @param tense the tense to set; null if it is not known
 	 */
 	public void setTense(VerbTense tense) {
-		this.tense = tense;
+		//0 is a null tense, like the POS type
+		long code = (tense == null)? 0L: tense.ordinal() + 1;
+		setBits(TENSE_MASK, code << TENSE_SHIFT);
 	}
 
 
 	public boolean isPerfect() {
-		return perfect;
+		return (getKey() & PERFECT) != 0;
 	}
 	
 	public boolean isProgressive() {
-		return progressive;
+		return (getKey() & PROGRESSIVE) != 0;
 	}
 
 
 	public void setPerfect() {
-		this.perfect = true;
+		setBits(PERFECT, PERFECT);
 	}
 	
 	public void setProgressive() {
-		this.progressive = true;
+		setBits(PROGRESSIVE, PROGRESSIVE);
 	}
 	
 	//the mood (imperative, indicative, subjective)
 	//we don't need person, number, voice
 	
 	public Verb(int verbSynSet) {
-		super(verbSynSet);
+		super(verbSynSet, PosType.VERB);
+		setTense(VerbTense.PRESENT);
 	}
 
 	@Override
@@ -96,9 +103,9 @@ public class Verb extends POS {
 	 */
 	@Override
 	public String toString() {
-		String result = "V@" + getSynSet() +  "." + tense;
-		result += (perfect)? ".PRF": "";
-		result += (progressive)? ".PROG": "";
+		String result = "V@" + getSynSet() +  "." + getTense();
+		result += (isPerfect())? ".PRF": "";
+		result += (isProgressive())? ".PROG": "";
 		return result ;
 	}
 	
@@ -21,16 +21,21 @@
 package kariminf.faris.philosophical;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.stream.Stream;
 
 import kariminf.faris.linguistic.Adverb;
 import kariminf.faris.linguistic.Verb;
 import kariminf.faris.process.Processor;
 import kariminf.faris.process.ston.Concepts;
 import kariminf.faris.tools.ConjunctedSubstances;
+import kariminf.faris.tools.Disjunctions;
+import kariminf.faris.tools.SmallSet;
+import kariminf.faris.tools.metrics.CachedCounter;
 
 
 /**
@@ -55,6 +60,8 @@ import kariminf.faris.tools.ConjunctedSubstances;
  *         limitations under the License.
  */
 public class Action extends Being{
+
+	private static final CachedCounter UPDATES = new CachedCounter("action.updates");
 	
 	/**
 	 * Relations between Actions
@@ -80,7 +87,7 @@ public class Action extends Being{
 		public Set<Adverb> adverbs;
 		public Set<ConjunctedSubstances> doers; 
 		public Set<ConjunctedSubstances> receivers;  
-		public HashMap<Action, ActionRelation> relations;
+		public Map<Action, ActionRelation> relations;
 		public Set<Relative> relatives;
 		public Set<Place> locations; 
 		public Set<Time> times; 
@@ -109,26 +116,27 @@ public class Action extends Being{
 	//expresses a command, a hypothesis, a hope, etc.
 	
 	//An action is modified by many adverbs
-	private Set<Adverb> adverbs = new HashSet<>();
+	//The collections are allocated when their first element is added (see SmallSet)
+	private Set<Adverb> adverbs = SmallSet.empty();
 	
 	//Here, we use disjunctions of conjunctions 
 	//An Action can have many doers (we can't duplicate a doer)
-	private Set<ConjunctedSubstances> doers = new HashSet<>(); 
+	private Set<ConjunctedSubstances> doers = SmallSet.empty(); 
 	
 	//An Action can affect many predicates 
-	private Set<ConjunctedSubstances> receivers = new HashSet<>();  
+	private Set<ConjunctedSubstances> receivers = SmallSet.empty();  
 	
 	//An action can have relations with other Actions
-	private HashMap<Action, ActionRelation> relations = new HashMap<>();
+	private Map<Action, ActionRelation> relations = Collections.emptyMap();
 	
 	//An action can have relatives: He works harder than his brother
-	private Set<Relative> relatives = new HashSet<>();
+	private Set<Relative> relatives = SmallSet.empty();
 	
 	//An action can have locations
-	private Set<Place> locations = new HashSet<>(); 
+	private Set<Place> locations = SmallSet.empty(); 
 	
 	//An action can have times
-	private Set<Time> times = new HashSet<>(); 
+	private Set<Time> times = SmallSet.empty(); 
 
 	private Action(Verb verb){ 
 		
@@ -157,7 +165,7 @@ public class Action extends Being{
 	 * @param modifiers
 	 */
 	public void addAdverb(Adverb adv, Set<Adverb> modifiers){
-		adverbs.add(adv);
+		adverbs = SmallSet.add(adverbs, adv);
 	}
 	
 	
@@ -166,10 +174,11 @@ public class Action extends Being{
 	 * @param conjunctions2
 	 */
 	public void addConjunctSubjects(List<QuantSubstance> conjunctions2){
-		ConjunctedSubstances conjunctions = new ConjunctedSubstances();
-		conjunctions.addAll(conjunctions2);
+		ConjunctedSubstances conjunctions = ConjunctedSubstances.of(conjunctions2);
 		if (conjunctions.size()>0)
-			this.doers.add(conjunctions);
+			this.doers = SmallSet.add(doers, conjunctions);
+		for (QuantSubstance doer: conjunctions)
+			doer.addAction(this);
 	}
 	
 	/**
@@ -177,10 +186,25 @@ public class Action extends Being{
 	 * @param subjects
 	 */
 	public void addConjunctObjects(List<QuantSubstance> conjunctions2){
-		ConjunctedSubstances conjunctions = new ConjunctedSubstances();
-		conjunctions.addAll(conjunctions2);
+		ConjunctedSubstances conjunctions = ConjunctedSubstances.of(conjunctions2);
 		if (conjunctions.size()>0)
-			this.receivers.add(conjunctions);
+			this.receivers = SmallSet.add(receivers, conjunctions);
+		for (QuantSubstance receiver: conjunctions)
+			receiver.addAffection(this);
+	}
+	
+	private void linkRoles(){
+		for (ConjunctedSubstances cs: doers)
+			for (QuantSubstance doer: cs) doer.addAction(this);
+		for (ConjunctedSubstances cs: receivers)
+			for (QuantSubstance receiver: cs) receiver.addAffection(this);
+	}
+	
+	private void unlinkRoles(){
+		for (ConjunctedSubstances cs: doers)
+			for (QuantSubstance doer: cs) doer.removeAction(this);
+		for (ConjunctedSubstances cs: receivers)
+			for (QuantSubstance receiver: cs) receiver.removeAffection(this);
 	}
 	
 	public boolean hasAgent(QuantSubstance agent){
@@ -227,32 +251,32 @@ public class Action extends Being{
 	
 	
 	public void addLocation(Place place){
-		locations.add(place);
+		locations = SmallSet.add(locations, place);
 	}
 	
 	public void addTime(Time time){
-		times.add(time);
+		times = SmallSet.add(times, time);
 	}
 	
 	//The action must be set as owner before adding it
 	public void addRelative(Relative relative){
 		if (relative.getOwnerAction() != this) return;
-		relatives.add(relative);
+		relatives = SmallSet.add(relatives, relative);
 	}
 	
-	private ArrayList<ArrayList<QuantSubstance>> getDisjunctions(Set<ConjunctedSubstances> disjunctions){
-		ArrayList<ArrayList<QuantSubstance>> result = new ArrayList<>();
+	private ArrayList<List<QuantSubstance>> getDisjunctions(Set<ConjunctedSubstances> disjunctions){
+		ArrayList<List<QuantSubstance>> result = new ArrayList<>();
 		for (ConjunctedSubstances conjunctions: disjunctions)
 			result.add(conjunctions.getSubstances());
 		
 		return result;
 	}
 	
-	public ArrayList<ArrayList<QuantSubstance>> getAgents(){
+	public ArrayList<List<QuantSubstance>> getAgents(){
 		return getDisjunctions(doers);
 	}
 	
-	public ArrayList<ArrayList<QuantSubstance>> getThemes(){
+	public ArrayList<List<QuantSubstance>> getThemes(){
 		return getDisjunctions(receivers);
 	}
 	
@@ -262,28 +286,42 @@ public class Action extends Being{
 		return verb;
 	}
 	
+	/**
+	 * @return an unmodifiable view of the adverbs
+	 */
 	public Set<Adverb> getAdverbs(){
-		HashSet<Adverb> result = new HashSet<Adverb>();
-		result.addAll(adverbs);
-		return result;
+		return Collections.unmodifiableSet(adverbs);
 	}
 	
+	/**
+	 * @return an unmodifiable view of the places
+	 */
 	public Set<Place> getPlaces(){
-		HashSet<Place> result = new HashSet<>();
-		result.addAll(locations);
-		return result;
+		return Collections.unmodifiableSet(locations);
 	}
 	
+	/**
+	 * @return an unmodifiable view of the times
+	 */
 	public Set<Time> getTimes(){
-		HashSet<Time> result = new HashSet<>();
-		result.addAll(times);
-		return result;
+		return Collections.unmodifiableSet(times);
 	}
 	
+	/**
+	 * @return an unmodifiable view of the relatives
+	 */
 	public Set<Relative> getRelatives(){
-		HashSet<Relative> result = new HashSet<>();
-		result.addAll(relatives);
-		return result;
+		return Collections.unmodifiableSet(relatives);
+	}
+	
+	/**
+	 * The roles (agents and themes) of this action, without copying them. 
+	 * A role is repeated if it figures in many conjunctions.
+	 * @return a lazy stream of the roles
+	 */
+	public Stream<QuantSubstance> roles(){
+		return Stream.concat(doers.stream(), receivers.stream())
+				.flatMap(ConjunctedSubstances::stream);
 	}
 
 	/* (non-Javadoc)
@@ -347,52 +385,42 @@ public class Action extends Being{
 		
 		if (! equals(act)) return false;
 		
+		UPDATES.inc();
+		
+		unlinkRoles();
+		
 		// Doers update
 		// (AB + CD)(EF + GH) = ABEF + ABGH + CDEF + CDGH
-		if (! doers.equals(act.doers)){
-			Set<ConjunctedSubstances> doersTmp = new HashSet<>();
-			for (ConjunctedSubstances cs: doers){
-				for (ConjunctedSubstances cs2: act.doers){
-					doersTmp.add(cs.fuse(cs2));
-				}
-			}
-			doers = doersTmp;
-		}
+		// bounded, and without absorbed conjunctions (see Disjunctions)
+		if (! doers.equals(act.doers))
+			doers = Disjunctions.merge(doers, act.doers);
 		
 		// Receivers update
-		if (! receivers.equals(act.receivers)){
-			Set<ConjunctedSubstances> receiversTmp = new HashSet<>();
-			for (ConjunctedSubstances cs: receivers){
-				for (ConjunctedSubstances cs2: act.receivers){
-					receiversTmp.add(cs.fuse(cs2));
-				}
-			}
-			receivers = receiversTmp;
-		}
+		if (! receivers.equals(act.receivers))
+			receivers = Disjunctions.merge(receivers, act.receivers);
+		
+		// The other action is merged into this one: its roles point here now
+		if (act != this) act.unlinkRoles();
+		linkRoles();
 		
 		// Adverbs update
-		if (! adverbs.equals(act.adverbs)){
-			for (Adverb adv: act.adverbs)
-				adverbs.add(adv);
-		}
+		if (! adverbs.equals(act.adverbs))
+			adverbs = SmallSet.addAll(adverbs, act.adverbs);
 		
 		//Delete the adverb: also
 		adverbs.remove(new Adverb(Concepts.ALSO));
 		
 		// Locations update
-		if (! locations.equals(act.locations)){
-			for (Place loc: act.locations)
-				locations.add(loc);
-		}
+		if (! locations.equals(act.locations))
+			locations = SmallSet.addAll(locations, act.locations);
 		
 		// Times update
-		if (! times.equals(act.times)){
-			for (Time time: act.times)
-				times.add(time);
-		}
+		if (! times.equals(act.times))
+			times = SmallSet.addAll(times, act.times);
 		
 		// Relations with other actions (update)
 		if (! relations.equals(act.relations)){
+			if (relations.isEmpty()) relations = new HashMap<>();
 			for (Action a: act.relations.keySet())
 				if (!relations.containsKey(a))
 					relations.put(a, act.relations.get(a));
@@ -21,6 +21,8 @@
 package kariminf.faris.philosophical;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 
 import kariminf.faris.linguistic.Adverb;
 import kariminf.faris.process.Processor;
@@ -77,10 +79,31 @@ public class Place extends Being {
 		this.relation = prep;
 	}
 	
+	/**
+	 * @return the adposition relation, or null if it is an adverb
+	 */
+	public Adpositional getRelation(){
+		return relation;
+	}
+	
+	/**
+	 * @return the adverb, or null if it is an adposition relation
+	 */
+	public Adverb getAdverb(){
+		return adv;
+	}
+	
 	public void addLocation(QuantSubstance loc){
 		if (relation != null)
 			places.add(loc);
 	}
+	
+	/**
+	 * @return an unmodifiable view of the locations
+	 */
+	public List<QuantSubstance> getLocations(){
+		return Collections.unmodifiableList(places);
+	}
 
 	/* (non-Javadoc)
 	 * @see java.lang.Object#toString()
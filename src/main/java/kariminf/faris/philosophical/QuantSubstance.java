@@ -1,10 +1,12 @@
 package kariminf.faris.philosophical;
 
-import java.util.HashSet;
+import java.util.Collections;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import kariminf.faris.philosophical.Substance.SubstanceWrapper;
 import kariminf.faris.process.Processor;
+import kariminf.faris.tools.SmallSet;
 
 public class QuantSubstance extends Being{
 	
@@ -35,20 +37,27 @@ public class QuantSubstance extends Being{
 		
 	}
 	
+	private static final AtomicInteger IDS = new AtomicInteger();
+	
+	//Used to order the substances of a conjunction
+	private final int id = IDS.incrementAndGet();
+	
 	private Substance substance;
 	private Quantity plQuantity;
 	private Quantity nbrQuantity;
 	
 	//Here the substance is the subject (doer)
-	private Set<Action> actions = new HashSet<>();
+	//The actions are kept by identity, since their hash changes when they are updated
+	//The collections are allocated when their first element is added (see SmallSet)
+	private Set<Action> actions = SmallSet.empty();
 
 	//Here the substance is the object (receiver of the action)
-	private Set<Action> affections = new HashSet<>();
+	private Set<Action> affections = SmallSet.empty();
 		
 	//States
-	private Set<State> states = new HashSet<>();
+	private Set<State> states = SmallSet.empty();
 	
-	private Set<Relative> relatives = new HashSet<>();
+	private Set<Relative> relatives = SmallSet.empty();
 		
 	
 	public QuantSubstance(Substance substance) {
@@ -95,8 +104,8 @@ public class QuantSubstance extends Being{
 			result.plQuantity = orig.plQuantity;
 		if(orig.nbrQuantity != null)
 			result.nbrQuantity = orig.nbrQuantity;
-		result.actions = new HashSet<>();
-		result.affections = new HashSet<>();
+		result.actions = orig.actions;
+		result.affections = orig.affections;
 		result.states = orig.states;
 		result.relatives = orig.relatives;
 		
@@ -109,7 +118,7 @@ public class QuantSubstance extends Being{
 	 */
 	public void update(QuantSubstance orig){
 		substance.update(orig.substance);
-		states.addAll(orig.states);
+		states = SmallSet.addAll(states, orig.states);
 	}
 
 
@@ -127,6 +136,13 @@ public class QuantSubstance extends Being{
 	}
 
 
+	/**
+	 * @return a unique ID of this quantified substance
+	 */
+	public int getId(){
+		return id;
+	}
+
 	/**
 	 * @return the substance
 	 */
@@ -136,35 +152,59 @@ public class QuantSubstance extends Being{
 
 	
 	public void addAction(Action action){
-		actions.add(action);
+		actions = SmallSet.addIdentity(actions, action);
 	}
 	
 	public void addAffection(Action action){
-		affections.add(action);
+		affections = SmallSet.addIdentity(affections, action);
+	}
+	
+	void removeAction(Action action){
+		actions.remove(action);
+	}
+	
+	void removeAffection(Action action){
+		affections.remove(action);
 	}
 	
 	/**
-	 * @return the states
+	 * The actions where this substance is a doer; they are maintained by 
+	 * the actions themselves.
+	 * @return an unmodifiable view of the actions
+	 */
+	public Set<Action> getActions(){
+		return Collections.unmodifiableSet(actions);
+	}
+	
+	/**
+	 * The actions where this substance is a receiver; they are maintained by 
+	 * the actions themselves.
+	 * @return an unmodifiable view of the affections
+	 */
+	public Set<Action> getAffections(){
+		return Collections.unmodifiableSet(affections);
+	}
+	
+	/**
+	 * @return an unmodifiable view of the states
 	 */
 	public Set<State> getStates() {
-		HashSet<State> result = new HashSet<>();
-		result.addAll(states);
-		return result;
+		return Collections.unmodifiableSet(states);
 	}
 
 	/**
 	 * @param states the states to set
 	 */
 	public void addStates(Set<State> states) {
-		this.states.addAll(states);
+		this.states = SmallSet.addAll(this.states, states);
 	}
 	
 	public void addState(State state) {
-		this.states.add(state);
+		this.states = SmallSet.add(this.states, state);
 	}
 	
 	public void addRelative(Relative relative){
-		this.relatives.add(relative);
+		this.relatives = SmallSet.add(relatives, relative);
 	}
 
 	@Override
@@ -20,12 +20,15 @@
 
 package kariminf.faris.philosophical;
 
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.Set;
 
 import kariminf.faris.linguistic.Noun;
 import kariminf.faris.linguistic.ProperNoun;
 import kariminf.faris.process.Processor;
+import kariminf.faris.tools.SortedInts;
 
 
 /**
@@ -76,11 +79,25 @@ public class Substance extends Being{
 	//Qualities
 	private Set<Quality> qualities = new HashSet<Quality>();	
 	
+	//The synsets of the qualities' adjectives, used to compare the substances
+	private int[] qualitySynSets = SortedInts.EMPTY;
+	
 	
 	public Substance(int nounSynSet) {
 		noun = Noun.getNew(nounSynSet);
 	}
-	
+
+	/**
+	 * Creates a substance from a copy of a noun, with its attributes
+	 * @param noun the noun, which can be a ProperNoun
+	 */
+	public Substance(Noun noun) {
+		if (noun instanceof ProperNoun)
+			this.noun = ProperNoun.getNew((ProperNoun) noun);
+		else
+			this.noun = Noun.getNew(noun);
+	}
+
 	public void setNounSpecif(String name, String def){
 		noun.setAttributs(Noun.Gender.COMMON, def.equals("Y"));
 		if (name.trim().length() > 0)
@@ -90,6 +107,7 @@ public class Substance extends Being{
 	
 	public void addQuality(Quality quality){
 		qualities.add(quality);
+		qualitySynSets = SortedInts.add(qualitySynSets, quality.getAdjective().getSynSet());
 	}
 	
 	
@@ -99,14 +117,45 @@ public class Substance extends Being{
 	
 	
 
+	/**
+	 * @return an unmodifiable view of the qualities
+	 */
 	public Set<Quality> getQualities(){
-		HashSet<Quality> result = new HashSet<>();
-		result.addAll(qualities);
-		return result;
+		return Collections.unmodifiableSet(qualities);
+	}
+	
+	/**
+	 * @return the sorted synsets of the qualities' adjectives; must not be modified
+	 */
+	public int[] getQualitySynSets(){
+		return qualitySynSets;
 	}
 	
+	/**
+	 * @param q a quality
+	 * @return true if the substance has a quality with the same adjective
+	 */
 	public boolean hasQuality(Quality q){
-		return qualities.contains(q);
+		return hasQuality(q.getAdjective().getSynSet());
+	}
+	
+	public boolean hasQuality(int adjSynSet){
+		return SortedInts.contains(qualitySynSets, adjSynSet);
+	}
+	
+	/**
+	 * @param adjSynSets sorted synsets of adjectives
+	 * @return true if the substance has all of them as qualities
+	 */
+	public boolean hasQualities(int[] adjSynSets){
+		return SortedInts.isSubset(adjSynSets, qualitySynSets);
+	}
+	
+	/**
+	 * @return the name if the noun is a proper noun, null otherwise
+	 */
+	public String getName(){
+		return (noun instanceof ProperNoun)? ((ProperNoun) noun).getName(): null;
 	}
 	
 	public boolean hasNoun(Noun n){
@@ -122,9 +171,7 @@ public class Substance extends Being{
 		if (o == this) return true;
 		Substance os = (Substance) o;
 		if (! os.hasNoun(this.noun)) return false;
-		for (Quality q: qualities)
-			if (! os.hasQuality(q)) return false;
-		return true;
+		return os.hasQualities(qualitySynSets);
 	}
 	
 	
@@ -136,7 +183,7 @@ public class Substance extends Being{
 		final int prime = 31;
 		int result = 1;
 		result = prime * result + noun.hashCode();
-		result = prime * result + qualities.hashCode();
+		result = prime * result + Arrays.hashCode(qualitySynSets);
 		return result;
 	}
 	
@@ -156,8 +203,10 @@ public class Substance extends Being{
 	 * @param sub2 the source substance
 	 */
 	public void update(Substance sub2){
-		if(noun.equals(sub2.noun))
+		if(noun.equals(sub2.noun)){
 			qualities.addAll(sub2.qualities);
+			qualitySynSets = SortedInts.union(qualitySynSets, sub2.qualitySynSets);
+		}
 	}
 	
 	public Noun getNoun(){
@@ -20,10 +20,16 @@
 
 package kariminf.faris.philosophical;
 
+import java.time.DateTimeException;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.Year;
 import java.util.ArrayList;
 import kariminf.faris.linguistic.Adverb;
+import kariminf.faris.linguistic.Noun;
+import kariminf.faris.linguistic.ProperNoun;
 import kariminf.faris.process.Processor;
+import kariminf.faris.process.ston.Concepts;
 import kariminf.sentrep.types.Relation.Adpositional;
 
 /**
@@ -85,10 +91,73 @@ public class Time extends Being{
 		this.relation = prep;
 	}
 	
+	/**
+	 * @return the adposition relation, or null if it is an adverb
+	 */
+	public Adpositional getRelation(){
+		return relation;
+	}
+	
+	/**
+	 * @return the adverb, or null if it is an adposition relation
+	 */
+	public Adverb getAdverb(){
+		return adv;
+	}
+	
 	public void addTimeSubstance(QuantSubstance quantSubstance){
 		if (relation != null)
 			times.add(quantSubstance);
 	}
+	
+	/**
+	 * @param datetime the date and time this time refers to
+	 */
+	public void setDateTime(LocalDateTime datetime){
+		this.datetime = datetime;
+	}
+	
+	/**
+	 * @return the date and time, or null if it is not known
+	 */
+	public LocalDateTime getDateTime(){
+		return datetime;
+	}
+	
+	/**
+	 * Finds the date and time from the names of the time substances, when it 
+	 * is not set: a date (1955-03-10), a date and time (1955-03-10T10:15), 
+	 * or a year (1955) when the noun is the year concept. A year or a date 
+	 * refers to its beginning.
+	 * @return the date and time, or null if it cannot be resolved
+	 */
+	public LocalDateTime resolveDateTime(){
+		if (datetime != null) return datetime;
+		
+		for (QuantSubstance time: times){
+			Noun noun = time.getSubstance().getNoun();
+			if (! (noun instanceof ProperNoun)) continue;
+			boolean year = noun.getSynSet() == Concepts.YEAR;
+			datetime = parseDateTime(((ProperNoun) noun).getName(), year);
+			if (datetime != null) break;
+		}
+		
+		return datetime;
+	}
+	
+	private static LocalDateTime parseDateTime(String name, boolean year){
+		name = name.trim();
+		try {
+			//A bare number is a year only if the noun says so: "Room 1955" is not
+			if (name.matches("-?\\d{1,4}"))
+				return year? Year.of(Integer.parseInt(name)).atDay(1).atStartOfDay(): null;
+			if (name.contains("T"))
+				return LocalDateTime.parse(name);
+			return LocalDate.parse(name).atStartOfDay();
+		} catch (DateTimeException e) {
+			return null;
+		}
+	}
 
 	/* (non-Javadoc)
 	 * @see java.lang.Object#toString()
@@ -100,6 +169,8 @@ public class Time extends Being{
 		
 		if (adv != null){
 			result += adv;
+		} else if (datetime != null){
+			result += relation + "(" + datetime + ")";
 		} else {
 			result += relation;
 			result += (times.size() > 0)? times: "";
@@ -1,13 +1,50 @@
+/* FARIS : Factual Arrangement and Representation of Ideas in Sentences
+ * FAris : Farabi & Aristotle
+ * Faris : A knight (in Arabic)
+ * --------------------------------------------------------------------
+ * Copyright (C) 2017 Abdelkrime Aries (kariminfo0@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
 package kariminf.faris.process;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import kariminf.faris.knowledge.Conditional;
 import kariminf.faris.knowledge.Conditional.ConditionalWrapper;
 import kariminf.faris.knowledge.Faris.FarisWrapper;
+import kariminf.faris.knowledge.Mind;
+import kariminf.faris.knowledge.Mind.MentalState;
 import kariminf.faris.knowledge.Mind.MindWrapper;
+import kariminf.faris.knowledge.Opinion;
 import kariminf.faris.knowledge.Opinion.OpinionWrapper;
+import kariminf.faris.knowledge.Thought;
 import kariminf.faris.knowledge.Thought.ThoughtWrapper;
+import kariminf.faris.philosophical.Action;
 import kariminf.faris.philosophical.Action.ActionWrapper;
 import kariminf.faris.philosophical.Place.PlaceWrapper;
 import kariminf.faris.philosophical.Quality.QualityWrapper;
+import kariminf.faris.philosophical.QuantSubstance;
 import kariminf.faris.philosophical.QuantSubstance.QSubstanceWrapper;
 import kariminf.faris.philosophical.Quantity.QuantityWrapper;
 import kariminf.faris.philosophical.Relative.RelativeWrapper;
@@ -15,91 +52,251 @@ import kariminf.faris.philosophical.State.StateWrapper;
 import kariminf.faris.philosophical.Substance.SubstanceWrapper;
 import kariminf.faris.philosophical.Time.TimeWrapper;
 
+/**
+ * A browser which indexes the ideas of a Faris representation, in order to extract
+ * just a subset of them using a {@link Query}. <br>
+ * The ideas are indexed when Faris is processed: <br>
+ * <pre>
+ * Browser browser = new Browser();
+ * faris.process(browser);
+ * browser.browse(new Query().verb(1168468)).forEach(...);
+ * </pre>
+ * The thoughts of the conditionals (if ..., then ...) are indexed as ideas of 
+ * the mind holding the conditional, with its mental state. <br>
+ * If Faris is modified afterwards, it must be processed again.
+ *
+ */
 public class Browser implements Processor {
 
+	/**
+	 * A thought found in a mind, with its mental state
+	 */
+	public static final class IdeaMatch {
+		public final Mind mind;
+		public final MentalState mentalState;
+		public final Action action;
+
+		private IdeaMatch(Mind mind, MentalState mentalState, Action action){
+			this.mind = mind;
+			this.mentalState = mentalState;
+			this.action = action;
+		}
+
+		/* (non-Javadoc)
+		 * @see java.lang.Object#toString()
+		 */
+		@Override
+		public String toString() {
+			return mind.getName() + ":" + mentalState + ":" + action;
+		}
+	}
+
+	private List<IdeaMatch> ideas = new ArrayList<>();
+
+	private HashMap<Integer, List<IdeaMatch>> verbIndex = new HashMap<>();
+	private HashMap<Integer, List<IdeaMatch>> agentIndex = new HashMap<>();
+	private HashMap<Integer, List<IdeaMatch>> themeIndex = new HashMap<>();
+	private HashMap<Integer, List<IdeaMatch>> ownerIndex = new HashMap<>();
+	private EnumMap<MentalState, List<IdeaMatch>> stateIndex = new EnumMap<>(MentalState.class);
+
+	private ArrayDeque<Mind> currentMinds = new ArrayDeque<>();
+	private MentalState mentalState;
+
+	//Minds can be shared among opinions; each one is indexed once
+	private Set<Mind> browsedMinds = Collections.newSetFromMap(new IdentityHashMap<Mind, Boolean>());
+
+	//=====================================================================
+	//======================= PRIVATE METHODS =============================
+	//=====================================================================
+
+	private static <K> void index(HashMap<K, List<IdeaMatch>> index, K key, IdeaMatch idea){
+		List<IdeaMatch> ideas = index.get(key);
+		if (ideas == null){
+			ideas = new ArrayList<>();
+			index.put(key, ideas);
+		}
+		ideas.add(idea);
+	}
+
+	private static void indexRoles(HashMap<Integer, List<IdeaMatch>> index,
+			List<? extends List<QuantSubstance>> disj, IdeaMatch idea){
+		//An idea is indexed once per synset, even if many roles share it
+		HashSet<Integer> synSets = new HashSet<>();
+		for (List<QuantSubstance> conj: disj)
+			for (QuantSubstance sub: conj)
+				synSets.add(sub.getSubstance().getNounSynSet());
+		for (int synSet: synSets)
+			index(index, synSet, idea);
+	}
+
+	private static List<IdeaMatch> lookup(HashMap<Integer, List<IdeaMatch>> index, int key){
+		List<IdeaMatch> result = index.get(key);
+		return (result == null)? Collections.<IdeaMatch>emptyList(): result;
+	}
+
+	/**
+	 * Chooses the smallest list of candidates among the indexes the query can use.
+	 * If none can be used, all ideas are candidates.
+	 * @param query the query
+	 * @return the ideas which may match the query
+	 */
+	private List<IdeaMatch> plan(Query query){
+		List<IdeaMatch> best = ideas;
+
+		List<List<IdeaMatch>> candidates = new ArrayList<>();
+		if (query.has(Query.VERB)) candidates.add(lookup(verbIndex, query.verbSynSet));
+		if (query.has(Query.AGENT)) candidates.add(lookup(agentIndex, query.agentSynSet));
+		if (query.has(Query.THEME)) candidates.add(lookup(themeIndex, query.themeSynSet));
+		if (query.has(Query.OWNER)) candidates.add(lookup(ownerIndex, query.ownerSynSet));
+		if (query.mentalState != null){
+			List<IdeaMatch> stateIdeas = stateIndex.get(query.mentalState);
+			candidates.add((stateIdeas == null)? Collections.<IdeaMatch>emptyList(): stateIdeas);
+		}
+
+		for (List<IdeaMatch> candidate: candidates)
+			if (candidate.size() < best.size()) best = candidate;
+
+		return best;
+	}
+
+	//=====================================================================
+	//======================== PUBLIC METHODS =============================
+	//=====================================================================
+
+	/**
+	 * Extracts the ideas matching a query. The ideas are filtered while the stream
+	 * is consumed.
+	 * @param query the pattern of the wanted ideas
+	 * @return a lazy stream of the matching ideas
+	 */
+	public Stream<IdeaMatch> browse(Query query){
+		return plan(query).stream().filter(query::matches);
+	}
+
+	/**
+	 * @return the number of indexed ideas
+	 */
+	public int size(){
+		return ideas.size();
+	}
+
+	//=====================================================================
+	//====================== PROCESSING METHODS ===========================
+	//=====================================================================
+
 	@Override
 	public void processFaris(FarisWrapper wrapper) {
-		// TODO Auto-generated method stub
-		
+		ideas.clear();
+		verbIndex.clear();
+		agentIndex.clear();
+		themeIndex.clear();
+		ownerIndex.clear();
+		stateIndex.clear();
+		browsedMinds.clear();
+
+		for (Mind mind: wrapper.minds.values())
+			mind.process(this);
 	}
 
 	@Override
 	public void processMind(MindWrapper wrapper) {
-		// TODO Auto-generated method stub
-		
+		if (! browsedMinds.add(wrapper.mind)) return;
+
+		currentMinds.push(wrapper.mind);
+
+		for(MentalState ms: wrapper.mentalStates){
+			mentalState = ms;
+			if (wrapper.thoughts.containsKey(ms))
+				for(Thought th: wrapper.thoughts.get(ms))
+					th.process(this);
+
+			if (wrapper.opinions.containsKey(ms))
+				for(Opinion op: wrapper.opinions.get(ms)){
+					op.process(this);
+					mentalState = ms;
+				}
+
+			if (wrapper.conditions.containsKey(ms))
+				for(Conditional cond: wrapper.conditions.get(ms)){
+					cond.process(this);
+					mentalState = ms;
+				}
+		}
+
+		currentMinds.pop();
 	}
 
 	@Override
 	public void processIdea(ThoughtWrapper wrapper) {
-		// TODO Auto-generated method stub
-		
+		Mind mind = currentMinds.peek();
+		IdeaMatch idea = new IdeaMatch(mind, mentalState, wrapper.action);
+		ideas.add(idea);
+
+		index(verbIndex, wrapper.action.getVerb().getSynSet(), idea);
+		indexRoles(agentIndex, wrapper.action.getAgents(), idea);
+		indexRoles(themeIndex, wrapper.action.getThemes(), idea);
+		index(ownerIndex, mind.getOwner().getSubstance().getNounSynSet(), idea);
+
+		List<IdeaMatch> stateIdeas = stateIndex.get(mentalState);
+		if (stateIdeas == null){
+			stateIdeas = new ArrayList<>();
+			stateIndex.put(mentalState, stateIdeas);
+		}
+		stateIdeas.add(idea);
 	}
 
 	@Override
 	public void processIdea(OpinionWrapper wrapper) {
-		// TODO Auto-generated method stub
-		
+		if (wrapper.otherMind != null) wrapper.otherMind.process(this);
 	}
 
 	@Override
 	public void processIdea(ConditionalWrapper wrapper) {
-		// TODO Auto-generated method stub
-		
+		//Both parts are ideas of the current mind, with the conditional's mental state
+		MentalState ms = mentalState;
+		if (wrapper.condition != null) wrapper.condition.process(this);
+		mentalState = ms;
+		if (wrapper.predicate != null) wrapper.predicate.process(this);
+		mentalState = ms;
 	}
 
+	//The ideas are browsed at the knowledge level; the philosophical elements
+	//are examined by the queries themselves
+
 	@Override
 	public void processRelative(RelativeWrapper wrapper) {
-		// TODO Auto-generated method stub
-		
 	}
 
 	@Override
 	public void processPlace(PlaceWrapper wrapper) {
-		// TODO Auto-generated method stub
-		
 	}
 
 	@Override
 	public void processTime(TimeWrapper wrapper) {
-		// TODO Auto-generated method stub
-		
 	}
 
 	@Override
 	public void processAction(ActionWrapper wrapper) {
-		// TODO Auto-generated method stub
-		
 	}
 
 	@Override
 	public void processState(StateWrapper wrapper) {
-		// TODO Auto-generated method stub
-		
 	}
 
 	@Override
 	public void processQuality(QualityWrapper wrapper) {
-		// TODO Auto-generated method stub
-		
 	}
 
 	@Override
 	public void processQuantity(QuantityWrapper wrapper) {
-		// TODO Auto-generated method stub
-		
 	}
 
 	@Override
 	public void processSubstance(QSubstanceWrapper wrapper) {
-		// TODO Auto-generated method stub
-		
 	}
 
 	@Override
 	public void processSubstance(SubstanceWrapper wrapper) {
-		// TODO Auto-generated method stub
-		
 	}
-	
 
 }
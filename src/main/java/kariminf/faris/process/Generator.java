@@ -20,7 +20,6 @@
 package kariminf.faris.process;
 
 import java.util.ArrayDeque;
-import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -47,6 +46,8 @@ import kariminf.faris.philosophical.State.StateWrapper;
 import kariminf.faris.philosophical.Substance.SubstanceWrapper;
 import kariminf.faris.philosophical.Time.TimeWrapper;
 import kariminf.faris.tools.ConjunctedSubstances;
+import kariminf.faris.tools.metrics.CachedCounter;
+import kariminf.faris.tools.metrics.CachedHistogram;
 import kariminf.sentrep.types.Comparison;
 
 /**
@@ -55,6 +56,9 @@ import kariminf.sentrep.types.Comparison;
  *
  */
 public class Generator implements Processor {
+
+	private static final CachedCounter THOUGHTS = new CachedCounter("generator.thoughts");
+	private static final CachedHistogram TIME = new CachedHistogram("generator.time");
 	
 	public static final String ACTION = "a";
 	public static final String ROLE = "r";
@@ -83,8 +87,38 @@ public class Generator implements Processor {
 	
 	private GeneratorHandler<?> handler;
 	
+	private GeneratorFilter filter;
+	
 	public Generator(GeneratorHandler<?> handler){
+		this(handler, GeneratorFilter.ALL);
+	}
+	
+	/**
+	 * Creates a generator which generates just the ideas accepted by a filter
+	 * @param handler the handler which generates the representation
+	 * @param filter the filter of ideas
+	 */
+	public Generator(GeneratorHandler<?> handler, GeneratorFilter filter){
 		this.handler = handler;
+		this.filter = filter;
+	}
+	
+	/**
+	 * Verifies if a thought's action is accepted by the filter
+	 * @param action the action of the thought
+	 * @return true if the thought must be generated
+	 */
+	private boolean accept(Action action){
+		if (! filter.acceptAction(action)) return false;
+		
+		List<List<QuantSubstance>> roles = action.getAgents();
+		roles.addAll(action.getThemes());
+		
+		for (List<QuantSubstance> conj: roles)
+			for (QuantSubstance substance: conj)
+				if (filter.acceptSubstance(substance)) return true;
+		
+		return roles.isEmpty();
 	}
 	
 	
@@ -119,9 +153,7 @@ public class Generator implements Processor {
 		//System.out.println("Generator: Place=" + relation);
 		if (wrapper.places != null && !wrapper.places.isEmpty()){
 			Set<ConjunctedSubstances> disj = new HashSet<>();
-			ConjunctedSubstances conj = new ConjunctedSubstances();
-			conj.addAll(wrapper.places);
-			disj.add(conj);
+			disj.add(ConjunctedSubstances.of(wrapper.places));
 			processDisjunctions(disj);
 		}
 		
@@ -133,9 +165,7 @@ public class Generator implements Processor {
 		
 		if (wrapper.times != null && !wrapper.times.isEmpty()){
 			Set<ConjunctedSubstances> disj = new HashSet<>();
-			ConjunctedSubstances conj = new ConjunctedSubstances();
-			conj.addAll(wrapper.times);
-			disj.add(conj);
+			disj.add(ConjunctedSubstances.of(wrapper.times));
 			processDisjunctions(disj);
 		}
 		handler.endTimeHandler(wrapper.relation, wrapper.adv, wrapper.datetime);
@@ -365,9 +395,13 @@ public class Generator implements Processor {
 		}
 
 		for(MentalState ms: wrapper.mentalStates){
+			if (! filter.acceptMentalState(ms)) continue;
+			if (! wrapper.thoughts.containsKey(ms)) continue;
 			this.processMentalState(ms);
 			for(Thought th: wrapper.thoughts.get(ms)){
+				if (! accept(th.getAction())) continue;
 				th.process(this);
+				THOUGHTS.inc();
 			}
 				
 		}
@@ -386,7 +420,9 @@ public class Generator implements Processor {
 	public void processFaris(FarisWrapper wrapper) {
 		Mind mainMind = wrapper.minds.get("$");
 		if (mainMind == null) return;
+		long start = System.nanoTime();
 		mainMind.process(this);
+		TIME.record(System.nanoTime() - start);
 		
 	}
 
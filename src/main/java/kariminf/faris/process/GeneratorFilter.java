@@ -0,0 +1,79 @@
+/* FARIS : Factual Arrangement and Representation of Ideas in Sentences
+ * FAris : Farabi & Aristotle
+ * Faris : A knight (in Arabic)
+ * --------------------------------------------------------------------
+ * Copyright (C) 2017 Abdelkrime Aries (kariminfo0@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package kariminf.faris.process;
+
+import kariminf.faris.knowledge.Mind.MentalState;
+import kariminf.faris.philosophical.Action;
+import kariminf.faris.philosophical.QuantSubstance;
+
+/**
+ * A filter used by {@link Generator} to generate just a subset of ideas. <br>
+ * The generator asks the filter before going down into a mental state or a 
+ * thought; a refused element is not traversed at all. The accepted thoughts
+ * are generated with all what they depend on (states, relatives, places, times).
+ * <br>
+ * The generator only generates the main mind ($), so there is no criterion on 
+ * the minds: the opinions of the other minds are not generated at all.
+ * <br>
+ * For example, the thoughts about a person:
+ * <pre>
+ * new GeneratorFilter(){
+ *     public boolean acceptSubstance(QuantSubstance substance){
+ *         return substance.getSubstance().getNounSynSet() == personSynSet;
+ *     }
+ * }
+ * </pre>
+ * All the methods accept everything by default.
+ *
+ */
+public interface GeneratorFilter {
+
+	/**
+	 * A filter which accepts everything
+	 */
+	public static final GeneratorFilter ALL = new GeneratorFilter(){};
+
+	/**
+	 * @param ms a mental state of the main mind
+	 * @return true if the ideas having this mental state may be generated
+	 */
+	public default boolean acceptMentalState(MentalState ms){
+		return true;
+	}
+
+	/**
+	 * @param action the action of a thought
+	 * @return true if the thought may be generated
+	 */
+	public default boolean acceptAction(Action action){
+		return true;
+	}
+
+	/**
+	 * A thought is generated if at least one of its agents or themes is accepted,
+	 * or if it has none.
+	 * @param substance an agent or a theme of a thought
+	 * @return true if it is accepted
+	 */
+	public default boolean acceptSubstance(QuantSubstance substance){
+		return true;
+	}
+
+}
@@ -0,0 +1,210 @@
+/* FARIS : Factual Arrangement and Representation of Ideas in Sentences
+ * FAris : Farabi & Aristotle
+ * Faris : A knight (in Arabic)
+ * --------------------------------------------------------------------
+ * Copyright (C) 2017 Abdelkrime Aries (kariminfo0@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package kariminf.faris.process;
+
+import java.util.List;
+
+import kariminf.faris.knowledge.Mind.MentalState;
+import kariminf.faris.philosophical.Action;
+import kariminf.faris.philosophical.Place;
+import kariminf.faris.philosophical.QuantSubstance;
+import kariminf.faris.philosophical.Time;
+import kariminf.faris.process.Browser.IdeaMatch;
+import kariminf.sentrep.types.Relation.Adpositional;
+
+/**
+ * A pattern of ideas used by {@link Browser} to extract a subset of ideas. <br>
+ * Each criterion is optional; an idea matches the query if it matches all
+ * the criteria which have been set. For example, the thoughts of mothers about
+ * eating:
+ * <pre>
+ * new Query().owner(10332385).verb(1168468)
+ * </pre>
+ *
+ */
+public class Query {
+
+	//The synset criteria which are set, as flags: any int is a valid synset
+	static final int VERB = 1;
+	static final int AGENT = 1 << 1;
+	static final int THEME = 1 << 2;
+	static final int OWNER = 1 << 3;
+	static final int QUALITY = 1 << 4;
+
+	private int criteria = 0;
+
+	int verbSynSet;
+	int agentSynSet;
+	int themeSynSet;
+	int ownerSynSet;
+	int qualitySynSet;
+	MentalState mentalState;
+	Adpositional placeRelation;
+	Adpositional timeRelation;
+
+	/**
+	 * @param synSet the synset of the action's verb
+	 * @return the same query
+	 */
+	public Query verb(int synSet){
+		verbSynSet = synSet;
+		criteria |= VERB;
+		return this;
+	}
+
+	/**
+	 * @param synSet the synset of one of the action's agents
+	 * @return the same query
+	 */
+	public Query agent(int synSet){
+		agentSynSet = synSet;
+		criteria |= AGENT;
+		return this;
+	}
+
+	/**
+	 * @param synSet the synset of one of the action's themes
+	 * @return the same query
+	 */
+	public Query theme(int synSet){
+		themeSynSet = synSet;
+		criteria |= THEME;
+		return this;
+	}
+
+	/**
+	 * @param synSet the synset of the mind's owner; 0 for the common sense ($)
+	 * @return the same query
+	 */
+	public Query owner(int synSet){
+		ownerSynSet = synSet;
+		criteria |= OWNER;
+		return this;
+	}
+
+	/**
+	 * @param synSet the synset of an adjective describing an agent or a theme
+	 * @return the same query
+	 */
+	public Query quality(int synSet){
+		qualitySynSet = synSet;
+		criteria |= QUALITY;
+		return this;
+	}
+
+	/**
+	 * @param ms the mental state of the idea: think, believe, etc.
+	 * @return the same query
+	 */
+	public Query mentalState(MentalState ms){
+		mentalState = ms;
+		return this;
+	}
+
+	/**
+	 * @param relation the relation of one of the action's places
+	 * @return the same query
+	 */
+	public Query place(Adpositional relation){
+		placeRelation = relation;
+		return this;
+	}
+
+	/**
+	 * @param relation the relation of one of the action's times
+	 * @return the same query
+	 */
+	public Query time(Adpositional relation){
+		timeRelation = relation;
+		return this;
+	}
+
+	/**
+	 * @param criterion one of the synset criteria (VERB, AGENT, etc.)
+	 * @return true if it is set
+	 */
+	boolean has(int criterion){
+		return (criteria & criterion) != 0;
+	}
+
+	private static boolean hasSynSet(List<? extends List<QuantSubstance>> disj, int synSet){
+		for (List<QuantSubstance> conj: disj)
+			for (QuantSubstance sub: conj)
+				if (sub.getSubstance().getNounSynSet() == synSet) return true;
+		return false;
+	}
+
+	private static boolean hasQuality(List<? extends List<QuantSubstance>> disj, int synSet){
+		for (List<QuantSubstance> conj: disj)
+			for (QuantSubstance sub: conj)
+				if (sub.getSubstance().hasQuality(synSet)) return true;
+		return false;
+	}
+
+	/**
+	 * Verifies if an idea matches all the criteria of this query
+	 * @param match the idea with its mind and mental state
+	 * @return true if it matches
+	 */
+	public boolean matches(IdeaMatch match){
+
+		Action action = match.action;
+
+		if (mentalState != null && mentalState != match.mentalState) return false;
+
+		if (has(OWNER)
+				&& match.mind.getOwner().getSubstance().getNounSynSet() != ownerSynSet)
+			return false;
+
+		if (has(VERB) && ! action.getVerb().hasSynset(verbSynSet)) return false;
+
+		if (has(AGENT) && ! hasSynSet(action.getAgents(), agentSynSet)) return false;
+
+		if (has(THEME) && ! hasSynSet(action.getThemes(), themeSynSet)) return false;
+
+		if (has(QUALITY)
+				&& ! hasQuality(action.getAgents(), qualitySynSet)
+				&& ! hasQuality(action.getThemes(), qualitySynSet))
+			return false;
+
+		if (placeRelation != null){
+			boolean found = false;
+			for (Place place: action.getPlaces())
+				if (place.getRelation() == placeRelation){
+					found = true;
+					break;
+				}
+			if (! found) return false;
+		}
+
+		if (timeRelation != null){
+			boolean found = false;
+			for (Time time: action.getTimes())
+				if (time.getRelation() == timeRelation){
+					found = true;
+					break;
+				}
+			if (! found) return false;
+		}
+
+		return true;
+	}
+
+}
@@ -0,0 +1,112 @@
+/* FARIS : Factual Arrangement and Representation of Ideas in Sentences
+ * FAris : Farabi & Aristotle
+ * Faris : A knight (in Arabic)
+ * --------------------------------------------------------------------
+ * Copyright (C) 2017 Abdelkrime Aries (kariminfo0@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package kariminf.faris.process.bin;
+
+/**
+ * The constants of the Faris binary format. <br>
+ * A document is the magic header followed by a stream of opcodes, one for each
+ * callback of {@link kariminf.faris.process.GeneratorHandler}, and terminated by
+ * {@link #END}. Integers (IDs, synsets, sizes) are written as variable length
+ * integers; synsets are zigzag encoded since they can be negative, and an optional 
+ * one follows a presence byte. Already
+ * processed actions, substances and proper names are referred to by their index.
+ *
+ */
+final class BinFormat {
+
+	static final byte[] MAGIC = {'F', 'R', 'B'};
+	static final byte VERSION = 2;
+
+	static final int END = 0;
+
+	static final int BEGIN_ACTION = 1;
+	static final int END_ACTION = 2;
+	static final int BEGIN_AGENTS = 3;
+	static final int END_AGENTS = 4;
+	static final int BEGIN_THEMES = 5;
+	static final int END_THEMES = 6;
+	static final int BEGIN_DISJUNCTION = 7;
+	static final int END_DISJUNCTION = 8;
+
+	static final int BEGIN_SUBSTANCE = 9;
+	static final int SUBSTANCE_FOUND = 10;
+	static final int ACTION_FOUND = 11;
+	static final int END_SUBSTANCE = 12;
+
+	static final int QUANTITY = 13;
+	static final int PLURAL = 14;
+	static final int QUALITY = 15;
+
+	static final int IDEA = 16;
+	static final int STATE = 17;
+	static final int BEGIN_STATES = 18;
+	static final int END_STATES = 19;
+
+	static final int BEGIN_PLACE = 20;
+	static final int END_PLACE = 21;
+	static final int BEGIN_TIME = 22;
+	static final int END_TIME = 23;
+
+	static final int BEGIN_ACTION_RELATIVES = 24;
+	static final int END_ACTION_RELATIVES = 25;
+	static final int BEGIN_SUBSTANCE_RELATIVES = 26;
+	static final int END_SUBSTANCE_RELATIVES = 27;
+	static final int RELATIVE = 28;
+
+	//Verb flags
+	static final int PERFECT = 1;
+	static final int PROGRESSIVE = 2;
+
+	private BinFormat(){
+	}
+
+	/**
+	 * Transforms an ID generated by {@link kariminf.faris.process.Generator}, such as "a12" or
+	 * "r3", into its number.
+	 * @param id the generated ID
+	 * @return the number of the ID, or -1 if it has no number (eg. "anull")
+	 */
+	static int idNumber(String id){
+		if (id == null) return -1;
+		int result = 0;
+		for (int i = 1; i < id.length(); i++){
+			char c = id.charAt(i);
+			if (c < '0' || c > '9') return -1;
+			result = result * 10 + (c - '0');
+		}
+		return (id.length() > 1)? result: -1;
+	}
+
+	static int zigzag(int n){
+		return (n << 1) ^ (n >> 31);
+	}
+
+	static int unzigzag(int n){
+		return (n >>> 1) ^ -(n & 1);
+	}
+
+	static long zigzag(long n){
+		return (n << 1) ^ (n >> 63);
+	}
+
+	static long unzigzag(long n){
+		return (n >>> 1) ^ -(n & 1);
+	}
+
+}
@@ -0,0 +1,335 @@
+/* FARIS : Factual Arrangement and Representation of Ideas in Sentences
+ * FAris : Farabi & Aristotle
+ * Faris : A knight (in Arabic)
+ * --------------------------------------------------------------------
+ * Copyright (C) 2017 Abdelkrime Aries (kariminfo0@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package kariminf.faris.process.bin;
+
+import static kariminf.faris.process.bin.BinFormat.*;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Set;
+
+import kariminf.faris.linguistic.Adjective;
+import kariminf.faris.linguistic.Adverb;
+import kariminf.faris.linguistic.Noun;
+import kariminf.faris.linguistic.POS;
+import kariminf.faris.linguistic.ProperNoun;
+import kariminf.faris.linguistic.Verb;
+import kariminf.faris.process.GeneratorHandler;
+import kariminf.sentrep.types.Comparison;
+import kariminf.sentrep.types.Relation.Adpositional;
+
+/**
+ * A generator handler which encodes Faris into a compact binary format. <br>
+ * The result can be loaded into another Faris using
+ * {@link kariminf.faris.knowledge.Faris#addBinDescription(byte[])},
+ * without passing by STON.
+ *
+ */
+public class BinGeneratorHandler extends GeneratorHandler<byte[]> {
+
+	private ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+	//Proper names already written; the next occurrences are back-references
+	private HashMap<String, Integer> names = new HashMap<>();
+
+	public BinGeneratorHandler() {
+		out.write(MAGIC, 0, MAGIC.length);
+		out.write(VERSION);
+	}
+
+	//=====================================================================
+	//======================= PRIVATE METHODS =============================
+	//=====================================================================
+
+	private void writeVarint(int n){
+		while ((n & ~0x7F) != 0){
+			out.write((n & 0x7F) | 0x80);
+			n >>>= 7;
+		}
+		out.write(n);
+	}
+
+	private void writeVarlong(long n){
+		while ((n & ~0x7FL) != 0){
+			out.write((int) ((n & 0x7F) | 0x80));
+			n >>>= 7;
+		}
+		out.write((int) n);
+	}
+
+	private void writeSynSet(int synSet){
+		writeVarint(zigzag(synSet));
+	}
+
+	/**
+	 * Writes a presence byte then the synset, since a synset can take any value
+	 */
+	private void writeOptSynSet(POS pos){
+		if (pos == null){
+			out.write(0);
+			return;
+		}
+		out.write(1);
+		writeSynSet(pos.getSynSet());
+	}
+
+	private void writeID(String id){
+		writeVarint(idNumber(id) + 1);
+	}
+
+	private void writeOrdinal(Enum<?> e){
+		writeVarint((e == null)? 0: e.ordinal() + 1);
+	}
+
+	private void writeAdverbs(Set<Adverb> adverbs){
+		if (adverbs == null){
+			writeVarint(0);
+			return;
+		}
+		writeVarint(adverbs.size());
+		for (Adverb adv: adverbs) writeSynSet(adv.getSynSet());
+	}
+
+	private void writeName(String name){
+		if (name == null){
+			writeVarint(0);
+			return;
+		}
+
+		Integer ref = names.get(name);
+		if (ref != null){
+			writeVarint(ref);
+			return;
+		}
+
+		ref = names.size() + 1;
+		names.put(name, ref);
+		writeVarint(ref);
+		byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+		writeVarint(bytes.length);
+		out.write(bytes, 0, bytes.length);
+	}
+
+	private void writeNoun(Noun noun){
+		writeSynSet(noun.getSynSet());
+		writeVarint((noun.getGender().ordinal() << 1) | (noun.isDefined()? 1: 0));
+		writeName((noun instanceof ProperNoun)? ((ProperNoun) noun).getName(): null);
+	}
+
+	private void writeOptNoun(Noun noun){
+		if (noun == null){
+			out.write(0);
+			return;
+		}
+		out.write(1);
+		writeNoun(noun);
+	}
+
+	//=====================================================================
+	//========================= HANDLER METHODS ===========================
+	//=====================================================================
+
+	@Override
+	protected void beginActionHandler(String id, Verb verb, Set<Adverb> adverbs) {
+		out.write(BEGIN_ACTION);
+		writeID(id);
+		writeSynSet(verb.getSynSet());
+		writeOrdinal(verb.getTense());
+		int flags = (verb.isPerfect()? PERFECT: 0) | (verb.isProgressive()? PROGRESSIVE: 0);
+		out.write(flags);
+		writeAdverbs(adverbs);
+	}
+
+	@Override
+	protected void endActionHandler(String id, Verb verb, Set<Adverb> adverbs) {
+		out.write(END_ACTION);
+		writeID(id);
+	}
+
+	@Override
+	protected void beginAgentsHandler(String actID) {
+		out.write(BEGIN_AGENTS);
+	}
+
+	@Override
+	protected void endAgentsHandler(String actID) {
+		out.write(END_AGENTS);
+	}
+
+	@Override
+	protected void beginThemesHandler(String actID) {
+		out.write(BEGIN_THEMES);
+	}
+
+	@Override
+	protected void endThemesHandler(String actID) {
+		out.write(END_THEMES);
+	}
+
+	@Override
+	protected void beginDisjunctionHandler() {
+		out.write(BEGIN_DISJUNCTION);
+	}
+
+	@Override
+	protected void endDisjunctionHandler() {
+		out.write(END_DISJUNCTION);
+	}
+
+	@Override
+	protected void beginSubstanceHandler(String id, Noun noun) {
+		out.write(BEGIN_SUBSTANCE);
+		writeID(id);
+		writeNoun(noun);
+	}
+
+	@Override
+	protected void substanceFoundHandler(String id) {
+		out.write(SUBSTANCE_FOUND);
+		writeID(id);
+	}
+
+	@Override
+	protected void actionFoundHandler(String id) {
+		out.write(ACTION_FOUND);
+		writeID(id);
+	}
+
+	@Override
+	protected void endSubstanceHandler(String id, Noun noun) {
+		out.write(END_SUBSTANCE);
+		writeID(id);
+	}
+
+	@Override
+	protected void addQuantityHandler(double nbr, Noun unit, boolean cardinal) {
+		out.write(QUANTITY);
+		long bits = Double.doubleToLongBits(nbr);
+		for (int i = 0; i < 64; i += 8) out.write((int) (bits >>> i));
+		out.write(cardinal? 1: 0);
+		writeOptNoun(unit);
+	}
+
+	@Override
+	protected void addQuantityHandler(Noun unit) {
+		out.write(PLURAL);
+		writeOptNoun(unit);
+	}
+
+	@Override
+	protected void addQualityHandler(Adjective adjective, Set<Adverb> adverbs) {
+		out.write(QUALITY);
+		writeSynSet(adjective.getSynSet());
+		writeAdverbs(adverbs);
+	}
+
+	@Override
+	protected void addIdeaHandler(String actionID) {
+		out.write(IDEA);
+		writeID(actionID);
+	}
+
+	@Override
+	protected void addStateHandler(boolean isAgent, String stateID) {
+		out.write(STATE);
+		out.write(isAgent? 1: 0);
+		writeID(stateID);
+	}
+
+	@Override
+	protected void beginStateHandler(String subID, String actID) {
+		out.write(BEGIN_STATES);
+	}
+
+	@Override
+	protected void endStateHandler(String subID, String actID) {
+		out.write(END_STATES);
+	}
+
+	@Override
+	protected void beginPlaceHandler(Adpositional relation, Adverb adv) {
+		out.write(BEGIN_PLACE);
+		writeOrdinal(relation);
+		writeOptSynSet(adv);
+	}
+
+	@Override
+	protected void endPlaceHandler(Adpositional relation, Adverb adv) {
+		out.write(END_PLACE);
+	}
+
+	@Override
+	protected void beginTimeHandler(Adpositional relation, Adverb adv, LocalDateTime datetime) {
+		out.write(BEGIN_TIME);
+		writeOrdinal(relation);
+		writeOptSynSet(adv);
+		if (datetime == null){
+			out.write(0);
+			return;
+		}
+		out.write(1);
+		long seconds = datetime.toEpochSecond(ZoneOffset.UTC);
+		writeVarlong(zigzag(seconds));
+		writeVarint(datetime.getNano());
+	}
+
+	@Override
+	protected void endTimeHandler(Adpositional relation, Adverb adv, LocalDateTime datetime) {
+		out.write(END_TIME);
+	}
+
+	@Override
+	protected void beginActionRelativeHandler(String actID) {
+		out.write(BEGIN_ACTION_RELATIVES);
+	}
+
+	@Override
+	protected void endActionRelativeHandler(String actID) {
+		out.write(END_ACTION_RELATIVES);
+	}
+
+	@Override
+	protected void beginSubstanceRelativeHandler(String subID) {
+		out.write(BEGIN_SUBSTANCE_RELATIVES);
+	}
+
+	@Override
+	protected void endSubstanceRelativeHandler(String subID) {
+		out.write(END_SUBSTANCE_RELATIVES);
+	}
+
+	@Override
+	protected void addRelativeHandler(Comparison cmp, Adjective adjective, String relID) {
+		out.write(RELATIVE);
+		writeOrdinal(cmp);
+		writeOptSynSet(adjective);
+		writeID(relID);
+	}
+
+	@Override
+	public byte[] generate() {
+		//The extra byte is the END opcode (0)
+		return Arrays.copyOf(out.toByteArray(), out.size() + 1);
+	}
+
+}
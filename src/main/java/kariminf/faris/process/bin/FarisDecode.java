@@ -0,0 +1,619 @@
+/* FARIS : Factual Arrangement and Representation of Ideas in Sentences
+ * FAris : Farabi & Aristotle
+ * Faris : A knight (in Arabic)
+ * --------------------------------------------------------------------
+ * Copyright (C) 2017 Abdelkrime Aries (kariminfo0@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package kariminf.faris.process.bin;
+
+import static kariminf.faris.process.bin.BinFormat.*;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import kariminf.faris.knowledge.Faris.FarisWrapper;
+import kariminf.faris.knowledge.Mind;
+import kariminf.faris.knowledge.Mind.MentalState;
+import kariminf.faris.linguistic.Adjective;
+import kariminf.faris.linguistic.Adverb;
+import kariminf.faris.linguistic.Noun;
+import kariminf.faris.linguistic.ProperNoun;
+import kariminf.faris.linguistic.Verb;
+import kariminf.faris.philosophical.Action;
+import kariminf.faris.philosophical.Place;
+import kariminf.faris.philosophical.Quality;
+import kariminf.faris.philosophical.QuantSubstance;
+import kariminf.faris.philosophical.Quantity;
+import kariminf.faris.philosophical.Relative;
+import kariminf.faris.philosophical.Relative.RelativeType;
+import kariminf.faris.philosophical.State;
+import kariminf.faris.philosophical.Substance;
+import kariminf.faris.philosophical.Time;
+import kariminf.faris.tools.Search;
+import kariminf.sentrep.types.Comparison;
+import kariminf.sentrep.types.Relation;
+import kariminf.sentrep.types.Relation.Adpositional;
+import kariminf.sentrep.types.VerbTense;
+
+/**
+ * To decode the binary format generated by {@link BinGeneratorHandler} and merge it
+ * into Faris knowledge, the same way {@link kariminf.faris.process.ston.FarisParse}
+ * does with STON.
+ *
+ */
+public class FarisDecode {
+
+	private static enum Block {
+		ACTION,
+		AGENT,
+		THEME,
+		DISJUNCTION,
+		ROLE,
+		STATES,
+		PLACE,
+		TIME,
+		ACTION_RELATIVES,
+		SUBSTANCE_RELATIVES
+	}
+
+	//A substance being decoded; it is created when it ends, since
+	//it must be replaced by the one in Faris if it exists
+	private static class TmpSubstance {
+		int id;
+		Substance substance;
+		Quantity plQuantity;
+		Quantity nbrQuantity;
+		List<Action> stateActions = new ArrayList<>();
+		List<Boolean> stateAgents = new ArrayList<>();
+		List<Action> mainActions = new ArrayList<>();
+		List<QuantSubstance> ofRelatives = new ArrayList<>();
+	}
+
+	//The range of the dates
+	private static final long MIN_SECONDS = LocalDateTime.MIN.toEpochSecond(ZoneOffset.UTC);
+	private static final long MAX_SECONDS = LocalDateTime.MAX.toEpochSecond(ZoneOffset.UTC);
+
+	private FarisWrapper wrapper;
+
+	private byte[] in;
+	private int pos;
+
+	private ArrayList<String> names = new ArrayList<>();
+
+	private HashMap<Integer, Action> _actions = new HashMap<>();
+	private HashMap<Integer, QuantSubstance> _players = new HashMap<>();
+	//known substances found by their names, with the qualities they get from this description
+	private IdentityHashMap<Substance, Substance> _namedUpdates = new IdentityHashMap<>();
+	private HashSet<Integer> mainActionsIDs = new HashSet<>();
+	private List<State> _states = new ArrayList<>();
+
+	private ArrayDeque<Block> openBlocks = new ArrayDeque<>();
+	private ArrayDeque<Action> currentActions = new ArrayDeque<>();
+	private ArrayDeque<TmpSubstance> currentSubstances = new ArrayDeque<>();
+	private ArrayDeque<List<QuantSubstance>> conjunctions = new ArrayDeque<>();
+	private ArrayDeque<Object> currentPlaceTimes = new ArrayDeque<>();
+
+	private boolean decoded = false;
+
+	/**
+	 * Creates a new binary decoder
+	 * @param wrapper the wrapper of Faris where the knowledge will be added
+	 */
+	public FarisDecode(FarisWrapper wrapper){
+		this.wrapper = wrapper;
+	}
+
+	/**
+	 * Decodes a binary description and adds it to Faris. Nothing is added if the
+	 * description is malformed. The same decoder can decode many descriptions: 
+	 * the names, the IDs and the blocks of one are not seen by the next.
+	 * @param description the binary description
+	 */
+	public void decode(byte[] description){
+		reset();
+		in = description;
+
+		try {
+			if (! readHeader()) return;
+			while (readOpcode());
+		} catch (MalformedException e){
+			return;
+		}
+
+		decodeSuccess();
+		decoded = true;
+	}
+
+	//Clears what is known about the previous description
+	private void reset(){
+		in = null;
+		pos = 0;
+		decoded = false;
+
+		names.clear();
+		_actions.clear();
+		_players.clear();
+		_namedUpdates.clear();
+		mainActionsIDs.clear();
+		_states.clear();
+
+		openBlocks.clear();
+		currentActions.clear();
+		currentSubstances.clear();
+		conjunctions.clear();
+		currentPlaceTimes.clear();
+	}
+
+	/**
+	 * @return true if the last description has been decoded and added
+	 */
+	public boolean decoded(){
+		return decoded;
+	}
+
+	//=====================================================================
+	//======================= READING METHODS =============================
+	//=====================================================================
+
+	/**
+	 * Thrown when the description is malformed: truncated, unknown codes or references, 
+	 * or blocks which are not well nested
+	 */
+	private static class MalformedException extends RuntimeException {
+		private static final long serialVersionUID = 1L;
+
+		MalformedException(String message) {
+			super(message, null, false, false);
+		}
+	}
+
+	private boolean readHeader(){
+		if (in.length < MAGIC.length + 1) return false;
+		for (int i = 0; i < MAGIC.length; i++)
+			if (in[pos++] != MAGIC[i]) return false;
+		return in[pos++] == VERSION;
+	}
+
+	private int readByte(){
+		if (pos >= in.length) throw new MalformedException("Unexpected end at " + pos);
+		return in[pos++] & 0xFF;
+	}
+
+	private int readVarint(){
+		int result = 0;
+		for (int shift = 0; shift < 32; shift += 7){
+			int b = readByte();
+			result |= (b & 0x7F) << shift;
+			if ((b & 0x80) == 0) return result;
+		}
+		throw new MalformedException("Malformed varint at " + pos);
+	}
+
+	private long readVarlong(){
+		long result = 0;
+		for (int shift = 0; shift < 64; shift += 7){
+			int b = readByte();
+			result |= (long) (b & 0x7F) << shift;
+			if ((b & 0x80) == 0) return result;
+		}
+		throw new MalformedException("Malformed varlong at " + pos);
+	}
+
+	private int readSynSet(){
+		return unzigzag(readVarint());
+	}
+
+	private int readID(){
+		return readVarint() - 1;
+	}
+
+	private <E extends Enum<E>> E readOrdinal(E[] values){
+		int ordinal = readVarint();
+		if (ordinal < 0 || ordinal > values.length)
+			throw new MalformedException("Unknown ordinal " + ordinal + " at " + pos);
+		return (ordinal == 0)? null: values[ordinal - 1];
+	}
+
+	private List<Integer> readSynSets(){
+		int size = readVarint();
+		//Each synset takes one byte at least
+		if (size < 0 || size > in.length - pos)
+			throw new MalformedException("Wrong size " + size + " at " + pos);
+		List<Integer> result = new ArrayList<>(size);
+		for (int i = 0; i < size; i++) result.add(readSynSet());
+		return result;
+	}
+
+	private String readName(){
+		int ref = readVarint();
+		if (ref == 0) return null;
+		if (ref <= names.size()) return names.get(ref - 1);
+		if (ref < 0 || ref != names.size() + 1)
+			throw new MalformedException("Unknown name reference " + ref);
+		int length = readVarint();
+		if (length < 0 || length > in.length - pos)
+			throw new MalformedException("Wrong name length " + length + " at " + pos);
+		String name = new String(in, pos, length, StandardCharsets.UTF_8);
+		pos += length;
+		names.add(name);
+		return name;
+	}
+
+	private Noun readNoun(){
+		Noun noun = Noun.getNew(readSynSet());
+		int attributes = readVarint();
+		if (attributes < 0 || (attributes >> 1) >= Noun.Gender.values().length)
+			throw new MalformedException("Wrong noun attributes at " + pos);
+		noun.setAttributs(Noun.Gender.values()[attributes >> 1], (attributes & 1) == 1);
+		String name = readName();
+		if (name != null) return new ProperNoun(noun, name);
+		return noun;
+	}
+
+	private Noun readOptNoun(){
+		return (readByte() == 0)? null: readNoun();
+	}
+
+	private Adverb readOptAdverb(){
+		return (readByte() == 0)? null: new Adverb(readSynSet());
+	}
+
+	private void closeBlock(Block block){
+		if (openBlocks.peek() != block)
+			throw new MalformedException("Expected the end of " + openBlocks.peek());
+		openBlocks.pop();
+	}
+
+	/**
+	 * Reads an opcode and its operands, then calls its method
+	 * @return false if the end of the description is reached
+	 */
+	private boolean readOpcode(){
+		int opcode = readByte();
+		switch (opcode) {
+		case END:
+			if (! openBlocks.isEmpty())
+				throw new MalformedException("Unclosed " + openBlocks.peek());
+			return false;
+		case BEGIN_ACTION:{
+			int id = readID();
+			Verb verb = new Verb(readSynSet());
+			verb.setTense(readOrdinal(VerbTense.values()));
+			int flags = readByte();
+			if ((flags & PERFECT) != 0) verb.setPerfect();
+			if ((flags & PROGRESSIVE) != 0) verb.setProgressive();
+			beginAction(id, verb, readSynSets());
+			break;
+		}
+		case END_ACTION:
+			endAction(readID());
+			break;
+		case BEGIN_AGENTS:
+			openBlocks.push(Block.AGENT);
+			break;
+		case END_AGENTS:
+			closeBlock(Block.AGENT);
+			break;
+		case BEGIN_THEMES:
+			openBlocks.push(Block.THEME);
+			break;
+		case END_THEMES:
+			closeBlock(Block.THEME);
+			break;
+		case BEGIN_DISJUNCTION:
+			openBlocks.push(Block.DISJUNCTION);
+			conjunctions.push(new ArrayList<QuantSubstance>());
+			break;
+		case END_DISJUNCTION:
+			closeBlock(Block.DISJUNCTION);
+			endDisjunction(conjunctions.pop());
+			break;
+		case BEGIN_SUBSTANCE:{
+			int id = readID();
+			beginSubstance(id, readNoun());
+			break;
+		}
+		case SUBSTANCE_FOUND:
+			substanceFound(readID());
+			break;
+		case ACTION_FOUND:
+			readID();
+			break;
+		case END_SUBSTANCE:
+			readID();
+			endSubstance();
+			break;
+		case QUANTITY:{
+			long bits = 0;
+			for (int i = 0; i < 64; i += 8) bits |= (long) readByte() << i;
+			boolean cardinal = readByte() == 1;
+			addQuantity(Double.longBitsToDouble(bits), readOptNoun(), cardinal);
+			break;
+		}
+		case PLURAL:
+			addQuantity(readOptNoun());
+			break;
+		case QUALITY:{
+			int synSet = readSynSet();
+			addQuality(synSet, readSynSets());
+			break;
+		}
+		case IDEA:
+			mainActionsIDs.add(readID());
+			break;
+		case STATE:{
+			boolean isAgent = readByte() == 1;
+			addState(isAgent, readID());
+			break;
+		}
+		case BEGIN_STATES:
+			openBlocks.push(Block.STATES);
+			break;
+		case END_STATES:
+			closeBlock(Block.STATES);
+			break;
+		case BEGIN_PLACE:{
+			Adpositional relation = readOrdinal(Adpositional.values());
+			Adverb adv = readOptAdverb();
+			openBlocks.push(Block.PLACE);
+			currentPlaceTimes.push((adv != null)? new Place(adv): new Place(relation));
+			break;
+		}
+		case END_PLACE:
+			closeBlock(Block.PLACE);
+			currentAction().addLocation((Place) currentPlaceTimes.pop());
+			break;
+		case BEGIN_TIME:{
+			Adpositional relation = readOrdinal(Adpositional.values());
+			Adverb adv = readOptAdverb();
+			Time time = (adv != null)? new Time(adv): new Time(relation);
+			if (readByte() == 1){
+				long seconds = unzigzag(readVarlong());
+				int nanos = readVarint();
+				if (seconds < MIN_SECONDS || seconds > MAX_SECONDS || nanos < 0 || nanos > 999999999)
+					throw new MalformedException("Wrong date at " + pos);
+				time.setDateTime(LocalDateTime.ofEpochSecond(seconds, nanos, ZoneOffset.UTC));
+			}
+			openBlocks.push(Block.TIME);
+			currentPlaceTimes.push(time);
+			break;
+		}
+		case END_TIME:
+			closeBlock(Block.TIME);
+			currentAction().addTime((Time) currentPlaceTimes.pop());
+			break;
+		case BEGIN_ACTION_RELATIVES:
+			openBlocks.push(Block.ACTION_RELATIVES);
+			break;
+		case END_ACTION_RELATIVES:
+			closeBlock(Block.ACTION_RELATIVES);
+			break;
+		case BEGIN_SUBSTANCE_RELATIVES:
+			openBlocks.push(Block.SUBSTANCE_RELATIVES);
+			break;
+		case END_SUBSTANCE_RELATIVES:
+			closeBlock(Block.SUBSTANCE_RELATIVES);
+			break;
+		case RELATIVE:{
+			Comparison cmp = readOrdinal(Comparison.values());
+			Adjective adj = (readByte() == 0)? null: new Adjective(readSynSet());
+			addRelative(cmp, adj, readID());
+			break;
+		}
+		default:
+			throw new MalformedException("Unknown opcode " + opcode);
+		}
+
+		return true;
+	}
+
+	//=====================================================================
+	//======================= BUILDING METHODS ============================
+	//=====================================================================
+
+	private void beginAction(int id, Verb verb, List<Integer> advSynSets){
+		Action action = Action.getNew(verb);
+		for (int advSynSet: advSynSets)
+			action.addAdverb(new Adverb(advSynSet), null);
+
+		_actions.put(id, action);
+		currentActions.push(action);
+		openBlocks.push(Block.ACTION);
+	}
+
+	private void endAction(int id){
+		closeBlock(Block.ACTION);
+		currentActions.pop();
+	}
+
+	private void endDisjunction(List<QuantSubstance> conj){
+		if (conj.isEmpty() || openBlocks.isEmpty()) return;
+
+		switch (openBlocks.peek()) {
+		case AGENT:
+			currentAction().addConjunctSubjects(conj);
+			break;
+		case THEME:
+			currentAction().addConjunctObjects(conj);
+			break;
+		case PLACE:
+			for (QuantSubstance sub: conj)
+				((Place) currentPlaceTimes.peek()).addLocation(sub);
+			break;
+		case TIME:
+			for (QuantSubstance sub: conj)
+				((Time) currentPlaceTimes.peek()).addTimeSubstance(sub);
+			break;
+		default:
+			break;
+		}
+	}
+
+	private void beginSubstance(int id, Noun noun){
+		TmpSubstance tmp = new TmpSubstance();
+		tmp.id = id;
+		tmp.substance = new Substance(noun);
+		currentSubstances.push(tmp);
+		openBlocks.push(Block.ROLE);
+	}
+
+	private void substanceFound(int id){
+		if (openBlocks.peek() != Block.DISJUNCTION) return;
+		QuantSubstance sub = _players.get(id);
+		if (sub != null) conjunctions.peek().add(sub);
+	}
+
+	private void endSubstance(){
+		closeBlock(Block.ROLE);
+		TmpSubstance tmp = currentSubstances.pop();
+
+		//Here the substance may exist in substances
+		Substance sub = wrapper.nameIndex.resolve(tmp.substance);
+		if (sub != null) {
+			//The known substance is updated in decodeSuccess
+			Substance update = _namedUpdates.get(sub);
+			if (update == null) _namedUpdates.put(sub, tmp.substance);
+			else update.update(tmp.substance);
+		}
+		else sub = Search.getElement(wrapper.substances, tmp.substance);
+		QuantSubstance player = new QuantSubstance(sub);
+		player.setQuantity(tmp.plQuantity);
+		if (tmp.nbrQuantity != null) player.setQuantity(tmp.nbrQuantity);
+
+		for (int i = 0; i < tmp.stateActions.size(); i++){
+			State state = new State();
+			state.addMainAction(tmp.mainActions.get(i));
+			Relation.Relative rel = (tmp.stateAgents.get(i))?
+					Relation.Relative.SUBJECT: Relation.Relative.OBJECT;
+			state.affectState(tmp.stateActions.get(i), player, rel);
+			_states.add(state);
+		}
+
+		for (QuantSubstance relative: tmp.ofRelatives)
+			Relative.affectRelative(player, relative);
+
+		_players.put(tmp.id, player);
+
+		if (openBlocks.peek() == Block.DISJUNCTION)
+			conjunctions.peek().add(player);
+	}
+
+	private TmpSubstance currentSubstance(){
+		if (currentSubstances.isEmpty())
+			throw new MalformedException("No substance is open");
+		return currentSubstances.peek();
+	}
+
+	private Action currentAction(){
+		if (currentActions.isEmpty())
+			throw new MalformedException("No action is open");
+		return currentActions.peek();
+	}
+
+	private void addQuantity(double nbr, Noun unit, boolean cardinal){
+		Quantity quantity = new Quantity(nbr);
+		if (! cardinal) quantity.setOrdinal();
+		if (unit != null) quantity.addUnit(new Substance(unit));
+		currentSubstance().nbrQuantity = quantity;
+	}
+
+	private void addQuantity(Noun unit){
+		Quantity quantity = new Quantity();
+		if (unit != null) quantity.addUnit(new Substance(unit));
+		currentSubstance().plQuantity = quantity;
+	}
+
+	private void addQuality(int synSet, List<Integer> advSynSets){
+		Quality quality = new Quality(new Adjective(synSet));
+		quality.setAdverbsInt(advSynSets);
+		currentSubstance().substance.addQuality(quality);
+	}
+
+	private void addState(boolean isAgent, int stateID){
+		Action stateAction = _actions.get(stateID);
+		if (stateAction == null) return;
+		TmpSubstance tmp = currentSubstance();
+		tmp.stateActions.add(stateAction);
+		tmp.stateAgents.add(isAgent);
+		tmp.mainActions.add(currentActions.peek());
+	}
+
+	private void addRelative(Comparison cmp, Adjective adj, int relID){
+		QuantSubstance relative = _players.get(relID);
+		if (relative == null) return;
+
+		//The mother OF the child
+		if (cmp == null){
+			if (openBlocks.peek() == Block.SUBSTANCE_RELATIVES)
+				currentSubstance().ofRelatives.add(relative);
+			return;
+		}
+
+		if (openBlocks.peek() == Block.ACTION_RELATIVES)
+			Relative.affectRelative(RelativeType.fromComparison(cmp), adj,
+					currentAction(), relative);
+	}
+
+	/**
+	 * Merges the decoded elements into Faris, like FarisParse.parseSuccess
+	 */
+	private void decodeSuccess(){
+
+		for (Map.Entry<Substance, Substance> update: _namedUpdates.entrySet())
+			wrapper.updateSubstance(update.getKey(), update.getValue());
+
+		for(QuantSubstance sub : _players.values()){
+			wrapper.substances.add(sub.getSubstance());
+			wrapper.substanceIndex.add(sub.getSubstance());
+			wrapper.nameIndex.add(sub.getSubstance());
+		}
+
+		HashSet<Action> _mainactions = new HashSet<>();
+		for(int id: _actions.keySet()){
+			//If the action exists, we update the information
+			Action action = _actions.get(id);
+			Action act = wrapper.actionIndex.find(action);
+			if (act == null) act = action;
+			//Its hash changes when updated
+			else wrapper.actions.remove(act);
+			act.update(action);
+			wrapper.actions.add(act);
+			wrapper.actionIndex.add(act);
+			wrapper.timeIndex.add(act);
+			wrapper.placeIndex.add(act);
+
+			if (mainActionsIDs.contains(id)){
+				_mainactions.add(act);
+			}
+		}
+
+		Mind defaultMind = wrapper.minds.get("$");
+		for(Action action: _mainactions){
+			defaultMind.addAction(MentalState.FACT, action);
+		}
+
+		wrapper.states.addAll(_states);
+		for (State state: _states) wrapper.placeIndex.add(state);
+	}
+
+}
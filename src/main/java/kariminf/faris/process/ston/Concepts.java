@@ -1,8 +1,11 @@
 package kariminf.faris.process.ston;
 
-import java.util.ArrayList;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 
 import kariminf.faris.knowledge.Mind.MentalState;
+import kariminf.faris.tools.LexFileTable;
 import kariminf.langpi.wordnet.WNTools;
 import kariminf.sentrep.types.Relation.Adpositional;
 
@@ -16,6 +19,9 @@ public class Concepts {
 	
 	public static final int ALSO = 47534;
 	
+	//year, twelvemonth: a bare number naming it is a year
+	public static final int YEAR = 15203791;
+	
 	
 	public static enum PlaceTime {
 		OTHER,
@@ -23,73 +29,102 @@ public class Concepts {
 		TIME
 	}
 	
-	private static ArrayList<Integer> placeAdv = initPlaceAdv();
-	private static ArrayList<Integer> initPlaceAdv() {
-		ArrayList<Integer> padv = new ArrayList<>();
-		
-		return padv;
+	/**
+	 * The property giving the path of a {@link PlaceTimeTable} file; 
+	 * if it is not set, the default table is used.
+	 */
+	public static final String PLACE_TIME_TABLE_PROPERTY = "faris.placetime";
+	
+	private static volatile PlaceTimeTable placeTimeTable = initPlaceTimeTable();
+	private static PlaceTimeTable initPlaceTimeTable(){
+		String path = System.getProperty(PLACE_TIME_TABLE_PROPERTY);
+		if (path == null) return PlaceTimeTable.defaults();
+		try {
+			return PlaceTimeTable.load(Paths.get(path));
+		} catch (IOException e) {
+			throw new IllegalStateException("Cannot load the place/time table: " + path, e);
+		}
 	}
 	
-	private static ArrayList<Integer> timeAdv = initTimeAdv();
-	private static ArrayList<Integer> initTimeAdv() {
-		ArrayList<Integer> tadv = new ArrayList<>();
-		
-		return tadv;
+	/**
+	 * Replaces the place/time table; the parsers which are running use the new
+	 * one from their next adverb or relative.
+	 * @param table the new table
+	 */
+	public static void setPlaceTimeTable(PlaceTimeTable table){
+		if (table == null) throw new NullPointerException("table");
+		placeTimeTable = table;
+	}
+	
+	/**
+	 * Reloads the place/time table from a file; if it cannot be loaded, 
+	 * the current one is kept.
+	 * @param path the file
+	 * @throws IOException if the file cannot be read or is malformed
+	 */
+	public static void reloadPlaceTimeTable(Path path) throws IOException {
+		setPlaceTimeTable(PlaceTimeTable.load(path));
 	}
 	
-	private static ArrayList<Adpositional> placeAdj = initPlaceAdj();
-	private static ArrayList<Adpositional> initPlaceAdj() {
-		ArrayList<Adpositional> padj = new ArrayList<>();
-		padj.add(Adpositional.INSIDE);
-		padj.add(Adpositional.OUTSIDE);
-		padj.add(Adpositional.BELOW);
-		padj.add(Adpositional.ABOVE);
-		return padj;
+	public static PlaceTimeTable getPlaceTimeTable(){
+		return placeTimeTable;
 	}
 	
-	private static ArrayList<Adpositional> timeAdj = initTimeAdj();
-	private static ArrayList<Adpositional> initTimeAdj() {
-		ArrayList<Adpositional> tadj = new ArrayList<>();
-		tadj.add(Adpositional.PAST);
-		tadj.add(Adpositional.SINCE);
-		return tadj;
+	/**
+	 * The property giving the path of a {@link LexFileTable}; when it is set, 
+	 * the nouns are classified without WordNet.
+	 */
+	public static final String LEX_FILE_TABLE_PROPERTY = "faris.lexfiles";
+	
+	private static volatile LexFileTable lexTable = initLexTable();
+	private static LexFileTable initLexTable(){
+		String path = System.getProperty(LEX_FILE_TABLE_PROPERTY);
+		if (path == null) return null;
+		try {
+			return LexFileTable.map(Paths.get(path));
+		} catch (IOException | IllegalArgumentException e) {
+			throw new IllegalStateException("Cannot load the lex file table: " + path, e);
+		}
 	}
 	
-	private static ArrayList<Adpositional> otherAdj = initOtherAdj();
-	private static ArrayList<Adpositional> initOtherAdj() {
-		ArrayList<Adpositional> oadj = new ArrayList<>();
-		oadj.add(Adpositional.SUBJECT);
-		oadj.add(Adpositional.ACCOMPANY);
-		oadj.add(Adpositional.POSSESSION);
-		oadj.add(Adpositional.ROLE);
-		oadj.add(Adpositional.SITUATION);
-		return oadj;
+	/**
+	 * Uses a precomputed table to classify nouns instead of WordNet
+	 * @param table the table, or null to use WordNet
+	 */
+	public static void setLexFileTable(LexFileTable table){
+		lexTable = table;
 	}
 	
-	private static ArrayList<Integer> timeLex = initTimeLex();
-	private static ArrayList<Integer> initTimeLex() {
-		ArrayList<Integer> tl = new ArrayList<>();
-		tl.add(4); //noun.act	nouns denoting acts or actions
-		tl.add(11); //noun.event	nouns denoting natural events
-		tl.add(28); //noun.time	nouns denoting time and temporal relations
-		return tl;
+	//Recent WordNet lookups
+	private static final LexFileCache lexCache = new LexFileCache(1 << 14);
+	
+	/**
+	 * WordNet is loaded only when this class is used, so it is not loaded 
+	 * at all if there is a lex file table
+	 */
+	private static final class WordNet {
+		static int getLexFileNumber(int nounSynSet){
+			return WNTools.getLexFileNumber(nounSynSet, "NOUN");
+		}
 	}
 	
-	private static ArrayList<Integer> placeLex = initPlaceLex();
-	private static ArrayList<Integer> initPlaceLex() {
-		ArrayList<Integer> pl = new ArrayList<>();
-		pl.add(5); //noun.animal	nouns denoting animals
-		pl.add(6); //noun.artifact	nouns denoting man-made objects
-		pl.add(8); //noun.body	nouns denoting body parts
-		pl.add(13); //noun.food	nouns denoting foods and drinks
-		pl.add(14); //noun.group	nouns denoting groupings of people or objects
-		pl.add(15); //noun.location	nouns denoting spatial position
-		pl.add(17); //noun.object	nouns denoting natural objects (not man-made)
-		pl.add(18); //noun.person	nouns denoting people
-		pl.add(20); //noun.plant	nouns denoting plants
-		pl.add(25); //noun.shape	nouns denoting two and three dimensional shapes
-		pl.add(27); //noun.substance	nouns denoting substances
-		return pl;
+	/**
+	 * The lex file of a noun, from the table if any, else from the cache or from WordNet
+	 * @param nounSynSet the synset of the noun
+	 * @return the lex file number, -1 if not found
+	 */
+	private static int getLexFileNumber(int nounSynSet){
+		LexFileTable table = lexTable;
+		if (table != null) return table.getLexFileNumber(nounSynSet);
+		
+		int lexNum = lexCache.get(nounSynSet);
+		if (lexNum != LexFileCache.ABSENT) return lexNum;
+		
+		//The synsets which are not found are cached too, as -1
+		lexNum = WordNet.getLexFileNumber(nounSynSet);
+		if (lexNum < 0) lexNum = -1;
+		lexCache.put(nounSynSet, lexNum);
+		return lexNum;
 	}
 	
 	public static MentalState getMentalState(int synset){
@@ -108,9 +143,7 @@ public class Concepts {
 	 * @return
 	 */
 	public static PlaceTime getAdverbType(int advSynSet){
-		if (placeAdv.contains(advSynSet)) return PlaceTime.PLACE;
-		if (timeAdv.contains(advSynSet)) return PlaceTime.TIME;
-		return PlaceTime.OTHER;
+		return placeTimeTable.getAdverbType(advSynSet);
 	}
 	
 	/**
@@ -121,41 +154,16 @@ public class Concepts {
 	 */
 	public static PlaceTime getAdjType(Adpositional adp, int nounSySet){
 		
-		if(timeAdj.contains(adp)) return PlaceTime.TIME;
-		if(placeAdj.contains(adp)) return PlaceTime.PLACE;
-		if(otherAdj.contains(adp)) return PlaceTime.OTHER;
+		PlaceTimeTable table = placeTimeTable;
 		
-		/*
-		EXIST, // particular time or location in, at (time, place, situation)
-		SOURCE, //from (time, place, other)
-		DESTINATION, // till, to (time, place, intention: verb)
-		INTENTION, // for (time, intention)
-		BEFORE, //before, in front (time, place)
-		AFTER, //after, behind (time, place)
-		PROXIMITY, //by (time, place)
-		BETWEEN, // place, time, other(between me and you)
-		THROUGH,//place, time
-		*/
+		PlaceTime type = table.getAdpositionType(adp);
+		if (type != null) return type;
 		
-		int lexNum = WNTools.getLexFileNumber(nounSySet, "NOUN");
+		int lexNum = getLexFileNumber(nounSySet);
 		
 		//System.out.println(" LexNum: " + lexNum);
 		
-		if (timeLex.contains(lexNum)) return PlaceTime.TIME;
-		if (placeLex.contains(lexNum)) return PlaceTime.PLACE;
-		
-		// 07	noun.attribute	nouns denoting attributes of people and objects
-		// 09	noun.cognition	nouns denoting cognitive processes and contents
-		// 10	noun.communication	nouns denoting communicative processes and contents
-		// 12	noun.feeling	nouns denoting feelings and emotions
-		// 16	noun.motive	nouns denoting goals
-		// 19	noun.phenomenon	nouns denoting natural phenomena
-		// 21	noun.possession	nouns denoting possession and transfer of possession
-		// 22	noun.process	nouns denoting natural processes
-		// 23	noun.quantity	nouns denoting quantities and units of measure
-		// 24	noun.relation	nouns denoting relations between people or things or ideas
-		// 26	noun.state	nouns denoting stable states of affairs
-		return PlaceTime.OTHER;
+		return table.getLexFileType(lexNum);
 	}
 	
 	
@@ -20,11 +20,16 @@
 
 package kariminf.faris.process.ston;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 
 import kariminf.faris.knowledge.Faris.FarisWrapper;
 import kariminf.faris.knowledge.Mind;
@@ -34,6 +39,7 @@ import kariminf.faris.philosophical.*;
 import kariminf.faris.philosophical.Relative.RelativeType;
 import kariminf.faris.process.ston.Concepts.PlaceTime;
 import kariminf.faris.tools.Search;
+import kariminf.faris.tools.metrics.CachedHistogram;
 import kariminf.sentrep.UnivMap;
 import kariminf.sentrep.ston.Parser;
 import kariminf.sentrep.ston.Ston2UnivMap;
@@ -85,6 +91,12 @@ public class FarisParse extends Parser {
 
 	//pronouns which are pointed to conjunctions of players
 	private HashMap<String, List<String>> _pronouns = new HashMap<>();
+	
+	//pronouns resolved to the IDs they finally point to (see resolvePronoun)
+	private HashMap<String, List<String>> _resolvedPronouns = new HashMap<>();
+	
+	//known substances found by their names, with the qualities they get from this description
+	private IdentityHashMap<Substance, Substance> _namedUpdates = new IdentityHashMap<>();
 
 	private Action currentAction;
 
@@ -111,7 +123,22 @@ public class FarisParse extends Parser {
 
 	private HashSet<String> mainMindsIDs = new HashSet<>();
 
-	private UnivMap uMap = new Ston2UnivMap();
+	//The mapping is stateless, so it is shared by all the parsers
+	private static final UnivMap uMap = new Ston2UnivMap();
+	
+	private static final CachedHistogram MERGE_TIME = new CachedHistogram("ston.merge.time");
+	
+	//One parser per thread, reused from a document to another
+	private static final ThreadLocal<FarisParse> parsers = 
+			ThreadLocal.withInitial(() -> new FarisParse(null));
+	private static final ThreadLocal<FarisParse> tracedParsers = 
+			ThreadLocal.withInitial(() -> new TracedFarisParse(null));
+	
+	//true between acquire and release
+	private boolean acquired = false;
+	
+	//Created on the first call of read
+	private StonReader reader;
 
 	String proleID = "";
 	Pronoun currentPronoun = null;
@@ -126,6 +153,76 @@ public class FarisParse extends Parser {
 	public FarisParse(FarisWrapper wrapper){
 		this.wrapper = wrapper;
 	}
+	
+	/**
+	 * Gets the parser of the current thread, ready to parse a new document. 
+	 * It is a {@link TracedFarisParse} when {@link ParseTracer} is enabled. 
+	 * If the thread's parser is already in use, a new one is created.
+	 * @param wrapper the wrapper of the Faris where the document will be added
+	 * @return a parser which must be given back using {@link #release()}
+	 */
+	public static FarisParse acquire(FarisWrapper wrapper){
+		FarisParse parser = (ParseTracer.isEnabled()? tracedParsers: parsers).get();
+		if (parser.acquired)
+			parser = ParseTracer.isEnabled()? 
+					new TracedFarisParse(wrapper): new FarisParse(wrapper);
+		parser.reset(wrapper);
+		parser.acquired = true;
+		return parser;
+	}
+	
+	/**
+	 * Gives the parser back after parsing, so it can be reused by the thread. 
+	 * It doesn't keep any reference to the parsed document or to the Faris.
+	 */
+	public void release(){
+		reset(null);
+		acquired = false;
+	}
+	
+	/**
+	 * Parses a STON description using {@link StonReader}, instead of the parser 
+	 * of sentrep ({@link #parse(String)})
+	 * @param description the STON description
+	 * @return true if the description has been parsed
+	 */
+	public boolean read(CharSequence description){
+		if (reader == null) reader = new StonReader();
+		return reader.read(description, this);
+	}
+	
+	/**
+	 * Clears the state of the last parsed document, so the parser can be reused.
+	 * The maps and sets are cleared and not reallocated; the list of conjunctions 
+	 * being read is replaced, since it is handed to the clauses while parsing.
+	 * @param wrapper the wrapper of the Faris where the next document will be added
+	 */
+	public void reset(FarisWrapper wrapper){
+		this.wrapper = wrapper;
+		
+		subsRel.clear();
+		_players.clear();
+		_pronouns.clear();
+		_resolvedPronouns.clear();
+		_namedUpdates.clear();
+		_states.clear();
+		_actions.clear();
+		_minds.clear();
+		mainActionsIDs.clear();
+		mainMindsIDs.clear();
+		
+		currentPlayer = null;
+		currentAction = null;
+		currentActionID = null;
+		currentPlayerID = null;
+		s = MentalState.FACT;
+		disj = new ArrayList<>();
+		mainActDisj = null;
+		secActDisj = null;
+		RelDisj = null;
+		proleID = "";
+		currentPronoun = null;
+	}
 
 
 	//=====================================================================
@@ -166,23 +263,65 @@ public class FarisParse extends Parser {
 		List<QuantSubstance> result = new ArrayList<>();
 		for (String roleID: IDs)
 			if (_players.containsKey(roleID)){
-				QuantSubstance role = _players.get(roleID);
-				result.add(role);
-				if (_states.containsKey(roleID)){
-					List<State> states = _states.get(roleID);
-					for (State state: states)
-						state.addMainAction(currentAction);
-				} else if (subsRel.containsKey(roleID))
-					for (TmpRelative tmpRel: subsRel.get(roleID))
-						tmpRel.state.addMainAction(currentAction);
+				addSubstance(roleID, result);
 			} else if (_pronouns.containsKey(roleID)){
-				List<QuantSubstance> result2 =
-						getSubstances(_pronouns.get(roleID));
-				if (! result2.isEmpty())
-					result.addAll(result2);
+				for (String refID: resolvePronoun(roleID))
+					if (_players.containsKey(refID))
+						addSubstance(refID, result);
 			}
 		return result;
 	}//getSubstances
+	
+	private void addSubstance(String roleID, List<QuantSubstance> result){
+		QuantSubstance role = _players.get(roleID);
+		result.add(role);
+		if (_states.containsKey(roleID)){
+			List<State> states = _states.get(roleID);
+			for (State state: states)
+				state.addMainAction(currentAction);
+		} else if (subsRel.containsKey(roleID))
+			for (TmpRelative tmpRel: subsRel.get(roleID))
+				tmpRel.state.addMainAction(currentAction);
+	}
+	
+	/**
+	 * Resolves a pronoun to the IDs it finally points to (players, or unknown IDs), 
+	 * following the pronouns pointing to pronouns. The result is cached, so a pronoun 
+	 * is resolved once per document, and a cycle of pronouns is not followed twice.
+	 * @param pronounID the ID of a pronoun
+	 * @return the IDs, without duplicates; empty if it is not a pronoun
+	 */
+	List<String> resolvePronoun(String pronounID){
+		List<String> result = _resolvedPronouns.get(pronounID);
+		if (result != null) return result;
+		if (! _pronouns.containsKey(pronounID)) return Collections.emptyList();
+		
+		LinkedHashSet<String> found = new LinkedHashSet<>();
+		HashSet<String> visited = new HashSet<>();
+		ArrayDeque<String> stack = new ArrayDeque<>();
+		visited.add(pronounID);
+		pushReversed(stack, _pronouns.get(pronounID));
+		while (! stack.isEmpty()){
+			String id = stack.pop();
+			if (! visited.add(id)) continue;
+			if (_players.containsKey(id) || ! _pronouns.containsKey(id)){
+				found.add(id);
+				continue;
+			}
+			//Already resolved pronouns are complete: no need to go through them
+			List<String> resolved = _resolvedPronouns.get(id);
+			if (resolved != null) found.addAll(resolved);
+			else pushReversed(stack, _pronouns.get(id));
+		}
+		
+		result = new ArrayList<>(found);
+		_resolvedPronouns.put(pronounID, result);
+		return result;
+	}
+	
+	private static void pushReversed(ArrayDeque<String> stack, List<String> IDs){
+		for (int i = IDs.size() - 1; i >= 0; i--) stack.push(IDs.get(i));
+	}
 
 
 	/**
@@ -621,9 +760,8 @@ public class FarisParse extends Parser {
 			return;
 		}
 
-		Substance sub = Search.getElement(wrapper.substances, new Substance(synSet));
-
-		currentPlayer = new QuantSubstance(sub);
+		//The substance is resolved at the end of the role, when its name is known
+		currentPlayer = new QuantSubstance(new Substance(synSet));
 		_players.put(id, currentPlayer);
 
 		currentPlayerID = id;
@@ -649,6 +787,7 @@ public class FarisParse extends Parser {
 		currentPlayerID = null;
 
 		if (currentPronoun != null){
+			if (synSet > 0) resolvePlayer(id);
 			switch (currentPronoun.getHead()) {
 
 			case POSSESSIVE:
@@ -659,7 +798,7 @@ public class FarisParse extends Parser {
 				//delete id from pronouns
 				//System.out.println("OF pronoun");
 				if (_pronouns.containsKey(id)){
-					for (String relID: _pronouns.get(id)){
+					for (String relID: resolvePronoun(id)){
 						if (_players.containsKey(relID)){
 							Relative.affectRelative(currentPlayer, _players.get(relID));
 						}
@@ -686,18 +825,34 @@ public class FarisParse extends Parser {
 			return;
 		}
 
-		//Here the role may exists in substances
-		Substance sub = Search.getElement(wrapper.substances, currentPlayer.getSubstance());
+		resolvePlayer(id);
+
+		currentPlayer = null;
+
+	}//endRole
+	
+	/**
+	 * Replaces the substance of the current player by the known one, if any
+	 * @param id the ID of the player
+	 */
+	private void resolvePlayer(String id){
+		//Here the role may exists in substances: by its name, or else by its noun 
+		//and qualities
+		Substance sub = wrapper.nameIndex.resolve(currentPlayer.getSubstance());
+		if (sub != null) {
+			//The known substance is updated in parseSuccess
+			Substance update = _namedUpdates.get(sub);
+			if (update == null) _namedUpdates.put(sub, currentPlayer.getSubstance());
+			else update.update(currentPlayer.getSubstance());
+		}
+		else sub = Search.getElement(wrapper.substances, currentPlayer.getSubstance());
 
 		//When the substance is found in the set of substances
 		if (sub != currentPlayer.getSubstance()){
 			currentPlayer = QuantSubstance.withNewSubstance(currentPlayer, sub);
 			_players.put(id, currentPlayer);
 		}
-
-		currentPlayer = null;
-
-	}//endRole
+	}
 
 
 	@Override
@@ -751,7 +906,7 @@ public class FarisParse extends Parser {
 			return;
 		}
 		
-		for (String relID: _pronouns.get(currentPlayerID)){
+		for (String relID: resolvePronoun(currentPlayerID)){
 			if (_players.containsKey(relID)){
 				_players.get(relID).getSubstance().addQuality(quality);
 			}
@@ -776,6 +931,8 @@ public class FarisParse extends Parser {
 		if(disj.isEmpty() || disj.get(0).isEmpty()) return;
 
 		_pronouns.put(proleID, disj.get(0));
+		//The pronouns resolved before may point to this one
+		_resolvedPronouns.clear();
 
 		disj = null;
 		//TODO when we have a disjunction of players
@@ -919,9 +1076,16 @@ public class FarisParse extends Parser {
 
 	@Override
 	protected void parseSuccess() {
+		
+		long start = System.nanoTime();
+
+		for (Map.Entry<Substance, Substance> update: _namedUpdates.entrySet())
+			wrapper.updateSubstance(update.getKey(), update.getValue());
 
 		for(QuantSubstance sub : _players.values()){	
 			wrapper.substances.add(sub.getSubstance());
+			wrapper.substanceIndex.add(sub.getSubstance());
+			wrapper.nameIndex.add(sub.getSubstance());
 		}
 
 
@@ -929,9 +1093,15 @@ public class FarisParse extends Parser {
 		for(String id: _actions.keySet()){
 			//If the action exists, we update the information 
 			Action action = _actions.get(id);
-			Action act = Search.getElement(wrapper.actions, action);
+			Action act = wrapper.actionIndex.find(action);
+			if (act == null) act = action;
+			//Its hash changes when updated
+			else wrapper.actions.remove(act);
 			act.update(action);
 			wrapper.actions.add(act);
+			wrapper.actionIndex.add(act);
+			wrapper.timeIndex.add(act);
+			wrapper.placeIndex.add(act);
 
 			if (mainActionsIDs.contains(id)){
 				_mainactions.add(act);
@@ -951,6 +1121,7 @@ public class FarisParse extends Parser {
 
 		for(List<State> states: _states.values()){
 			wrapper.states.addAll(states);
+			for (State state: states) wrapper.placeIndex.add(state);
 		}
 
 
@@ -970,6 +1141,8 @@ public class FarisParse extends Parser {
 				}
 			}
 		}
+		
+		MERGE_TIME.record(System.nanoTime() - start);
 
 	}//parseSuccess
 
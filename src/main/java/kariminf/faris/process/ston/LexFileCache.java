@@ -0,0 +1,77 @@
+/* FARIS : Factual Arrangement and Representation of Ideas in Sentences
+ * FAris : Farabi & Aristotle
+ * Faris : A knight (in Arabic)
+ * --------------------------------------------------------------------
+ * Copyright (C) 2017 Abdelkrime Aries (kariminfo0@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package kariminf.faris.process.ston;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A bounded cache of the lexicographer files of noun synsets. <br>
+ * It is a direct-mapped table: each synset has one slot, and a new synset
+ * replaces the old one of its slot. A slot holds the synset and its lex file
+ * in one long, so the cache can be read and written by many threads without locks
+ * and without allocation.
+ *
+ */
+final class LexFileCache {
+
+	/**
+	 * Returned by {@link #get(int)} when the synset is not in the cache
+	 */
+	static final int ABSENT = -2;
+
+	private final AtomicLongArray slots;
+	private final int mask;
+
+	/**
+	 * @param size the number of slots; it is rounded up to a power of two
+	 */
+	LexFileCache(int size){
+		int capacity = Integer.highestOneBit(Math.max(1, size - 1)) << 1;
+		slots = new AtomicLongArray(capacity);
+		mask = capacity - 1;
+	}
+
+	private int slot(int synSet){
+		int h = synSet * 0x9E3779B9;
+		return (h ^ (h >>> 16)) & mask;
+	}
+
+	/**
+	 * @param synSet a noun synset
+	 * @return its lex file number, -1 if it has none, 
+	 * or {@link #ABSENT} if it is not in the cache
+	 */
+	int get(int synSet){
+		long entry = slots.get(slot(synSet));
+		//0 is an empty slot; the lex file is stored plus two, so -1 can be cached
+		if ((int) entry == 0 || (int) (entry >>> 32) != synSet) return ABSENT;
+		return (int) entry - 2;
+	}
+
+	/**
+	 * @param synSet a noun synset
+	 * @param lexNum its lex file number, or -1 if it has none
+	 */
+	void put(int synSet, int lexNum){
+		if (lexNum < 0) lexNum = -1;
+		slots.lazySet(slot(synSet), ((long) synSet << 32) | ((lexNum + 2) & 0xFFFFFFFFL));
+	}
+
+}
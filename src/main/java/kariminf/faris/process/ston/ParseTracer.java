@@ -0,0 +1,239 @@
+/* FARIS : Factual Arrangement and Representation of Ideas in Sentences
+ * FAris : Farabi & Aristotle
+ * Faris : A knight (in Arabic)
+ * --------------------------------------------------------------------
+ * Copyright (C) 2017 Abdelkrime Aries (kariminfo0@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package kariminf.faris.process.ston;
+
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * An optional tracer of the time spent in the callbacks of {@link FarisParse}. <br>
+ * When it is enabled, Faris parses using {@link TracedFarisParse}; so when it is
+ * disabled, parsing costs nothing more. During tracing, each thread records 
+ * (document, phase, duration) in its own ring buffer; when the buffer is full, 
+ * the oldest records are overwritten. <br>
+ * The records can be dumped in the folded format used by flame graph tools
+ * (one line per stack with its time in nanoseconds):
+ * <pre>
+ * ParseTracer.enable();
+ * faris.addStonDescription(description);
+ * ParseTracer.dumpFolded(System.out, false);
+ * </pre>
+ * The dump is made while the other threads may be parsing, so it can miss
+ * their last records.
+ *
+ */
+public final class ParseTracer {
+
+	/**
+	 * The traced callbacks; PARSE is the whole document
+	 */
+	public static enum Phase {
+		PARSE("parse"),
+		BEGIN_ACTION("beginAction"),
+		END_ACTION("endAction"),
+		VERB_SPECIF("addVerbSpecif"),
+		ACTION_ADVERB("addActionAdverb"),
+		BEGIN_AGENTS("beginAgents"),
+		END_AGENTS("endAgents"),
+		BEGIN_THEMES("beginThemes"),
+		END_THEMES("endThemes"),
+		BEGIN_COMPARISON("beginComparison"),
+		END_COMPARISON("endComparison"),
+		BEGIN_ROLE("beginRole"),
+		END_ROLE("endRole"),
+		ROLE_SPECIF("addRoleSpecif"),
+		ADJECTIVE("addAdjective"),
+		BEGIN_PRELATIVES("beginPRelatives"),
+		END_PRELATIVES("endPRelatives"),
+		BEGIN_SENTENCE("beginSentence"),
+		END_SENTENCE("endSentence"),
+		BEGIN_ACTIONS("beginActions"),
+		END_ACTIONS("endActions"),
+		CONJUNCTIONS("addConjunctions"),
+		BEGIN_RELATIVE("beginRelative"),
+		END_RELATIVE("endRelative"),
+		PARSE_SUCCESS("parseSuccess");
+
+		private final String frame;
+
+		private Phase(String frame){
+			this.frame = frame;
+		}
+
+		/**
+		 * @return the name of the frame in a flame graph
+		 */
+		public String getFrame(){
+			return frame;
+		}
+	}
+
+	/**
+	 * The number of records kept by each thread
+	 */
+	public static final int CAPACITY = 1 << 14;
+
+	private static final Phase[] PHASES = Phase.values();
+
+	/**
+	 * The records of one thread
+	 */
+	private static final class Ring {
+		final String thread = Thread.currentThread().getName();
+		final long[] documents = new long[CAPACITY];
+		final byte[] phases = new byte[CAPACITY];
+		final long[] durations = new long[CAPACITY];
+		//the number of written records; volatile to publish them to the dump
+		volatile long position = 0;
+		long document = 0;
+
+		void add(Phase phase, long duration){
+			int i = (int) (position & (CAPACITY - 1));
+			documents[i] = document;
+			phases[i] = (byte) phase.ordinal();
+			durations[i] = duration;
+			position++;
+		}
+	}
+
+	private static volatile boolean enabled = false;
+
+	private static final List<Ring> rings = new CopyOnWriteArrayList<>();
+
+	private static final ThreadLocal<Ring> ring = ThreadLocal.withInitial(() -> {
+		Ring result = new Ring();
+		rings.add(result);
+		return result;
+	});
+
+	private ParseTracer(){}
+
+	public static void enable(){
+		enabled = true;
+	}
+
+	public static void disable(){
+		enabled = false;
+	}
+
+	public static boolean isEnabled(){
+		return enabled;
+	}
+
+	/**
+	 * Deletes all the records. The threads which are parsing must be stopped.
+	 */
+	public static void reset(){
+		for (Ring r: rings){
+			r.position = 0;
+			r.document = 0;
+		}
+	}
+
+	//=====================================================================
+	//========================== RECORDING ================================
+	//=====================================================================
+
+	/**
+	 * Called at the beginning of a callback
+	 * @return the start time, or 0 if the tracer is disabled
+	 */
+	static long start(){
+		if (! enabled) return 0L;
+		long time = System.nanoTime();
+		return (time == 0L)? 1L: time;
+	}
+
+	/**
+	 * Called at the end of a callback
+	 * @param phase the callback
+	 * @param start the value returned by {@link #start()}
+	 */
+	static void end(Phase phase, long start){
+		if (start == 0L) return;
+		ring.get().add(phase, System.nanoTime() - start);
+	}
+
+	/**
+	 * Called at the beginning of a document
+	 * @return the start time, or 0 if the tracer is disabled
+	 */
+	static long startDocument(){
+		if (! enabled) return 0L;
+		ring.get().document++;
+		return start();
+	}
+
+	//=====================================================================
+	//============================ DUMPING ================================
+	//=====================================================================
+
+	/**
+	 * The total time per phase, for all the recorded documents
+	 * @return the durations in nanoseconds
+	 */
+	public static Map<Phase, Long> totals(){
+		EnumMap<Phase, Long> result = new EnumMap<>(Phase.class);
+		for (Ring r: rings){
+			long end = r.position;
+			for (long p = Math.max(0, end - CAPACITY); p < end; p++){
+				int i = (int) (p & (CAPACITY - 1));
+				result.merge(PHASES[r.phases[i]], r.durations[i], Long::sum);
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Writes the records in folded stacks format: "parse;endRole 1234". 
+	 * The time of "parse" alone is what is not spent in the callbacks (the sentrep parser).
+	 * @param out where to write
+	 * @param perDocument if true, the stacks begin with the document "thread#n"
+	 * @throws IOException if it cannot be written
+	 */
+	public static void dumpFolded(Appendable out, boolean perDocument) throws IOException {
+		TreeMap<String, Long> stacks = new TreeMap<>();
+		for (Ring r: rings){
+			long end = r.position;
+			for (long p = Math.max(0, end - CAPACITY); p < end; p++){
+				int i = (int) (p & (CAPACITY - 1));
+				Phase phase = PHASES[r.phases[i]];
+				String root = perDocument? r.thread + "#" + r.documents[i] + ";": "";
+				String parse = root + Phase.PARSE.frame;
+				if (phase == Phase.PARSE){
+					stacks.merge(parse, r.durations[i], Long::sum);
+				} else {
+					stacks.merge(parse + ";" + phase.frame, r.durations[i], Long::sum);
+					//the self time of parse
+					stacks.merge(parse, -r.durations[i], Long::sum);
+				}
+			}
+		}
+
+		for (Map.Entry<String, Long> e: stacks.entrySet())
+			if (e.getValue() > 0)
+				out.append(e.getKey()).append(' ').append(e.getValue().toString()).append('\n');
+	}
+
+}
@@ -0,0 +1,252 @@
+/* FARIS : Factual Arrangement and Representation of Ideas in Sentences
+ * FAris : Farabi & Aristotle
+ * Faris : A knight (in Arabic)
+ * --------------------------------------------------------------------
+ * Copyright (C) 2017 Abdelkrime Aries (kariminfo0@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package kariminf.faris.process.ston;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.Map;
+
+import kariminf.faris.process.ston.Concepts.PlaceTime;
+import kariminf.faris.tools.IntHashSet;
+import kariminf.sentrep.types.Relation.Adpositional;
+
+/**
+ * The tables used to know if an adverb or a relative is a place or a time. <br>
+ * A table is not modified once created, so it can be replaced while parsing
+ * (see {@link Concepts#setPlaceTimeTable(PlaceTimeTable)}). It can be loaded from
+ * a text file with a line per entry; some of the entries of the default table:
+ * <pre>
+ * # type  kind        value
+ * place   adposition  INSIDE
+ * time    adposition  PAST
+ * other   adposition  SUBJECT
+ * place   lexfile     15
+ * time    lexfile     28
+ * </pre>
+ * An adposition which is not in the table is classified using the lex file
+ * of its noun. <br>
+ * The adverbs are given by their synset ("time adverb &lt;synset&gt;"). The default 
+ * table has none, so every adverb is OTHER unless a loaded table classifies it.
+ *
+ */
+public final class PlaceTimeTable {
+
+	private final IntHashSet placeAdverbs = new IntHashSet();
+	private final IntHashSet timeAdverbs = new IntHashSet();
+
+	private final EnumMap<Adpositional, PlaceTime> adpositions = new EnumMap<>(Adpositional.class);
+
+	//Lex file numbers are less than 64, so a set of them is a bitmask
+	private long placeLex = 0L;
+	private long timeLex = 0L;
+
+	private PlaceTimeTable(){}
+
+	/**
+	 * @return an empty table: everything is OTHER
+	 */
+	public static PlaceTimeTable empty(){
+		return new PlaceTimeTable();
+	}
+
+	/**
+	 * @return the table used when none is configured; it classifies the 
+	 * adpositions and the lex files, but no adverb
+	 */
+	public static PlaceTimeTable defaults(){
+		PlaceTimeTable table = new PlaceTimeTable();
+
+		table.adpositions.put(Adpositional.INSIDE, PlaceTime.PLACE);
+		table.adpositions.put(Adpositional.OUTSIDE, PlaceTime.PLACE);
+		table.adpositions.put(Adpositional.BELOW, PlaceTime.PLACE);
+		table.adpositions.put(Adpositional.ABOVE, PlaceTime.PLACE);
+
+		table.adpositions.put(Adpositional.PAST, PlaceTime.TIME);
+		table.adpositions.put(Adpositional.SINCE, PlaceTime.TIME);
+
+		table.adpositions.put(Adpositional.SUBJECT, PlaceTime.OTHER);
+		table.adpositions.put(Adpositional.ACCOMPANY, PlaceTime.OTHER);
+		table.adpositions.put(Adpositional.POSSESSION, PlaceTime.OTHER);
+		table.adpositions.put(Adpositional.ROLE, PlaceTime.OTHER);
+		table.adpositions.put(Adpositional.SITUATION, PlaceTime.OTHER);
+
+		/*
+		EXIST, // particular time or location in, at (time, place, situation)
+		SOURCE, //from (time, place, other)
+		DESTINATION, // till, to (time, place, intention: verb)
+		INTENTION, // for (time, intention)
+		BEFORE, //before, in front (time, place)
+		AFTER, //after, behind (time, place)
+		PROXIMITY, //by (time, place)
+		BETWEEN, // place, time, other(between me and you)
+		THROUGH,//place, time
+		*/
+
+		table.addLexFile(PlaceTime.TIME, 4); //noun.act	nouns denoting acts or actions
+		table.addLexFile(PlaceTime.TIME, 11); //noun.event	nouns denoting natural events
+		table.addLexFile(PlaceTime.TIME, 28); //noun.time	nouns denoting time and temporal relations
+
+		table.addLexFile(PlaceTime.PLACE, 5); //noun.animal	nouns denoting animals
+		table.addLexFile(PlaceTime.PLACE, 6); //noun.artifact	nouns denoting man-made objects
+		table.addLexFile(PlaceTime.PLACE, 8); //noun.body	nouns denoting body parts
+		table.addLexFile(PlaceTime.PLACE, 13); //noun.food	nouns denoting foods and drinks
+		table.addLexFile(PlaceTime.PLACE, 14); //noun.group	nouns denoting groupings of people or objects
+		table.addLexFile(PlaceTime.PLACE, 15); //noun.location	nouns denoting spatial position
+		table.addLexFile(PlaceTime.PLACE, 17); //noun.object	nouns denoting natural objects (not man-made)
+		table.addLexFile(PlaceTime.PLACE, 18); //noun.person	nouns denoting people
+		table.addLexFile(PlaceTime.PLACE, 20); //noun.plant	nouns denoting plants
+		table.addLexFile(PlaceTime.PLACE, 25); //noun.shape	nouns denoting two and three dimensional shapes
+		table.addLexFile(PlaceTime.PLACE, 27); //noun.substance	nouns denoting substances
+
+		// 07	noun.attribute	nouns denoting attributes of people and objects
+		// 09	noun.cognition	nouns denoting cognitive processes and contents
+		// 10	noun.communication	nouns denoting communicative processes and contents
+		// 12	noun.feeling	nouns denoting feelings and emotions
+		// 16	noun.motive	nouns denoting goals
+		// 19	noun.phenomenon	nouns denoting natural phenomena
+		// 21	noun.possession	nouns denoting possession and transfer of possession
+		// 22	noun.process	nouns denoting natural processes
+		// 23	noun.quantity	nouns denoting quantities and units of measure
+		// 24	noun.relation	nouns denoting relations between people or things or ideas
+		// 26	noun.state	nouns denoting stable states of affairs
+
+		return table;
+	}
+
+	/**
+	 * Loads a table from a text file
+	 * @param path the file
+	 * @return the table
+	 * @throws IOException if the file cannot be read or is malformed
+	 */
+	public static PlaceTimeTable load(Path path) throws IOException {
+		try (BufferedReader input = Files.newBufferedReader(path, StandardCharsets.UTF_8)){
+			return load(input);
+		}
+	}
+
+	/**
+	 * Loads a table from a text
+	 * @param input the text
+	 * @return the table
+	 * @throws IOException if the text cannot be read or is malformed
+	 */
+	public static PlaceTimeTable load(BufferedReader input) throws IOException {
+		PlaceTimeTable table = new PlaceTimeTable();
+		int lineNumber = 0;
+		for(String line = input.readLine(); line != null; line = input.readLine()) {
+			lineNumber++;
+			int comment = line.indexOf('#');
+			if (comment >= 0) line = line.substring(0, comment);
+			line = line.trim();
+			if (line.isEmpty()) continue;
+
+			String[] fields = line.split("\\s+");
+			if (fields.length != 3)
+				throw new IOException("Line " + lineNumber + ": expected <type> <kind> <value>");
+
+			try {
+				table.add(PlaceTime.valueOf(fields[0].toUpperCase()), fields[1].toLowerCase(), fields[2]);
+			} catch (IllegalArgumentException e) {
+				throw new IOException("Line " + lineNumber + ": " + e.getMessage(), e);
+			}
+		}
+		return table;
+	}
+
+	private void add(PlaceTime type, String kind, String value){
+		switch (kind){
+		case "adverb":
+			int synSet = Integer.parseInt(value);
+			if (type == PlaceTime.PLACE) placeAdverbs.add(synSet);
+			else if (type == PlaceTime.TIME) timeAdverbs.add(synSet);
+			break;
+		case "adposition":
+			adpositions.put(Adpositional.valueOf(value.toUpperCase()), type);
+			break;
+		case "lexfile":
+			addLexFile(type, Integer.parseInt(value));
+			break;
+		default:
+			throw new IllegalArgumentException("Unknown kind: " + kind);
+		}
+	}
+
+	private void addLexFile(PlaceTime type, int lexNum){
+		if (lexNum < 0 || lexNum >= Long.SIZE)
+			throw new IllegalArgumentException("Not a lex file: " + lexNum);
+		if (type == PlaceTime.PLACE) placeLex |= 1L << lexNum;
+		else if (type == PlaceTime.TIME) timeLex |= 1L << lexNum;
+	}
+
+	/**
+	 * Writes the table in the format read by {@link #load(BufferedReader)}
+	 * @param out where to write
+	 * @throws IOException if it cannot be written
+	 */
+	public void write(Appendable out) throws IOException {
+		for (int synSet: placeAdverbs.toArray()) out.append("place adverb " + synSet + "\n");
+		for (int synSet: timeAdverbs.toArray()) out.append("time adverb " + synSet + "\n");
+		for (Map.Entry<Adpositional, PlaceTime> e: adpositions.entrySet())
+			out.append(e.getValue().name().toLowerCase() + " adposition " + e.getKey() + "\n");
+		for (int lexNum = 0; lexNum < Long.SIZE; lexNum++){
+			if ((placeLex & (1L << lexNum)) != 0) out.append("place lexfile " + lexNum + "\n");
+			if ((timeLex & (1L << lexNum)) != 0) out.append("time lexfile " + lexNum + "\n");
+		}
+	}
+
+	//=====================================================================
+	//======================== CLASSIFICATION =============================
+	//=====================================================================
+
+	/**
+	 * @param advSynSet the synset of an adverb
+	 * @return its type
+	 */
+	public PlaceTime getAdverbType(int advSynSet){
+		if (placeAdverbs.contains(advSynSet)) return PlaceTime.PLACE;
+		if (timeAdverbs.contains(advSynSet)) return PlaceTime.TIME;
+		return PlaceTime.OTHER;
+	}
+
+	/**
+	 * @param adp an adposition
+	 * @return its type, or null if it depends on the noun
+	 */
+	public PlaceTime getAdpositionType(Adpositional adp){
+		return adpositions.get(adp);
+	}
+
+	/**
+	 * @param lexNum the lex file number of a noun
+	 * @return the type of the noun
+	 */
+	public PlaceTime getLexFileType(int lexNum){
+		if (lexNum < 0 || lexNum >= Long.SIZE) return PlaceTime.OTHER;
+		if ((timeLex & (1L << lexNum)) != 0) return PlaceTime.TIME;
+		if ((placeLex & (1L << lexNum)) != 0) return PlaceTime.PLACE;
+		return PlaceTime.OTHER;
+	}
+
+}
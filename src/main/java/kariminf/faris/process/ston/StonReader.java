@@ -0,0 +1,691 @@
+/* FARIS : Factual Arrangement and Representation of Ideas in Sentences
+ * FAris : Farabi & Aristotle
+ * Faris : A knight (in Arabic)
+ * --------------------------------------------------------------------
+ * Copyright (C) 2017 Abdelkrime Aries (kariminfo0@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package kariminf.faris.process.ston;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A reader of STON descriptions which calls the callbacks of {@link FarisParse}
+ * directly, without going through the parser of sentrep. <br>
+ * It works on the characters of the description: the keys and values of an element 
+ * are kept as offsets, the nested blocks (adjectives, relatives, ...) are skipped and 
+ * read when the element is dispatched, and the IDs are shared by a table of symbols. 
+ * A role can contain adjectives and relatives, and an action adverbs, comparisons and 
+ * relatives; any other block (an unknown one, or one inside a nested element) 
+ * is a syntax error, so nothing of the description is dropped silently. 
+ * The only objects created are those passed to the callbacks. <br>
+ * The blocks are read in this order, whatever their order in the description: 
+ * the roles, the actions then the sentences. The callbacks of an element are called 
+ * in this order:
+ * <ul>
+ * <li>role: beginRole, addRoleSpecif (if it has a synset), the pronoun relatives, 
+ * the adjectives, the relatives, endRole</li>
+ * <li>action: beginAction, addVerbSpecif, the adverbs, the agents, the themes, 
+ * the comparisons, the relatives, endAction</li>
+ * <li>sentence: beginSentence, the main actions, endSentence</li>
+ * </ul>
+ * A malformed element calls the failure callback of its kind (roleFailure, ...); 
+ * the element is skipped if it returns true, and the parsing fails otherwise. 
+ * A syntax error makes the parsing fail, after calling parseFailure. 
+ * A reader is not thread safe; {@link FarisParse#read(CharSequence)} uses its own.
+ *
+ */
+public class StonReader {
+
+	//The keys known by the reader; an element keeps the offsets of their values
+	private static final String[] KEYS = {"id", "syn", "nam", "def", "qnt", "typ", "ref", 
+			"tns", "mod", "prg", "prf", "neg", "agt", "thm", "act", "adv", "adj"};
+	private static final int ID = 0, SYN = 1, NAM = 2, DEF = 3, QNT = 4, TYP = 5, REF = 6, 
+			TNS = 7, MOD = 8, PRG = 9, PRF = 10, NEG = 11, AGT = 12, THM = 13, ACT = 14, 
+			ADV = 15, ADJ = 16;
+
+	//The blocks, and the elements they contain, having the same name
+	private static final String[] BLOCKS = {"r", "act", "st", "adj", "rel", "adv", "cmp"};
+	private static final int ROLES = 0, ACTIONS = 1, SENTENCES = 2, 
+			ADJECTIVES = 3, RELATIVES = 4, ADVERBS = 5, COMPARISONS = 6;
+
+	//The nested blocks each kind of element can contain, as bits of their kinds
+	private static final int[] NESTED = {
+			1 << ADJECTIVES | 1 << RELATIVES, 
+			1 << ADVERBS | 1 << COMPARISONS | 1 << RELATIVES, 
+			0, 0, 0, 0, 0};
+
+	//The nested blocks are kept after the keys
+	private static final int SLOTS = KEYS.length + BLOCKS.length;
+
+	//The symbols table is cleared when it reaches this size
+	private static final int MAX_SYMBOLS = 1 << 14;
+
+	/**
+	 * The offsets of the keys of an element
+	 */
+	private static final class Element {
+		final int[] start = new int[SLOTS];
+		final int[] end = new int[SLOTS];
+
+		void clear(){
+			Arrays.fill(start, -1);
+		}
+
+		boolean has(int slot){
+			return start[slot] >= 0;
+		}
+	}
+
+	/**
+	 * A syntax error, or a failure which stops the parsing
+	 */
+	private static class StonException extends RuntimeException {
+		private static final long serialVersionUID = 1L;
+
+		StonException(String message) {
+			super(message, null, false, false);
+		}
+	}
+
+	//The elements of the top blocks (roles, actions, sentences), and the nested ones
+	private final Element outer = new Element();
+	private final Element inner = new Element();
+
+	private String[] symbols = new String[256];
+	private int symbolsCount = 0;
+
+	private CharSequence text;
+	private int pos;
+	private int limit;
+	private FarisParse parse;
+
+	private String error;
+
+	/**
+	 * Reads a STON description and calls the callbacks of a parser
+	 * @param description the STON description
+	 * @param parse the parser receiving the callbacks
+	 * @return true if the description has been parsed; parseSuccess has been called
+	 */
+	public boolean read(CharSequence description, FarisParse parse){
+		this.text = description;
+		this.parse = parse;
+		error = null;
+		try {
+			readDocument();
+		} catch (StonException e){
+			error = e.getMessage();
+			parse.parseFailure();
+			return false;
+		} finally {
+			this.text = null;
+			this.parse = null;
+		}
+
+		parse.parseSuccess();
+		return true;
+	}
+
+	/**
+	 * Reads a STON description encoded in UTF-8. 
+	 * The position of the buffer is not changed.
+	 * @param description the bytes of the STON description
+	 * @param parse the parser receiving the callbacks
+	 * @return true if the description has been parsed
+	 */
+	public boolean read(ByteBuffer description, FarisParse parse){
+		return read(StandardCharsets.UTF_8.decode(description.duplicate()), parse);
+	}
+
+	/**
+	 * @return the cause of the last failure, or null if the last description was parsed
+	 */
+	public String getError(){
+		return error;
+	}
+
+	//=====================================================================
+	//=========================== DOCUMENT ================================
+	//=====================================================================
+
+	private void readDocument(){
+		pos = 0;
+		limit = text.length();
+
+		int[] blockStart = {-1, -1, -1};
+		int[] blockEnd = new int[3];
+
+		skipSpace();
+		while (pos < limit){
+			expect('@');
+			int nameStart = pos;
+			int nameEnd = readName();
+			expect(':');
+			skipSpace();
+			expect('[');
+			int start = pos;
+			int end = skipBlock();
+			int block = find(BLOCKS, nameStart, nameEnd);
+			if (block < ROLES || block > SENTENCES)
+				throw new StonException("Unexpected block at " + nameStart);
+			blockStart[block] = start;
+			blockEnd[block] = end;
+			skipSpace();
+		}
+
+		if (blockStart[ACTIONS] < 0) throw new StonException("No actions");
+
+		for (int block = ROLES; block <= SENTENCES; block++)
+			if (blockStart[block] >= 0)
+				readBlock(block, blockStart[block], blockEnd[block]);
+	}
+
+	/**
+	 * Reads the elements of a block and dispatches them
+	 * @param block the kind of the block
+	 * @param start the offset after its opening bracket
+	 * @param end the offset of its closing bracket
+	 */
+	private void readBlock(int block, int start, int end){
+		int lastPos = pos, lastLimit = limit;
+		pos = start;
+		limit = end;
+		Element e = (block <= SENTENCES)? outer: inner;
+		String name = BLOCKS[block];
+
+		while (true){
+			skipSpace();
+			int nameStart = pos;
+			int nameEnd = readName();
+			expect(':');
+			skipSpace();
+			if (! matches(name, nameStart, nameEnd))
+				throw new StonException("Expected " + name + " at " + nameStart);
+			//The closing mark of the block: "name:]"
+			if (pos >= limit) break;
+			expect('{');
+			readElement(e, block);
+			dispatch(block, e);
+		}
+
+		pos = lastPos;
+		limit = lastLimit;
+	}
+
+	/**
+	 * Reads the keys of an element, until its closing mark "name:}"
+	 * @param e where to put the offsets of the values
+	 * @param kind the kind of the element
+	 */
+	private void readElement(Element e, int kind){
+		String name = BLOCKS[kind];
+		e.clear();
+		while (true){
+			skipSpace();
+			if (pos >= limit) throw new StonException("Unclosed element " + name);
+
+			//A nested block
+			if (text.charAt(pos) == '@'){
+				pos++;
+				int nameStart = pos;
+				int nameEnd = readName();
+				expect(':');
+				skipSpace();
+				expect('[');
+				int start = pos;
+				int end = skipBlock();
+				int block = find(BLOCKS, nameStart, nameEnd);
+				if (block < 0 || (NESTED[kind] & 1 << block) == 0)
+					throw new StonException("Unexpected block in " + name + " at " + nameStart);
+				e.start[KEYS.length + block] = start;
+				e.end[KEYS.length + block] = end;
+				continue;
+			}
+
+			int keyStart = pos;
+			int keyEnd = readName();
+			skipSpace();
+			expect(':');
+			skipSpace();
+			if (pos < limit && text.charAt(pos) == '}'){
+				if (! matches(name, keyStart, keyEnd))
+					throw new StonException("Expected " + name + ":} at " + keyStart);
+				pos++;
+				return;
+			}
+
+			int slot = find(KEYS, keyStart, keyEnd);
+			if (pos < limit && text.charAt(pos) == '[') readList(e, slot);
+			else readScalar(e, slot);
+
+			skipSpace();
+			if (pos < limit && text.charAt(pos) == ';') pos++;
+		}
+	}
+
+	private void readList(Element e, int slot){
+		int start = ++pos;
+		while (pos < limit && text.charAt(pos) != ']'){
+			if (text.charAt(pos) == '[') throw new StonException("Nested list at " + pos);
+			pos++;
+		}
+		if (pos >= limit) throw new StonException("Unclosed list at " + start);
+		if (slot >= 0){
+			e.start[slot] = start;
+			e.end[slot] = pos;
+		}
+		pos++;
+	}
+
+	private void readScalar(Element e, int slot){
+		int start = pos;
+		char c = 0;
+		while (pos < limit){
+			c = text.charAt(pos);
+			if (c == ';' || c == '\n' || c == '\r' || c == '<' 
+					|| c == '}' || c == '{' || c == '[' || c == ']') break;
+			pos++;
+		}
+
+		int end = pos;
+		//The value is followed by the closing mark on the same line: "Y r:}"
+		if (c == '}'){
+			end--;
+			if (end < start || text.charAt(end) != ':') 
+				throw new StonException("Unexpected } at " + pos);
+			while (end > start && isNameChar(text.charAt(end - 1))) end--;
+			pos = end;
+		}
+
+		end = trimEnd(start, end);
+		if (slot >= 0){
+			e.start[slot] = start;
+			e.end[slot] = end;
+		}
+	}
+
+	//=====================================================================
+	//=========================== CALLBACKS ===============================
+	//=====================================================================
+
+	private void dispatch(int block, Element e){
+		switch (block) {
+		case ROLES:
+			role(e);
+			break;
+		case ACTIONS:
+			action(e);
+			break;
+		case SENTENCES:
+			sentence(e);
+			break;
+		case ADJECTIVES:
+			adjective(e);
+			break;
+		case RELATIVES:
+			relative(e);
+			break;
+		case ADVERBS:
+			adverb(e);
+			break;
+		case COMPARISONS:
+			comparison(e);
+			break;
+		default:
+			break;
+		}
+	}
+
+	private void role(Element e){
+		int synSet = e.has(SYN)? number(e, SYN): 0;
+		boolean pronoun = e.has(TYP);
+		if (! e.has(ID) || synSet < 0 || (synSet == 0 && ! pronoun)){
+			failure(parse.roleFailure(), "Malformed role");
+			return;
+		}
+
+		String id = string(e, ID, null);
+		if (pronoun) parse.beginRole(id, synSet, string(e, TYP, null));
+		else parse.beginRole(id, synSet);
+
+		if (synSet > 0)
+			parse.addRoleSpecif(string(e, NAM, ""), string(e, DEF, "N"), string(e, QNT, ""));
+
+		if (pronoun && e.has(REF)){
+			parse.beginPRelatives();
+			conjunctions(e, REF);
+			parse.endPRelatives();
+		}
+
+		readNested(e, ADJECTIVES);
+		readNested(e, RELATIVES);
+
+		parse.endRole(id, synSet);
+	}
+
+	private void action(Element e){
+		int synSet = e.has(SYN)? number(e, SYN): -1;
+		if (! e.has(ID) || synSet <= 0){
+			failure(parse.actionFailure(), "Malformed action");
+			return;
+		}
+
+		String id = string(e, ID, null);
+		parse.beginAction(id, synSet);
+		parse.addVerbSpecif(string(e, TNS, "PR"), string(e, MOD, "NONE"), 
+				flag(e, PRG), flag(e, PRF), flag(e, NEG));
+
+		readNested(e, ADVERBS);
+
+		if (e.has(AGT)){
+			parse.beginAgents();
+			conjunctions(e, AGT);
+			parse.endAgents();
+		}
+
+		if (e.has(THM)){
+			parse.beginThemes();
+			conjunctions(e, THM);
+			parse.endThemes();
+		}
+
+		readNested(e, COMPARISONS);
+		readNested(e, RELATIVES);
+
+		parse.endAction(id, synSet);
+	}
+
+	private void sentence(Element e){
+		String type = string(e, TYP, "AFF");
+		parse.beginSentence(type);
+		parse.beginActions(true);
+		if (e.has(ACT)) conjunctions(e, ACT);
+		parse.endActions(true);
+		parse.endSentence(type);
+	}
+
+	private void adjective(Element e){
+		int synSet = e.has(SYN)? number(e, SYN): -1;
+		if (synSet <= 0){
+			failure(parse.adjectiveFailure(), "Malformed adjective");
+			return;
+		}
+		parse.addAdjective(synSet, numbers(e, ADV));
+	}
+
+	private void adverb(Element e){
+		int synSet = e.has(SYN)? number(e, SYN): -1;
+		if (synSet <= 0){
+			failure(parse.adverbFailure(), "Malformed adverb");
+			return;
+		}
+		parse.addActionAdverb(synSet, numbers(e, ADV));
+	}
+
+	private void relative(Element e){
+		if (! e.has(TYP)){
+			failure(parse.relativeFailure(), "Relative without type");
+			return;
+		}
+		String type = string(e, TYP, null);
+		parse.beginRelative(type);
+		conjunctions(e, REF);
+		parse.endRelative(type);
+	}
+
+	private void comparison(Element e){
+		if (! e.has(TYP)){
+			failure(parse.relativeFailure(), "Comparison without type");
+			return;
+		}
+		String type = string(e, TYP, null);
+		List<Integer> adjSynSets = numbers(e, ADJ);
+		parse.beginComparison(type, adjSynSets);
+		conjunctions(e, REF);
+		parse.endComparison(type, adjSynSets);
+	}
+
+	/**
+	 * Reads the elements of a nested block of the current element, if it exists
+	 * @param e the current element
+	 * @param block the kind of the nested block
+	 */
+	private void readNested(Element e, int block){
+		int slot = KEYS.length + block;
+		if (e.has(slot)) readBlock(block, e.start[slot], e.end[slot]);
+	}
+
+	private static void failure(boolean skip, String message){
+		if (! skip) throw new StonException(message);
+	}
+
+	//=====================================================================
+	//============================ VALUES =================================
+	//=====================================================================
+
+	/**
+	 * Calls addConjunctions for each conjunction of a list: [a, b | c]
+	 * @param e the element
+	 * @param slot the key of the list
+	 */
+	private void conjunctions(Element e, int slot){
+		if (! e.has(slot)) return;
+		int end = e.end[slot];
+		List<String> conj = new ArrayList<>();
+		for (int i = e.start[slot]; i <= end; ){
+			int itemEnd = i;
+			while (itemEnd < end && text.charAt(itemEnd) != ',' && text.charAt(itemEnd) != '|') 
+				itemEnd++;
+			int start = trimStart(i, itemEnd);
+			if (start < itemEnd) conj.add(symbol(start, trimEnd(start, itemEnd)));
+			if (itemEnd == end || text.charAt(itemEnd) == '|'){
+				if (! conj.isEmpty()) parse.addConjunctions(conj);
+				conj = new ArrayList<>();
+			}
+			i = itemEnd + 1;
+		}
+	}
+
+	private List<Integer> numbers(Element e, int slot){
+		if (! e.has(slot)) return Collections.emptyList();
+		List<Integer> result = new ArrayList<>();
+		int end = e.end[slot];
+		for (int i = e.start[slot]; i < end; ){
+			int itemEnd = i;
+			while (itemEnd < end && text.charAt(itemEnd) != ',') itemEnd++;
+			int start = trimStart(i, itemEnd);
+			if (start < itemEnd){
+				int n = number(start, trimEnd(start, itemEnd));
+				if (n < 0) throw new StonException("Not a number at " + start);
+				result.add(n);
+			}
+			i = itemEnd + 1;
+		}
+		return result;
+	}
+
+	private String string(Element e, int slot, String def){
+		if (! e.has(slot)) return def;
+		return symbol(e.start[slot], e.end[slot]);
+	}
+
+	private boolean flag(Element e, int slot){
+		if (! e.has(slot)) return false;
+		return e.end[slot] - e.start[slot] == 1 
+				&& Character.toUpperCase(text.charAt(e.start[slot])) == 'Y';
+	}
+
+	private int number(Element e, int slot){
+		return number(e.start[slot], e.end[slot]);
+	}
+
+	/**
+	 * @return the positive number, or -1 if it is not one
+	 */
+	private int number(int start, int end){
+		if (start >= end) return -1;
+		long n = 0;
+		for (int i = start; i < end; i++){
+			char c = text.charAt(i);
+			if (c < '0' || c > '9') return -1;
+			n = n * 10 + (c - '0');
+			if (n > Integer.MAX_VALUE) return -1;
+		}
+		return (int) n;
+	}
+
+	/**
+	 * Returns the string of some characters, created once for all the documents 
+	 * (until the table is full)
+	 */
+	private String symbol(int start, int end){
+		int h = 0;
+		for (int i = start; i < end; i++) h = 31 * h + text.charAt(i);
+		int mask = symbols.length - 1;
+		int i = (h ^ (h >>> 16)) & mask;
+		for (String s = symbols[i]; s != null; s = symbols[i]){
+			if (matches(s, start, end)) return s;
+			i = (i + 1) & mask;
+		}
+
+		String s = text.subSequence(start, end).toString();
+		if (2 * (symbolsCount + 1) > symbols.length){
+			if (symbols.length < MAX_SYMBOLS) growSymbols();
+			else {
+				Arrays.fill(symbols, null);
+				symbolsCount = 0;
+			}
+			mask = symbols.length - 1;
+			i = (h ^ (h >>> 16)) & mask;
+			while (symbols[i] != null) i = (i + 1) & mask;
+		}
+		symbols[i] = s;
+		symbolsCount++;
+		return s;
+	}
+
+	private void growSymbols(){
+		String[] old = symbols;
+		symbols = new String[old.length * 2];
+		int mask = symbols.length - 1;
+		for (String s: old){
+			if (s == null) continue;
+			int h = s.hashCode();
+			int i = (h ^ (h >>> 16)) & mask;
+			while (symbols[i] != null) i = (i + 1) & mask;
+			symbols[i] = s;
+		}
+	}
+
+	//=====================================================================
+	//============================ LEXING =================================
+	//=====================================================================
+
+	/**
+	 * Skips the spaces and the comments: &lt; a comment &gt;
+	 */
+	private void skipSpace(){
+		while (pos < limit){
+			char c = text.charAt(pos);
+			if (c == '<'){
+				int start = pos;
+				while (pos < limit && text.charAt(pos) != '>') pos++;
+				if (pos >= limit) throw new StonException("Unclosed comment at " + start);
+			} else if (! Character.isWhitespace(c)) return;
+			pos++;
+		}
+	}
+
+	/**
+	 * Skips a block until its closing bracket, after the comments and the lists
+	 * @return the offset of the closing bracket; the position is after it
+	 */
+	private int skipBlock(){
+		int start = pos;
+		int depth = 0;
+		while (pos < limit){
+			char c = text.charAt(pos);
+			if (c == '<') {
+				skipSpace();
+				continue;
+			}
+			if (c == '[') depth++;
+			else if (c == ']'){
+				if (depth == 0) return pos++;
+				depth--;
+			}
+			pos++;
+		}
+		throw new StonException("Unclosed block at " + start);
+	}
+
+	/**
+	 * Reads a name (a key or an ID)
+	 * @return the offset after it
+	 */
+	private int readName(){
+		int start = pos;
+		while (pos < limit && isNameChar(text.charAt(pos))) pos++;
+		if (pos == start) throw new StonException("Expected a name at " + pos);
+		return pos;
+	}
+
+	private static boolean isNameChar(char c){
+		switch (c) {
+		case ':': case ';': case ',': case '|': case '@':
+		case '[': case ']': case '{': case '}': case '<': case '>':
+			return false;
+		default:
+			return ! Character.isWhitespace(c);
+		}
+	}
+
+	private void expect(char c){
+		if (pos >= limit || text.charAt(pos) != c)
+			throw new StonException("Expected " + c + " at " + pos);
+		pos++;
+	}
+
+	private int trimStart(int start, int end){
+		while (start < end && Character.isWhitespace(text.charAt(start))) start++;
+		return start;
+	}
+
+	private int trimEnd(int start, int end){
+		while (end > start && Character.isWhitespace(text.charAt(end - 1))) end--;
+		return end;
+	}
+
+	private boolean matches(String s, int start, int end){
+		if (s.length() != end - start) return false;
+		for (int i = 0; i < s.length(); i++)
+			if (s.charAt(i) != text.charAt(start + i)) return false;
+		return true;
+	}
+
+	private int find(String[] names, int start, int end){
+		for (int i = 0; i < names.length; i++)
+			if (matches(names[i], start, end)) return i;
+		return -1;
+	}
+
+}
@@ -0,0 +1,275 @@
+/* FARIS : Factual Arrangement and Representation of Ideas in Sentences
+ * FAris : Farabi & Aristotle
+ * Faris : A knight (in Arabic)
+ * --------------------------------------------------------------------
+ * Copyright (C) 2017 Abdelkrime Aries (kariminfo0@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package kariminf.faris.process.ston;
+
+import java.util.Random;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * A generator of synthetic STON descriptions, used for load testing and benchmarks. <br>
+ * The same seed gives the same corpus, and each document depends only on the seed
+ * and its index; so a document can be regenerated alone, and the corpus can be
+ * generated in parallel. <br>
+ * Each document contains:
+ * <ul>
+ * <li>some roles; some of them are described by a relative (the food which ...)</li>
+ * <li>some facts (actions with an agent and a theme), with places and times</li>
+ * <li>an opinion about the last fact, nested in many levels of think/believe
+ * (the mother thinks that the child believes that ...)</li>
+ * </ul>
+ * The duplicate rate is the probability that a role or a verb is taken from a small
+ * shared vocabulary; these are merged when added to Faris. The other ones are new.
+ * <pre>
+ * SyntheticSton corpus = new SyntheticSton(42).roles(10).actions(5).opinionDepth(2);
+ * corpus.documents(1000).forEach(faris::addStonDescription);
+ * </pre>
+ *
+ */
+public class SyntheticSton {
+
+	//Relations which are mapped to places and times without consulting WordNet
+	private static final String[] PLACE_RELATIONS = {"INSIDE", "OUTSIDE", "BELOW", "ABOVE"};
+	private static final String[] TIME_RELATIONS = {"PAST", "SINCE"};
+
+	private static final int[] OPINION_VERBS = {Concepts.THINK, Concepts.BELIEVE};
+
+	//Synsets of the generated nouns and verbs; the shared ones come first
+	private static final int NOUN_BASE = 100000000;
+	private static final int VERB_BASE = 50000000;
+
+	private final long seed;
+
+	private int roles = 6;
+	private int actions = 3;
+	private int opinionDepth = 1;
+	private double relativeRate = 0.2;
+	private double placeTimeRate = 0.3;
+	private double duplicateRate = 0.3;
+	private int vocabulary = 100;
+
+	/**
+	 * @param seed the seed of the corpus
+	 */
+	public SyntheticSton(long seed) {
+		this.seed = seed;
+	}
+
+	/**
+	 * @param number the number of roles of each document (at least 2)
+	 * @return the same generator
+	 */
+	public SyntheticSton roles(int number){
+		if (number < 2) throw new IllegalArgumentException("At least two roles are needed");
+		roles = number;
+		return this;
+	}
+
+	/**
+	 * @param number the number of facts of each document (at least 1)
+	 * @return the same generator
+	 */
+	public SyntheticSton actions(int number){
+		if (number < 1) throw new IllegalArgumentException("At least one action is needed");
+		actions = number;
+		return this;
+	}
+
+	/**
+	 * @param depth the number of nested think/believe around the last fact; 0 for none
+	 * @return the same generator
+	 */
+	public SyntheticSton opinionDepth(int depth){
+		if (depth < 0) throw new IllegalArgumentException("Negative depth");
+		opinionDepth = depth;
+		return this;
+	}
+
+	/**
+	 * @param rate the probability that a role is described by a relative
+	 * @return the same generator
+	 */
+	public SyntheticSton relativeRate(double rate){
+		relativeRate = checkRate(rate);
+		return this;
+	}
+
+	/**
+	 * @param rate the probability that a fact has a place, and the one it has a time
+	 * @return the same generator
+	 */
+	public SyntheticSton placeTimeRate(double rate){
+		placeTimeRate = checkRate(rate);
+		return this;
+	}
+
+	/**
+	 * @param rate the probability that a role or a verb is taken from the shared vocabulary
+	 * @return the same generator
+	 */
+	public SyntheticSton duplicateRate(double rate){
+		duplicateRate = checkRate(rate);
+		return this;
+	}
+
+	/**
+	 * @param size the number of shared nouns and verbs (at least 1)
+	 * @return the same generator
+	 */
+	public SyntheticSton vocabulary(int size){
+		if (size < 1) throw new IllegalArgumentException("Empty vocabulary");
+		vocabulary = size;
+		return this;
+	}
+
+	private static double checkRate(double rate){
+		if (rate < 0.0 || rate > 1.0) throw new IllegalArgumentException("Not a rate: " + rate);
+		return rate;
+	}
+
+	//=====================================================================
+	//========================== GENERATION ===============================
+	//=====================================================================
+
+	/**
+	 * @param count the number of documents
+	 * @return the documents 0 to count-1
+	 */
+	public Stream<String> documents(int count){
+		return documents(0, count);
+	}
+
+	/**
+	 * @param from the index of the first document
+	 * @param count the number of documents
+	 * @return the documents from to from+count-1
+	 */
+	public Stream<String> documents(int from, int count){
+		return IntStream.range(from, from + count).mapToObj(this::document);
+	}
+
+	/**
+	 * Generates one document of the corpus
+	 * @param index the index of the document
+	 * @return a STON description
+	 */
+	public String document(int index){
+		Random rand = new Random(seed * 1000003 + index);
+		//The new synsets of a document do not collide with those of other documents
+		int fresh = vocabulary + index * (roles + actions);
+
+		StringBuilder sb = new StringBuilder();
+		sb.append("< Synthetic document ").append(index).append(" >\n");
+
+		//Roles
+		sb.append("@r:[\n");
+		for (int i = 0; i < roles; i++){
+			int synSet = NOUN_BASE + pick(rand, fresh + i);
+			sb.append("    r:{\n");
+			sb.append("        id: r").append(i).append(";\n");
+			sb.append("        syn: ").append(synSet);
+			if (rand.nextBoolean()) sb.append(";\n        def: Y");
+			if (rand.nextDouble() < relativeRate){
+				//the role is a theme of some fact: the food which the mother eats
+				sb.append(";\n        @rel:[\n");
+				sb.append("            rel:{\n");
+				sb.append("                typ: OBJ;\n");
+				sb.append("                ref: [a").append(rand.nextInt(actions)).append("];\n");
+				sb.append("            rel:}\n");
+				sb.append("        rel:]");
+			}
+			sb.append("\n    r:}\n");
+		}
+		sb.append("r:]\n\n");
+
+		//Facts
+		sb.append("@act: [\n");
+		for (int i = 0; i < actions; i++){
+			int synSet = VERB_BASE + pick(rand, fresh + roles + i);
+			beginAction(sb, "a" + i, synSet, rand.nextBoolean()? "PA": "PR");
+			sb.append(";\n        agt: [r").append(rand.nextInt(roles)).append("]");
+			sb.append(";\n        thm: [r").append(rand.nextInt(roles)).append("]");
+
+			boolean place = rand.nextDouble() < placeTimeRate;
+			boolean time = rand.nextDouble() < placeTimeRate;
+			if (place || time){
+				sb.append(";\n        @rel:[\n");
+				if (place) relative(sb, PLACE_RELATIONS[rand.nextInt(PLACE_RELATIONS.length)], rand.nextInt(roles));
+				if (time) relative(sb, TIME_RELATIONS[rand.nextInt(TIME_RELATIONS.length)], rand.nextInt(roles));
+				sb.append("        rel:]");
+			}
+			sb.append("\n    act:}\n");
+		}
+
+		//Opinions: each one is about the previous one, the first is about the last fact
+		String about = "a" + (actions - 1);
+		for (int i = 0; i < opinionDepth; i++){
+			String id = "o" + i;
+			beginAction(sb, id, OPINION_VERBS[rand.nextInt(OPINION_VERBS.length)], "PR");
+			sb.append(";\n        agt: [r").append(rand.nextInt(roles)).append("]");
+			sb.append(";\n        thm: [").append(about).append("]");
+			sb.append("\n    act:}\n");
+			about = id;
+		}
+		sb.append("act:]\n\n");
+
+		//Sentences: the facts, and the outer opinion instead of the last fact
+		sb.append("@st:[\n");
+		int last = (opinionDepth > 0)? actions - 1: actions;
+		for (int i = 0; i < last; i++) sentence(sb, "a" + i);
+		if (opinionDepth > 0) sentence(sb, about);
+		sb.append("st:]\n");
+
+		return sb.toString();
+	}
+
+	/**
+	 * Picks a shared synset, or the new one
+	 * @param rand the random generator of the document
+	 * @param fresh the offset of the new synset
+	 * @return the offset of the chosen synset
+	 */
+	private int pick(Random rand, int fresh){
+		if (rand.nextDouble() < duplicateRate) return rand.nextInt(vocabulary);
+		return fresh;
+	}
+
+	private static void beginAction(StringBuilder sb, String id, int synSet, String tense){
+		sb.append("    act:{\n");
+		sb.append("        id: ").append(id).append(";\n");
+		sb.append("        tns: ").append(tense).append(";\n");
+		sb.append("        syn: ").append(synSet);
+	}
+
+	private static void relative(StringBuilder sb, String type, int role){
+		sb.append("            rel:{\n");
+		sb.append("                typ: ").append(type).append(";\n");
+		sb.append("                ref: [r").append(role).append("];\n");
+		sb.append("            rel:}\n");
+	}
+
+	private static void sentence(StringBuilder sb, String actionID){
+		sb.append("    st:{\n");
+		sb.append("        typ: AFF;\n");
+		sb.append("        act:[").append(actionID).append("]\n");
+		sb.append("    st:}\n");
+	}
+
+}
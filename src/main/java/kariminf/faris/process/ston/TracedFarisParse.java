@@ -0,0 +1,248 @@
+/* FARIS : Factual Arrangement and Representation of Ideas in Sentences
+ * FAris : Farabi & Aristotle
+ * Faris : A knight (in Arabic)
+ * --------------------------------------------------------------------
+ * Copyright (C) 2017 Abdelkrime Aries (kariminfo0@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package kariminf.faris.process.ston;
+
+import java.util.List;
+
+import kariminf.faris.knowledge.Faris.FarisWrapper;
+import kariminf.faris.process.ston.ParseTracer.Phase;
+
+/**
+ * A {@link FarisParse} which records the time spent in each callback using
+ * {@link ParseTracer}. It is used by Faris instead of FarisParse when the tracer 
+ * is enabled, so the normal parser does not pay anything for tracing.
+ *
+ */
+public class TracedFarisParse extends FarisParse {
+
+	private boolean inPronounRole = false;
+
+	public TracedFarisParse(FarisWrapper wrapper) {
+		super(wrapper);
+	}
+
+	@Override
+	public void reset(FarisWrapper wrapper) {
+		super.reset(wrapper);
+		inPronounRole = false;
+	}
+
+	/* (non-Javadoc)
+	 * @see kariminf.sentrep.ston.Parser#parse(java.lang.String)
+	 */
+	@Override
+	public void parse(String description) {
+		long trace = ParseTracer.startDocument();
+		super.parse(description);
+		ParseTracer.end(Phase.PARSE, trace);
+	}
+
+	@Override
+	public boolean read(CharSequence description) {
+		long trace = ParseTracer.startDocument();
+		boolean parsed = super.read(description);
+		ParseTracer.end(Phase.PARSE, trace);
+		return parsed;
+	}
+
+	@Override
+	protected void beginAction(String id, int synSet) {
+		long trace = ParseTracer.start();
+		super.beginAction(id, synSet);
+		ParseTracer.end(Phase.BEGIN_ACTION, trace);
+	}
+
+	@Override
+	protected void endAction(String id, int synSet) {
+		long trace = ParseTracer.start();
+		super.endAction(id, synSet);
+		ParseTracer.end(Phase.END_ACTION, trace);
+	}
+
+	@Override
+	protected void addVerbSpecif(String tense, String modality,
+			boolean progressive, boolean perfect, boolean negated) {
+		long trace = ParseTracer.start();
+		super.addVerbSpecif(tense, modality, progressive, perfect, negated);
+		ParseTracer.end(Phase.VERB_SPECIF, trace);
+	}
+
+	@Override
+	protected void addActionAdverb(int advSynSet, List<Integer> advSynSets) {
+		long trace = ParseTracer.start();
+		super.addActionAdverb(advSynSet, advSynSets);
+		ParseTracer.end(Phase.ACTION_ADVERB, trace);
+	}
+
+	@Override
+	protected void beginAgents() {
+		long trace = ParseTracer.start();
+		super.beginAgents();
+		ParseTracer.end(Phase.BEGIN_AGENTS, trace);
+	}
+
+	@Override
+	protected void endAgents() {
+		long trace = ParseTracer.start();
+		super.endAgents();
+		ParseTracer.end(Phase.END_AGENTS, trace);
+	}
+
+	@Override
+	protected void beginThemes() {
+		long trace = ParseTracer.start();
+		super.beginThemes();
+		ParseTracer.end(Phase.BEGIN_THEMES, trace);
+	}
+
+	@Override
+	protected void endThemes() {
+		long trace = ParseTracer.start();
+		super.endThemes();
+		ParseTracer.end(Phase.END_THEMES, trace);
+	}
+
+	@Override
+	protected void beginComparison(String type, List<Integer> adjSynSets) {
+		long trace = ParseTracer.start();
+		super.beginComparison(type, adjSynSets);
+		ParseTracer.end(Phase.BEGIN_COMPARISON, trace);
+	}
+
+	@Override
+	protected void endComparison(String type, List<Integer> adjSynSets) {
+		long trace = ParseTracer.start();
+		super.endComparison(type, adjSynSets);
+		ParseTracer.end(Phase.END_COMPARISON, trace);
+	}
+
+	@Override
+	protected void beginRole(String id, int synSet) {
+		//Called by the pronoun version too; it must be counted once
+		if (inPronounRole){
+			super.beginRole(id, synSet);
+			return;
+		}
+		long trace = ParseTracer.start();
+		super.beginRole(id, synSet);
+		ParseTracer.end(Phase.BEGIN_ROLE, trace);
+	}
+
+	@Override
+	protected void beginRole(String id, int synSet, String pronoun) {
+		long trace = ParseTracer.start();
+		inPronounRole = true;
+		super.beginRole(id, synSet, pronoun);
+		inPronounRole = false;
+		ParseTracer.end(Phase.BEGIN_ROLE, trace);
+	}
+
+	@Override
+	protected void endRole(String id, int synSet) {
+		long trace = ParseTracer.start();
+		super.endRole(id, synSet);
+		ParseTracer.end(Phase.END_ROLE, trace);
+	}
+
+	@Override
+	protected void addRoleSpecif(String name, String def, String quantity) {
+		long trace = ParseTracer.start();
+		super.addRoleSpecif(name, def, quantity);
+		ParseTracer.end(Phase.ROLE_SPECIF, trace);
+	}
+
+	@Override
+	protected void addAdjective(int synSet, List<Integer> advSynSets) {
+		long trace = ParseTracer.start();
+		super.addAdjective(synSet, advSynSets);
+		ParseTracer.end(Phase.ADJECTIVE, trace);
+	}
+
+	@Override
+	protected void beginPRelatives() {
+		long trace = ParseTracer.start();
+		super.beginPRelatives();
+		ParseTracer.end(Phase.BEGIN_PRELATIVES, trace);
+	}
+
+	@Override
+	protected void endPRelatives() {
+		long trace = ParseTracer.start();
+		super.endPRelatives();
+		ParseTracer.end(Phase.END_PRELATIVES, trace);
+	}
+
+	@Override
+	protected void beginSentence(String type) {
+		long trace = ParseTracer.start();
+		super.beginSentence(type);
+		ParseTracer.end(Phase.BEGIN_SENTENCE, trace);
+	}
+
+	@Override
+	protected void endSentence(String type) {
+		long trace = ParseTracer.start();
+		super.endSentence(type);
+		ParseTracer.end(Phase.END_SENTENCE, trace);
+	}
+
+	@Override
+	protected void beginActions(boolean mainClause) {
+		long trace = ParseTracer.start();
+		super.beginActions(mainClause);
+		ParseTracer.end(Phase.BEGIN_ACTIONS, trace);
+	}
+
+	@Override
+	protected void endActions(boolean mainClause) {
+		long trace = ParseTracer.start();
+		super.endActions(mainClause);
+		ParseTracer.end(Phase.END_ACTIONS, trace);
+	}
+
+	@Override
+	protected void addConjunctions(List<String> IDs) {
+		long trace = ParseTracer.start();
+		super.addConjunctions(IDs);
+		ParseTracer.end(Phase.CONJUNCTIONS, trace);
+	}
+
+	@Override
+	protected void beginRelative(String type) {
+		long trace = ParseTracer.start();
+		super.beginRelative(type);
+		ParseTracer.end(Phase.BEGIN_RELATIVE, trace);
+	}
+
+	@Override
+	protected void endRelative(String type) {
+		long trace = ParseTracer.start();
+		super.endRelative(type);
+		ParseTracer.end(Phase.END_RELATIVE, trace);
+	}
+
+	@Override
+	protected void parseSuccess() {
+		long trace = ParseTracer.start();
+		super.parseSuccess();
+		ParseTracer.end(Phase.PARSE_SUCCESS, trace);
+	}
+
+}
@@ -1,27 +1,197 @@
 package kariminf.faris.tools;
 
-import java.util.ArrayList;
-import java.util.HashSet;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 import kariminf.faris.philosophical.QuantSubstance;
 
-public final class ConjunctedSubstances extends HashSet<QuantSubstance> {
+/**
+ * Substances separated by "and", as an immutable set. <br>
+ * The substances are kept in an array sorted by their IDs, with a cached hash, 
+ * so a conjunction of one or two roles costs two small objects and comparing 
+ * two conjunctions is comparing two arrays. Like the quantified substances, 
+ * the elements are compared by identity.
+ *
+ */
+public final class ConjunctedSubstances implements Iterable<QuantSubstance> {
+	
+	private static final QuantSubstance[] NONE = new QuantSubstance[0];
+	
+	public static final ConjunctedSubstances EMPTY = new ConjunctedSubstances(NONE);
+	
+	//sorted by ID, without duplicates
+	private final QuantSubstance[] substances;
+	
+	private final int hash;
+	
+	private ConjunctedSubstances(QuantSubstance[] substances){
+		this.substances = substances;
+		int result = 1;
+		for (QuantSubstance substance: substances)
+			result = 31 * result + substance.getId();
+		this.hash = result;
+	}
 	
 	/**
-	 * 
+	 * @param substances the substances; the duplicates are ignored
+	 * @return their conjunction
 	 */
-	private static final long serialVersionUID = 1L;
-
-	public ArrayList<QuantSubstance> getSubstances(){
-		ArrayList<QuantSubstance> result = new ArrayList<>();
-		result.addAll(this);
-		return result;
+	public static ConjunctedSubstances of(Collection<QuantSubstance> substances){
+		return of(substances.toArray(new QuantSubstance[substances.size()]));
+	}
+	
+	/**
+	 * @param substances the substances; the duplicates are ignored
+	 * @return their conjunction
+	 */
+	public static ConjunctedSubstances of(QuantSubstance... substances){
+		if (substances.length == 0) return EMPTY;
+		QuantSubstance[] sorted = substances.clone();
+		Arrays.sort(sorted, (a, b) -> Integer.compare(a.getId(), b.getId()));
+		int size = 1;
+		for (int i = 1; i < sorted.length; i++)
+			if (sorted[i] != sorted[size-1]) sorted[size++] = sorted[i];
+		return new ConjunctedSubstances((size == sorted.length)? sorted: Arrays.copyOf(sorted, size));
 	}
 	
+	public int size(){
+		return substances.length;
+	}
+	
+	public boolean isEmpty(){
+		return substances.length == 0;
+	}
+	
+	/**
+	 * @param i the position, in the order of the IDs
+	 * @return the substance at this position
+	 */
+	public QuantSubstance get(int i){
+		return substances[i];
+	}
+	
+	public boolean contains(QuantSubstance substance){
+		int id = substance.getId();
+		int low = 0, high = substances.length - 1;
+		while (low <= high){
+			int middle = (low + high) >>> 1;
+			int middleId = substances[middle].getId();
+			if (middleId < id) low = middle + 1;
+			else if (middleId > id) high = middle - 1;
+			else return substances[middle] == substance;
+		}
+		return false;
+	}
+	
+	/**
+	 * @param cs another conjunction
+	 * @return true if all the substances of the other conjunction are in this one
+	 */
+	public boolean containsAll(ConjunctedSubstances cs){
+		if (cs.substances.length > substances.length) return false;
+		int i = 0;
+		for (QuantSubstance substance: cs.substances){
+			int id = substance.getId();
+			while (i < substances.length && substances[i].getId() < id) i++;
+			if (i == substances.length || substances[i] != substance) return false;
+			i++;
+		}
+		return true;
+	}
+	
+	/**
+	 * @return an unmodifiable list view of the substances, without copying them
+	 */
+	public List<QuantSubstance> getSubstances(){
+		return new AbstractList<QuantSubstance>(){
+			@Override
+			public QuantSubstance get(int index) {
+				return substances[index];
+			}
+			@Override
+			public int size() {
+				return substances.length;
+			}
+		};
+	}
+	
+	/**
+	 * Fuses two conjunctions: (A and B) with (B and C) gives (A and B and C)
+	 * @param cs the other conjunction
+	 * @return the union of the two conjunctions
+	 */
 	public ConjunctedSubstances fuse(ConjunctedSubstances cs){
-		ConjunctedSubstances result = new ConjunctedSubstances();
-		result.addAll(cs);
-		return result;
+		if (containsAll(cs)) return this;
+		if (cs.containsAll(this)) return cs;
+		
+		QuantSubstance[] result = new QuantSubstance[substances.length + cs.substances.length];
+		int i = 0, j = 0, size = 0;
+		while (i < substances.length && j < cs.substances.length){
+			int id = substances[i].getId(), id2 = cs.substances[j].getId();
+			if (id < id2) result[size++] = substances[i++];
+			else if (id > id2) result[size++] = cs.substances[j++];
+			else {
+				result[size++] = substances[i++];
+				j++;
+			}
+		}
+		while (i < substances.length) result[size++] = substances[i++];
+		while (j < cs.substances.length) result[size++] = cs.substances[j++];
+		
+		return new ConjunctedSubstances(Arrays.copyOf(result, size));
+	}
+	
+	public Stream<QuantSubstance> stream(){
+		return Arrays.stream(substances);
+	}
+	
+	@Override
+	public void forEach(Consumer<? super QuantSubstance> action) {
+		for (QuantSubstance substance: substances)
+			action.accept(substance);
+	}
+
+	@Override
+	public Iterator<QuantSubstance> iterator() {
+		return new Iterator<QuantSubstance>(){
+			private int i = 0;
+			@Override
+			public boolean hasNext() {
+				return i < substances.length;
+			}
+			@Override
+			public QuantSubstance next() {
+				if (i >= substances.length) throw new NoSuchElementException();
+				return substances[i++];
+			}
+		};
+	}
+
+	@Override
+	public int hashCode() {
+		return hash;
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) return true;
+		if (!(obj instanceof ConjunctedSubstances)) return false;
+		ConjunctedSubstances other = (ConjunctedSubstances) obj;
+		if (hash != other.hash || substances.length != other.substances.length) return false;
+		for (int i = 0; i < substances.length; i++)
+			if (substances[i] != other.substances[i]) return false;
+		return true;
+	}
+
+	@Override
+	public String toString() {
+		return Arrays.toString(substances);
 	}
 
 }
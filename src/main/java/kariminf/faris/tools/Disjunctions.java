@@ -0,0 +1,164 @@
+/* FARIS : Factual Arrangement and Representation of Ideas in Sentences
+ * FAris : Farabi & Aristotle
+ * Faris : A knight (in Arabic)
+ * --------------------------------------------------------------------
+ * Copyright (C) 2017 Abdelkrime Aries (kariminfo0@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package kariminf.faris.tools;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import kariminf.faris.tools.metrics.CachedCounter;
+
+/**
+ * Disjunctions of conjunctions (DNF) of substances, as the doers and receivers 
+ * of an action. <br>
+ * Merging two disjunctions is their product: (A + B)(C + D) = AC + AD + BC + BD. 
+ * The result is kept minimal by absorption (A + AB = A), and its size is bounded: 
+ * when a merge gives more than {@link #getMaxSize()} conjunctions, the 
+ * {@link Fallback} policy is applied instead.
+ * The maximum size can be set with the system property "faris.merge.max".
+ *
+ */
+public class Disjunctions {
+
+	private static final CachedCounter FALLBACKS = new CachedCounter("action.merge.fallbacks");
+
+	/**
+	 * What to do when a merge gives too many conjunctions
+	 */
+	public static enum Fallback {
+		//One conjunction of all the substances: (A + B)(C + D) = ABCD
+		FUSE,
+		//The disjunctions are added: (A + B)(C + D) = A + B + C + D
+		UNION,
+		//The first disjunction is kept as it is
+		KEEP
+	}
+
+	public static final String MAX_SIZE_PROPERTY = "faris.merge.max";
+
+	public static final int DEFAULT_MAX_SIZE = 64;
+
+	private static volatile int maxSize = Integer.getInteger(MAX_SIZE_PROPERTY, DEFAULT_MAX_SIZE);
+
+	private static volatile Fallback fallback = Fallback.FUSE;
+
+	private static final Comparator<ConjunctedSubstances> BY_SIZE = 
+			(a, b) -> Integer.compare(a.size(), b.size());
+
+	/**
+	 * @param maxSize the maximum number of conjunctions of a merge
+	 * @param fallback what to do when it is exceeded
+	 */
+	public static void setLimit(int maxSize, Fallback fallback){
+		if (maxSize < 1) throw new IllegalArgumentException("maxSize must be positive");
+		if (fallback == null) throw new NullPointerException("fallback");
+		Disjunctions.maxSize = maxSize;
+		Disjunctions.fallback = fallback;
+	}
+
+	public static int getMaxSize(){
+		return maxSize;
+	}
+
+	public static Fallback getFallback(){
+		return fallback;
+	}
+
+	/**
+	 * Merges two disjunctions as a product, with absorption and the size limit
+	 * @param disj1 the first disjunction
+	 * @param disj2 the second one
+	 * @return the merged disjunction, a new set
+	 */
+	public static Set<ConjunctedSubstances> merge(Set<ConjunctedSubstances> disj1, Set<ConjunctedSubstances> disj2){
+		if (disj1.isEmpty()) return absorb(disj2);
+		if (disj2.isEmpty() || disj1.equals(disj2)) return absorb(disj1);
+
+		int max = maxSize;
+		//Absorption can make the product smaller than its factors: (A + B + C)(A) = A,
+		//so only the work is bounded, to max * max fused conjunctions
+		if ((long) disj1.size() * disj2.size() <= (long) max * max){
+			Set<ConjunctedSubstances> product = new HashSet<>();
+			for (ConjunctedSubstances cs: disj1)
+				for (ConjunctedSubstances cs2: disj2)
+					product.add(cs.fuse(cs2));
+			Set<ConjunctedSubstances> result = absorb(product);
+			if (result.size() <= max) return result;
+		}
+
+		FALLBACKS.inc();
+		return fallback(disj1, disj2, max);
+	}
+
+	private static Set<ConjunctedSubstances> fallback(Set<ConjunctedSubstances> disj1, 
+			Set<ConjunctedSubstances> disj2, int max){
+		switch (fallback) {
+		case UNION:
+			Set<ConjunctedSubstances> union = new HashSet<>(disj1);
+			union.addAll(disj2);
+			union = absorb(union);
+			if (union.size() <= max) return union;
+			//Too big as well
+			break;
+		case KEEP:
+			return absorb(disj1);
+		default:
+			break;
+		}
+
+		ConjunctedSubstances all = ConjunctedSubstances.EMPTY;
+		for (ConjunctedSubstances cs: disj1) all = all.fuse(cs);
+		for (ConjunctedSubstances cs: disj2) all = all.fuse(cs);
+		Set<ConjunctedSubstances> result = new SmallSet<>();
+		result.add(all);
+		return result;
+	}
+
+	/**
+	 * Removes the conjunctions containing another one: A + AB = A
+	 * @param disj a disjunction
+	 * @return a new disjunction without absorbed conjunctions
+	 */
+	public static Set<ConjunctedSubstances> absorb(Collection<ConjunctedSubstances> disj){
+		List<ConjunctedSubstances> sorted = new ArrayList<>(disj);
+		sorted.sort(BY_SIZE);
+
+		List<ConjunctedSubstances> kept = new ArrayList<>();
+		Set<ConjunctedSubstances> result = new SmallSet<>();
+		for (ConjunctedSubstances cs: sorted){
+			if (result.contains(cs)) continue;
+			boolean absorbed = false;
+			//The kept ones are smaller or of the same size (then different)
+			for (ConjunctedSubstances small: kept)
+				if (small.size() < cs.size() && cs.containsAll(small)){
+					absorbed = true;
+					break;
+				}
+			if (absorbed) continue;
+			kept.add(cs);
+			result.add(cs);
+		}
+		return result;
+	}
+
+}
@@ -0,0 +1,130 @@
+/* FARIS : Factual Arrangement and Representation of Ideas in Sentences
+ * FAris : Farabi & Aristotle
+ * Faris : A knight (in Arabic)
+ * --------------------------------------------------------------------
+ * Copyright (C) 2017 Abdelkrime Aries (kariminfo0@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package kariminf.faris.tools;
+
+import java.util.Arrays;
+
+/**
+ * A set of int values without boxing (open addressing, linear probing). <br>
+ * It is not thread safe; once filled, it can be read by many threads if it is
+ * published safely (a final or volatile field) and not modified anymore.
+ *
+ */
+public final class IntHashSet {
+
+	//0 marks an empty slot; the value 0 itself is kept aside
+	private int[] slots;
+	private boolean hasZero = false;
+	private int size = 0;
+
+	public IntHashSet(){
+		this(8);
+	}
+
+	/**
+	 * @param expected the expected number of values
+	 */
+	public IntHashSet(int expected){
+		int capacity = Integer.highestOneBit(Math.max(4, expected * 2 - 1)) << 1;
+		slots = new int[capacity];
+	}
+
+	private static int index(int value, int mask){
+		int h = value * 0x9E3779B9;
+		return (h ^ (h >>> 16)) & mask;
+	}
+
+	/**
+	 * @param value a value
+	 * @return true if it was not in the set
+	 */
+	public boolean add(int value){
+		if (value == 0){
+			if (hasZero) return false;
+			hasZero = true;
+			size++;
+			return true;
+		}
+
+		int mask = slots.length - 1;
+		for (int i = index(value, mask); ; i = (i + 1) & mask){
+			if (slots[i] == value) return false;
+			if (slots[i] == 0){
+				slots[i] = value;
+				size++;
+				//keep the load factor under 1/2
+				if (size * 2 > slots.length) grow();
+				return true;
+			}
+		}
+	}
+
+	private void grow(){
+		int[] old = slots;
+		slots = new int[old.length * 2];
+		int mask = slots.length - 1;
+		for (int value: old){
+			if (value == 0) continue;
+			int i = index(value, mask);
+			while (slots[i] != 0) i = (i + 1) & mask;
+			slots[i] = value;
+		}
+	}
+
+	public boolean contains(int value){
+		if (value == 0) return hasZero;
+
+		int mask = slots.length - 1;
+		for (int i = index(value, mask); ; i = (i + 1) & mask){
+			if (slots[i] == value) return true;
+			if (slots[i] == 0) return false;
+		}
+	}
+
+	public int size(){
+		return size;
+	}
+
+	public boolean isEmpty(){
+		return size == 0;
+	}
+
+	/**
+	 * @return the values, sorted
+	 */
+	public int[] toArray(){
+		int[] result = new int[size];
+		int n = 0;
+		if (hasZero) result[n++] = 0;
+		for (int value: slots)
+			if (value != 0) result[n++] = value;
+		Arrays.sort(result);
+		return result;
+	}
+
+	/* (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return Arrays.toString(toArray());
+	}
+
+}
@@ -0,0 +1,128 @@
+/* FARIS : Factual Arrangement and Representation of Ideas in Sentences
+ * FAris : Farabi & Aristotle
+ * Faris : A knight (in Arabic)
+ * --------------------------------------------------------------------
+ * Copyright (C) 2017 Abdelkrime Aries (kariminfo0@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package kariminf.faris.tools;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+
+/**
+ * Exports the lexicographer files of WordNet nouns into a {@link LexFileTable}. <br>
+ * It reads the file "data.noun" of the WordNet dictionary, where each synset line begins with
+ * its offset (the synset used by Faris) and its lex file number:
+ * <pre>
+ * 00021265 13 n 01 food 0 ...
+ * </pre>
+ * Usage:
+ * <pre>
+ * java kariminf.faris.tools.LexFileExport /path/to/WordNet/dict/data.noun lexfiles.bin
+ * </pre>
+ *
+ */
+public final class LexFileExport {
+
+	private int[] synSets = new int[1 << 16];
+	private byte[] lexFiles = new byte[1 << 16];
+	private int size = 0;
+
+	/**
+	 * Reads the synsets of a WordNet data file
+	 * @param input the content of data.noun
+	 * @throws IOException if it cannot be read
+	 */
+	public void read(BufferedReader input) throws IOException {
+		for(String line = input.readLine(); line != null; line = input.readLine()) {
+			//The license lines begin with spaces
+			if (line.isEmpty() || line.charAt(0) == ' ') continue;
+
+			String[] fields = line.split(" ", 3);
+			if (fields.length < 3)
+				throw new IOException("Malformed WordNet line: " + line);
+
+			add(Integer.parseInt(fields[0]), Integer.parseInt(fields[1]));
+		}
+	}
+
+	private void add(int synSet, int lexFile){
+		if (size == synSets.length){
+			synSets = Arrays.copyOf(synSets, size * 2);
+			lexFiles = Arrays.copyOf(lexFiles, size * 2);
+		}
+		synSets[size] = synSet;
+		lexFiles[size] = (byte) lexFile;
+		size++;
+	}
+
+	/**
+	 * Writes the read synsets as a {@link LexFileTable}
+	 * @param out where to write; it is not closed
+	 * @return the number of synsets written, without duplicates
+	 * @throws IOException if it cannot be written
+	 */
+	public int write(OutputStream out) throws IOException {
+		//The offsets are sorted in WordNet files, but it is not guaranteed 
+		//for other sources; sort the pairs by synset
+		long[] pairs = new long[size];
+		for (int i = 0; i < size; i++)
+			pairs[i] = ((long) synSets[i] << 8) | (lexFiles[i] & 0xFF);
+		Arrays.sort(pairs);
+
+		int[] sortedSynSets = new int[size];
+		byte[] sortedLexFiles = new byte[size];
+		int n = 0;
+		for (long pair: pairs){
+			int synSet = (int) (pair >>> 8);
+			if (n > 0 && sortedSynSets[n-1] == synSet) continue;
+			sortedSynSets[n] = synSet;
+			sortedLexFiles[n] = (byte) pair;
+			n++;
+		}
+
+		LexFileTable.write(Arrays.copyOf(sortedSynSets, n), Arrays.copyOf(sortedLexFiles, n), out);
+		return n;
+	}
+
+	public static void main(String[] args) throws IOException {
+		if (args.length != 2){
+			System.err.println("Usage: LexFileExport <WordNet data.noun> <output file>");
+			System.exit(1);
+		}
+
+		LexFileExport export = new LexFileExport();
+		try (BufferedReader input = Files.newBufferedReader(Paths.get(args[0]), StandardCharsets.ISO_8859_1)){
+			export.read(input);
+		}
+
+		Path output = Paths.get(args[1]);
+		int written;
+		try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(output))){
+			written = export.write(out);
+		}
+
+		System.out.println(written + " synsets written to " + output);
+	}
+
+}
@@ -0,0 +1,134 @@
+/* FARIS : Factual Arrangement and Representation of Ideas in Sentences
+ * FAris : Farabi & Aristotle
+ * Faris : A knight (in Arabic)
+ * --------------------------------------------------------------------
+ * Copyright (C) 2017 Abdelkrime Aries (kariminfo0@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package kariminf.faris.tools;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * A table from noun synsets to their WordNet lexicographer files, read from a compact
+ * binary file which is memory-mapped; so the classification of nouns does not need
+ * to load WordNet. The file is created by {@link LexFileExport}. <br>
+ * The format (big endian): 
+ * <pre>
+ * int MAGIC, int VERSION, int count
+ * int[count] synsets (sorted)
+ * byte[count] lex files
+ * </pre>
+ * The lookup is a binary search; the table can be used by many threads.
+ *
+ */
+public final class LexFileTable {
+
+	public static final int MAGIC = 0x464C5846; // FLXF
+	public static final int VERSION = 1;
+
+	private static final int HEADER = 12;
+
+	private final IntBuffer synSets;
+	private final ByteBuffer lexFiles;
+	private final int size;
+
+	private LexFileTable(ByteBuffer buffer){
+		if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION)
+			throw new IllegalArgumentException("Not a lex file table");
+		size = buffer.getInt(8);
+		if (size < 0 || buffer.capacity() < HEADER + 5L * size)
+			throw new IllegalArgumentException("Truncated lex file table");
+
+		ByteBuffer dup = buffer.duplicate();
+		dup.position(HEADER);
+		dup.limit(HEADER + 4 * size);
+		synSets = dup.slice().asIntBuffer();
+
+		dup = buffer.duplicate();
+		dup.position(HEADER + 4 * size);
+		dup.limit(HEADER + 5 * size);
+		lexFiles = dup.slice();
+	}
+
+	/**
+	 * Maps a table file into memory
+	 * @param path the file created by {@link LexFileExport}
+	 * @return the table
+	 * @throws IOException if the file cannot be read
+	 */
+	public static LexFileTable map(Path path) throws IOException {
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)){
+			MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+			return new LexFileTable(buffer);
+		}
+	}
+
+	/**
+	 * Writes a table
+	 * @param synSets the synsets, sorted without duplicates
+	 * @param lexFiles the lex file of each synset
+	 * @param out where to write; it is not closed
+	 * @throws IOException if it cannot be written
+	 */
+	public static void write(int[] synSets, byte[] lexFiles, OutputStream out) throws IOException {
+		if (synSets.length != lexFiles.length)
+			throw new IllegalArgumentException("Each synset must have a lex file");
+		for (int i = 1; i < synSets.length; i++)
+			if (synSets[i-1] >= synSets[i])
+				throw new IllegalArgumentException("The synsets must be sorted: " + synSets[i]);
+
+		DataOutputStream data = new DataOutputStream(out);
+		data.writeInt(MAGIC);
+		data.writeInt(VERSION);
+		data.writeInt(synSets.length);
+		for (int synSet: synSets) data.writeInt(synSet);
+		data.write(lexFiles);
+		data.flush();
+	}
+
+	/**
+	 * @param synSet a noun synset
+	 * @return its lex file number, or -1 if it is not in the table
+	 */
+	public int getLexFileNumber(int synSet){
+		int low = 0;
+		int high = size - 1;
+		while (low <= high){
+			int mid = (low + high) >>> 1;
+			int value = synSets.get(mid);
+			if (value < synSet) low = mid + 1;
+			else if (value > synSet) high = mid - 1;
+			else return lexFiles.get(mid);
+		}
+		return -1;
+	}
+
+	/**
+	 * @return the number of synsets
+	 */
+	public int size(){
+		return size;
+	}
+
+}
@@ -0,0 +1,63 @@
+/* FARIS : Factual Arrangement and Representation of Ideas in Sentences
+ * FAris : Farabi & Aristotle
+ * Faris : A knight (in Arabic)
+ * --------------------------------------------------------------------
+ * Copyright (C) 2017 Abdelkrime Aries (kariminfo0@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package kariminf.faris.tools;
+
+import java.lang.ref.WeakReference;
+import java.util.WeakHashMap;
+
+/**
+ * A dictionary of the names (of proper nouns) shared by all the representations: 
+ * each distinct name is stored once, as long as a proper noun uses it. <br>
+ * The names are weakly held, so the names of the representations which are no 
+ * longer used are collected with them. It is thread safe.
+ *
+ */
+public final class NameDictionary {
+
+	private static final WeakHashMap<String, WeakReference<String>> names = new WeakHashMap<>();
+
+	private NameDictionary(){}
+
+	/**
+	 * @param name a name
+	 * @return the stored instance of this name, added to the dictionary if it is new; 
+	 * null if the name is null
+	 */
+	public static String intern(String name){
+		if (name == null) return null;
+		synchronized (names) {
+			WeakReference<String> ref = names.get(name);
+			String result = (ref == null)? null: ref.get();
+			if (result != null) return result;
+			names.put(name, new WeakReference<>(name));
+			return name;
+		}
+	}
+
+	/**
+	 * @return the number of distinct names still in use
+	 */
+	public static int size(){
+		synchronized (names) {
+			return names.size();
+		}
+	}
+
+}
@@ -4,8 +4,12 @@ import java.util.Collection;
 import java.util.HashSet;
 
 import kariminf.faris.philosophical.Substance;
+import kariminf.faris.tools.metrics.CachedCounter;
 
 public class Search {
+
+	private static final CachedCounter HITS = new CachedCounter("search.hits");
+	private static final CachedCounter MISSES = new CachedCounter("search.misses");
 	
 	
 	/*
@@ -31,8 +35,12 @@ public class Search {
 	 */
 	public static <E> E getElement(Collection<E> set, E model){
 
-		if (! set.contains(model)) return model;
+		if (! set.contains(model)){
+			MISSES.inc();
+			return model;
+		}
 		
+		HITS.inc();
 		for(E e: set)
 			if (e.equals(model))
 				return e;
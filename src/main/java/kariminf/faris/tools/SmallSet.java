@@ -0,0 +1,251 @@
+/* FARIS : Factual Arrangement and Representation of Ideas in Sentences
+ * FAris : Farabi & Aristotle
+ * Faris : A knight (in Arabic)
+ * --------------------------------------------------------------------
+ * Copyright (C) 2017 Abdelkrime Aries (kariminfo0@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package kariminf.faris.tools;
+
+import java.util.AbstractSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * A set for the attributes of the entities, which are mostly empty or small. <br>
+ * Up to {@value #INLINE_SIZE} elements are stored in the fields of the set itself; 
+ * beyond, they are moved to a hash set. It can compare its elements by identity.<br>
+ * The attributes start as the shared empty set, and a SmallSet is allocated when the 
+ * first element is added:
+ * <pre>
+ * private Set&lt;Place&gt; locations = SmallSet.empty();
+ * ...
+ * locations = SmallSet.add(locations, place);
+ * </pre>
+ * The elements can't be null.
+ *
+ * @param <E> the type of the elements
+ */
+public final class SmallSet<E> extends AbstractSet<E> {
+
+	public static final int INLINE_SIZE = 4;
+
+	private final boolean identity;
+
+	//The inline elements are packed at the beginning
+	private Object e0, e1, e2, e3;
+
+	//When there are more than INLINE_SIZE elements
+	private Set<E> large;
+
+	public SmallSet(){
+		this(false);
+	}
+
+	/**
+	 * @param identity true if the elements are compared by identity
+	 */
+	public SmallSet(boolean identity){
+		this.identity = identity;
+	}
+
+	//=====================================================================
+	//======================= LAZY ALLOCATION =============================
+	//=====================================================================
+
+	/**
+	 * @return the shared immutable empty set
+	 */
+	public static <E> Set<E> empty(){
+		return Collections.emptySet();
+	}
+
+	private static <E> Set<E> allocate(Set<E> set, boolean identity){
+		return (set == Collections.<E>emptySet())? new SmallSet<E>(identity): set;
+	}
+
+	/**
+	 * Adds an element to a set, allocating it if it is the shared empty set
+	 * @param set a set or {@link #empty()}
+	 * @param element the element to add
+	 * @return the set to keep
+	 */
+	public static <E> Set<E> add(Set<E> set, E element){
+		set = allocate(set, false);
+		set.add(element);
+		return set;
+	}
+
+	/**
+	 * Same as {@link #add(Set, Object)}, but an allocated set compares its 
+	 * elements by identity
+	 */
+	public static <E> Set<E> addIdentity(Set<E> set, E element){
+		set = allocate(set, true);
+		set.add(element);
+		return set;
+	}
+
+	/**
+	 * Adds elements to a set, allocating it if it is the shared empty set 
+	 * and some elements are added
+	 * @param set a set or {@link #empty()}
+	 * @param elements the elements to add
+	 * @return the set to keep
+	 */
+	public static <E> Set<E> addAll(Set<E> set, Collection<? extends E> elements){
+		if (elements.isEmpty()) return set;
+		set = allocate(set, false);
+		set.addAll(elements);
+		return set;
+	}
+
+	//=====================================================================
+	//============================= SET ===================================
+	//=====================================================================
+
+	private Object get(int i){
+		switch (i) {
+		case 0: return e0;
+		case 1: return e1;
+		case 2: return e2;
+		case 3: return e3;
+		default: return null;
+		}
+	}
+
+	private void set(int i, Object e){
+		switch (i) {
+		case 0: e0 = e; break;
+		case 1: e1 = e; break;
+		case 2: e2 = e; break;
+		default: e3 = e; break;
+		}
+	}
+
+	private boolean matches(Object e, Object o){
+		return e == o || (! identity && e.equals(o));
+	}
+
+	private int indexOf(Object o){
+		for (int i = 0; i < INLINE_SIZE; i++){
+			Object e = get(i);
+			if (e == null) return -1;
+			if (matches(e, o)) return i;
+		}
+		return -1;
+	}
+
+	@Override
+	public int size() {
+		if (large != null) return large.size();
+		int size = 0;
+		while (size < INLINE_SIZE && get(size) != null) size++;
+		return size;
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return (large != null)? large.isEmpty(): e0 == null;
+	}
+
+	@Override
+	public boolean contains(Object o) {
+		if (large != null) return large.contains(o);
+		return o != null && indexOf(o) >= 0;
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public boolean add(E e) {
+		if (e == null) throw new NullPointerException("SmallSet doesn't accept null");
+		if (large != null) return large.add(e);
+
+		int size = 0;
+		for (; size < INLINE_SIZE; size++){
+			Object element = get(size);
+			if (element == null) break;
+			if (matches(element, e)) return false;
+		}
+
+		if (size < INLINE_SIZE){
+			set(size, e);
+			return true;
+		}
+
+		large = identity? Collections.newSetFromMap(new IdentityHashMap<E, Boolean>()): new HashSet<E>();
+		for (int i = 0; i < INLINE_SIZE; i++){
+			large.add((E) get(i));
+			set(i, null);
+		}
+		return large.add(e);
+	}
+
+	@Override
+	public boolean remove(Object o) {
+		if (large != null) return large.remove(o);
+		if (o == null) return false;
+		int i = indexOf(o);
+		if (i < 0) return false;
+		removeAt(i);
+		return true;
+	}
+
+	private void removeAt(int i){
+		for (; i < INLINE_SIZE - 1; i++) set(i, get(i + 1));
+		set(INLINE_SIZE - 1, null);
+	}
+
+	@Override
+	public void clear() {
+		large = null;
+		e0 = e1 = e2 = e3 = null;
+	}
+
+	@Override
+	public Iterator<E> iterator() {
+		if (large != null) return large.iterator();
+		return new Iterator<E>(){
+			private int next = 0;
+			private boolean removable = false;
+
+			@Override
+			public boolean hasNext() {
+				return next < INLINE_SIZE && get(next) != null;
+			}
+
+			@SuppressWarnings("unchecked")
+			@Override
+			public E next() {
+				if (! hasNext()) throw new NoSuchElementException();
+				removable = true;
+				return (E) get(next++);
+			}
+
+			@Override
+			public void remove() {
+				if (! removable) throw new IllegalStateException();
+				removable = false;
+				removeAt(--next);
+			}
+		};
+	}
+
+}
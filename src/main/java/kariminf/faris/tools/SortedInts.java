@@ -0,0 +1,110 @@
+/* FARIS : Factual Arrangement and Representation of Ideas in Sentences
+ * FAris : Farabi & Aristotle
+ * Faris : A knight (in Arabic)
+ * --------------------------------------------------------------------
+ * Copyright (C) 2017 Abdelkrime Aries (kariminfo0@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package kariminf.faris.tools;
+
+import java.util.Arrays;
+
+/**
+ * Operations on sets of int values stored as sorted arrays without duplicates 
+ * (synsets of qualities, for example). The arrays are never modified: the 
+ * operations which add values return a new array.
+ *
+ */
+public final class SortedInts {
+
+	public static final int[] EMPTY = new int[0];
+
+	private SortedInts(){}
+
+	/**
+	 * @param values some values
+	 * @return a new sorted array of the values, without duplicates
+	 */
+	public static int[] of(int... values){
+		if (values.length == 0) return EMPTY;
+		int[] result = values.clone();
+		Arrays.sort(result);
+		int size = 1;
+		for (int i = 1; i < result.length; i++)
+			if (result[i] != result[size-1]) result[size++] = result[i];
+		return (size == result.length)? result: Arrays.copyOf(result, size);
+	}
+
+	public static boolean contains(int[] set, int value){
+		return Arrays.binarySearch(set, value) >= 0;
+	}
+
+	/**
+	 * @param set a sorted set
+	 * @param value a value
+	 * @return the same array if the value is there, or a new one with it
+	 */
+	public static int[] add(int[] set, int value){
+		int i = Arrays.binarySearch(set, value);
+		if (i >= 0) return set;
+		i = -i - 1;
+		int[] result = new int[set.length + 1];
+		System.arraycopy(set, 0, result, 0, i);
+		result[i] = value;
+		System.arraycopy(set, i, result, i + 1, set.length - i);
+		return result;
+	}
+
+	/**
+	 * @param set1 a sorted set
+	 * @param set2 another one
+	 * @return the union, which is one of the arrays if it contains the other
+	 */
+	public static int[] union(int[] set1, int[] set2){
+		if (isSubset(set2, set1)) return set1;
+		if (isSubset(set1, set2)) return set2;
+		int[] result = new int[set1.length + set2.length];
+		int i = 0, j = 0, size = 0;
+		while (i < set1.length && j < set2.length){
+			if (set1[i] < set2[j]) result[size++] = set1[i++];
+			else if (set1[i] > set2[j]) result[size++] = set2[j++];
+			else {
+				result[size++] = set1[i++];
+				j++;
+			}
+		}
+		while (i < set1.length) result[size++] = set1[i++];
+		while (j < set2.length) result[size++] = set2[j++];
+		return Arrays.copyOf(result, size);
+	}
+
+	/**
+	 * A merge of the two arrays, which stops at the first missing value
+	 * @param set a sorted set
+	 * @param superset another one
+	 * @return true if all the values of the set are in the superset
+	 */
+	public static boolean isSubset(int[] set, int[] superset){
+		if (set.length > superset.length) return false;
+		int j = 0;
+		for (int value: set){
+			while (j < superset.length && superset[j] < value) j++;
+			if (j == superset.length || superset[j] != value) return false;
+			j++;
+		}
+		return true;
+	}
+
+}
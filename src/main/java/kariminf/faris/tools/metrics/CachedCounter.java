@@ -0,0 +1,81 @@
+/* FARIS : Factual Arrangement and Representation of Ideas in Sentences
+ * FAris : Farabi & Aristotle
+ * Faris : A knight (in Arabic)
+ * --------------------------------------------------------------------
+ * Copyright (C) 2017 Abdelkrime Aries (kariminfo0@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package kariminf.faris.tools.metrics;
+
+/**
+ * A counter of the current registry, looked up once per registry; used in 
+ * the hot paths instead of {@link Metrics#counter(String)}.
+ * <pre>
+ * private static final CachedCounter HITS = new CachedCounter("search.hits");
+ * ...
+ * HITS.inc();
+ * </pre>
+ *
+ */
+public final class CachedCounter {
+
+	//The counter and the registry it comes from, replaced together
+	private static final class Binding {
+		final MetricsRegistry registry;
+		final Counter counter;
+
+		Binding(MetricsRegistry registry, Counter counter){
+			this.registry = registry;
+			this.counter = counter;
+		}
+	}
+
+	private final String name;
+	private volatile Binding binding;
+
+	/**
+	 * @param name the name of the counter
+	 */
+	public CachedCounter(String name){
+		this.name = name;
+	}
+
+	/**
+	 * @return the counter of the current registry
+	 */
+	public Counter get(){
+		MetricsRegistry registry = Metrics.getRegistry();
+		Binding b = binding;
+		if (b == null || b.registry != registry){
+			b = new Binding(registry, registry.counter(name));
+			binding = b;
+		}
+		return b.counter;
+	}
+
+	public void inc(){
+		get().inc();
+	}
+
+	public void add(long n){
+		get().add(n);
+	}
+
+	public String getName(){
+		return name;
+	}
+
+}
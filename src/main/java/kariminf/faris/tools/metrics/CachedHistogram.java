@@ -0,0 +1,76 @@
+/* FARIS : Factual Arrangement and Representation of Ideas in Sentences
+ * FAris : Farabi & Aristotle
+ * Faris : A knight (in Arabic)
+ * --------------------------------------------------------------------
+ * Copyright (C) 2017 Abdelkrime Aries (kariminfo0@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package kariminf.faris.tools.metrics;
+
+/**
+ * A histogram of the current registry, looked up once per registry; used in 
+ * the hot paths instead of {@link Metrics#histogram(String)}.
+ * <pre>
+ * private static final CachedHistogram TIME = new CachedHistogram("generator.time");
+ * ...
+ * TIME.record(System.nanoTime() - start);
+ * </pre>
+ *
+ */
+public final class CachedHistogram {
+
+	//The histogram and the registry it comes from, replaced together
+	private static final class Binding {
+		final MetricsRegistry registry;
+		final Histogram histogram;
+
+		Binding(MetricsRegistry registry, Histogram histogram){
+			this.registry = registry;
+			this.histogram = histogram;
+		}
+	}
+
+	private final String name;
+	private volatile Binding binding;
+
+	/**
+	 * @param name the name of the histogram
+	 */
+	public CachedHistogram(String name){
+		this.name = name;
+	}
+
+	/**
+	 * @return the histogram of the current registry
+	 */
+	public Histogram get(){
+		MetricsRegistry registry = Metrics.getRegistry();
+		Binding b = binding;
+		if (b == null || b.registry != registry){
+			b = new Binding(registry, registry.histogram(name));
+			binding = b;
+		}
+		return b.histogram;
+	}
+
+	public void record(long value){
+		get().record(value);
+	}
+
+	public String getName(){
+		return name;
+	}
+
+}
@@ -0,0 +1,98 @@
+/* FARIS : Factual Arrangement and Representation of Ideas in Sentences
+ * FAris : Farabi & Aristotle
+ * Faris : A knight (in Arabic)
+ * --------------------------------------------------------------------
+ * Copyright (C) 2017 Abdelkrime Aries (kariminfo0@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package kariminf.faris.tools.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A histogram of positive values (durations in nanoseconds, sizes), which can be
+ * updated by many threads. <br>
+ * The values are counted in power-of-two buckets, so the percentiles are approximated
+ * by the upper bound of their bucket (at most twice the real value).
+ *
+ */
+public class Histogram {
+
+	//bucket i contains the values having i significant bits
+	private final AtomicLongArray buckets = new AtomicLongArray(Long.SIZE + 1);
+
+	private final LongAdder count = new LongAdder();
+	private final LongAdder sum = new LongAdder();
+	private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+	/**
+	 * @param value a value; the negative ones are recorded as 0
+	 */
+	public void record(long value){
+		if (value < 0) value = 0;
+		buckets.incrementAndGet(Long.SIZE - Long.numberOfLeadingZeros(value));
+		count.increment();
+		sum.add(value);
+		max.accumulate(value);
+	}
+
+	public long getCount(){
+		return count.sum();
+	}
+
+	public long getSum(){
+		return sum.sum();
+	}
+
+	public long getMax(){
+		return max.get();
+	}
+
+	public double getMean(){
+		long n = count.sum();
+		return (n == 0)? 0.0: (double) sum.sum() / n;
+	}
+
+	/**
+	 * @param p a percentile between 0 and 100
+	 * @return an upper bound of the value at this percentile
+	 */
+	public long getPercentile(double p){
+		long n = count.sum();
+		if (n == 0) return 0;
+		long rank = (long) Math.ceil(n * p / 100.0);
+		long seen = 0;
+		for (int i = 0; i < buckets.length(); i++){
+			seen += buckets.get(i);
+			if (seen >= rank && seen > 0){
+				long bound = (i == 0)? 0: (i >= Long.SIZE - 1)? Long.MAX_VALUE: (1L << i) - 1;
+				return Math.min(bound, getMax());
+			}
+		}
+		return getMax();
+	}
+
+	/* (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return "count=" + getCount() + ", mean=" + getMean() 
+			+ ", p99=" + getPercentile(99) + ", max=" + getMax();
+	}
+
+}
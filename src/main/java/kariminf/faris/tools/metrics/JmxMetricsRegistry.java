@@ -0,0 +1,162 @@
+/* FARIS : Factual Arrangement and Representation of Ideas in Sentences
+ * FAris : Farabi & Aristotle
+ * Faris : A knight (in Arabic)
+ * --------------------------------------------------------------------
+ * Copyright (C) 2017 Abdelkrime Aries (kariminfo0@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package kariminf.faris.tools.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import javax.management.Attribute;
+import javax.management.AttributeList;
+import javax.management.AttributeNotFoundException;
+import javax.management.DynamicMBean;
+import javax.management.JMException;
+import javax.management.MBeanAttributeInfo;
+import javax.management.MBeanInfo;
+import javax.management.MBeanOperationInfo;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.ReflectionException;
+
+/**
+ * A registry which publishes its metrics as attributes of an MBean: 
+ * a counter "x" gives the attribute "x", and a histogram "y" gives the attributes
+ * "y.count", "y.mean", "y.p50", "y.p99" and "y.max". <br>
+ * The attributes are read when asked, so the new metrics appear without
+ * registering the MBean again.
+ *
+ */
+public class JmxMetricsRegistry extends SimpleMetricsRegistry implements DynamicMBean {
+
+	public static final String OBJECT_NAME = "kariminf.faris:type=Metrics";
+
+	private static final String[] HISTOGRAM_ATTRIBUTES = {"count", "mean", "p50", "p99", "max"};
+
+	private ObjectName objectName;
+
+	/**
+	 * Registers this registry in the platform MBean server
+	 * @return true if it is registered
+	 */
+	public boolean register(){
+		try {
+			MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+			ObjectName name = new ObjectName(OBJECT_NAME);
+			if (server.isRegistered(name)) server.unregisterMBean(name);
+			server.registerMBean(this, name);
+			objectName = name;
+			return true;
+		} catch (JMException | SecurityException e) {
+			return false;
+		}
+	}
+
+	/**
+	 * Removes this registry from the platform MBean server
+	 */
+	public void unregister(){
+		if (objectName == null) return;
+		try {
+			ManagementFactory.getPlatformMBeanServer().unregisterMBean(objectName);
+		} catch (JMException | SecurityException e) {
+		}
+		objectName = null;
+	}
+
+	private Object value(Histogram histogram, String attribute){
+		switch (attribute){
+		case "count": return histogram.getCount();
+		case "mean": return histogram.getMean();
+		case "p50": return histogram.getPercentile(50);
+		case "p99": return histogram.getPercentile(99);
+		case "max": return histogram.getMax();
+		default: return null;
+		}
+	}
+
+	//=====================================================================
+	//========================== DynamicMBean =============================
+	//=====================================================================
+
+	@Override
+	public Object getAttribute(String attribute) throws AttributeNotFoundException {
+		Counter counter = getCounters().get(attribute);
+		if (counter != null) return counter.get();
+
+		int dot = attribute.lastIndexOf('.');
+		if (dot > 0){
+			Histogram histogram = getHistograms().get(attribute.substring(0, dot));
+			Object value = (histogram == null)? null: value(histogram, attribute.substring(dot + 1));
+			if (value != null) return value;
+		}
+
+		throw new AttributeNotFoundException(attribute);
+	}
+
+	@Override
+	public AttributeList getAttributes(String[] attributes) {
+		AttributeList result = new AttributeList();
+		for (String attribute: attributes){
+			try {
+				result.add(new Attribute(attribute, getAttribute(attribute)));
+			} catch (AttributeNotFoundException e) {
+			}
+		}
+		return result;
+	}
+
+	@Override
+	public void setAttribute(Attribute attribute) throws AttributeNotFoundException {
+		throw new AttributeNotFoundException("Metrics are read-only: " + attribute.getName());
+	}
+
+	@Override
+	public AttributeList setAttributes(AttributeList attributes) {
+		return new AttributeList();
+	}
+
+	@Override
+	public Object invoke(String actionName, Object[] params, String[] signature) 
+			throws ReflectionException {
+		//There are no operations
+		throw new ReflectionException(new NoSuchMethodException(actionName));
+	}
+
+	@Override
+	public MBeanInfo getMBeanInfo() {
+		List<MBeanAttributeInfo> attributes = new ArrayList<>();
+
+		for (String name: getCounters().keySet())
+			attributes.add(new MBeanAttributeInfo(name, "long", "counter", true, false, false));
+
+		for (Map.Entry<String, Histogram> e: getHistograms().entrySet())
+			for (String attribute: HISTOGRAM_ATTRIBUTES){
+				String type = attribute.equals("mean")? "double": "long";
+				attributes.add(new MBeanAttributeInfo(e.getKey() + "." + attribute, type, 
+						"histogram", true, false, false));
+			}
+
+		return new MBeanInfo(getClass().getName(), "Faris metrics", 
+				attributes.toArray(new MBeanAttributeInfo[attributes.size()]), 
+				null, new MBeanOperationInfo[0], null);
+	}
+
+}
@@ -0,0 +1,100 @@
+/* FARIS : Factual Arrangement and Representation of Ideas in Sentences
+ * FAris : Farabi & Aristotle
+ * Faris : A knight (in Arabic)
+ * --------------------------------------------------------------------
+ * Copyright (C) 2017 Abdelkrime Aries (kariminfo0@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package kariminf.faris.tools.metrics;
+
+/**
+ * The metrics of Faris. The registry can be replaced to send the metrics elsewhere;
+ * by default, they are kept in memory. They are published as a JMX MBean 
+ * ({@link JmxMetricsRegistry#OBJECT_NAME}) only after {@link #enableJmx()}.
+ * <br>
+ * The used metrics:
+ * <ul>
+ * <li>ston.parsed, ston.failed: counts of STON descriptions</li>
+ * <li>ston.parse.time, ston.read.time, ston.merge.time: durations (ns) of parsing 
+ * (sentrep parser or StonReader) and of merging into Faris (parseSuccess)</li>
+ * <li>bin.decoded, bin.failed, bin.decode.time: the same for binary descriptions</li>
+ * <li>search.hits, search.misses: canonicalization of elements (Search.getElement)</li>
+ * <li>action.updates: actions merged with an equal one</li>
+ * <li>mind.thoughts.&lt;MentalState&gt;: new thoughts per mental state</li>
+ * <li>generator.time, generator.thoughts: durations (ns) of generation and 
+ * number of generated thoughts</li>
+ * </ul>
+ *
+ */
+public final class Metrics {
+
+	private static volatile MetricsRegistry registry = new SimpleMetricsRegistry();
+
+	private Metrics(){}
+
+	/**
+	 * Publishes the metrics as a JMX MBean: the current registry is replaced by
+	 * a {@link JmxMetricsRegistry}, if it is not one already, and registered.
+	 * @return true if it is registered
+	 */
+	public static synchronized boolean enableJmx(){
+		MetricsRegistry current = registry;
+		if (current instanceof JmxMetricsRegistry)
+			return ((JmxMetricsRegistry) current).register();
+		JmxMetricsRegistry jmx = new JmxMetricsRegistry();
+		setRegistry(jmx);
+		return jmx.register();
+	}
+
+	/**
+	 * @return the current registry
+	 */
+	public static MetricsRegistry getRegistry(){
+		return registry;
+	}
+
+	/**
+	 * Replaces the registry; the metrics of the old one are not copied.
+	 * @param newRegistry the new registry
+	 */
+	public static void setRegistry(MetricsRegistry newRegistry){
+		if (newRegistry == null) throw new NullPointerException("registry");
+		MetricsRegistry old = registry;
+		registry = newRegistry;
+		if (old instanceof JmxMetricsRegistry && old != newRegistry)
+			((JmxMetricsRegistry) old).unregister();
+	}
+
+	/**
+	 * Looks up a counter in the current registry; the hot paths use 
+	 * a {@link CachedCounter} instead.
+	 * @param name the name of the counter
+	 * @return the counter
+	 */
+	public static Counter counter(String name){
+		return registry.counter(name);
+	}
+
+	/**
+	 * Looks up a histogram in the current registry; the hot paths use 
+	 * a {@link CachedHistogram} instead.
+	 * @param name the name of the histogram
+	 * @return the histogram
+	 */
+	public static Histogram histogram(String name){
+		return registry.histogram(name);
+	}
+
+}
@@ -0,0 +1,54 @@
+/* FARIS : Factual Arrangement and Representation of Ideas in Sentences
+ * FAris : Farabi & Aristotle
+ * Faris : A knight (in Arabic)
+ * --------------------------------------------------------------------
+ * Copyright (C) 2017 Abdelkrime Aries (kariminfo0@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package kariminf.faris.tools.metrics;
+
+import java.util.Map;
+
+/**
+ * A registry of named metrics. <br>
+ * The same name gives always the same metric; it is created at the first call.
+ * Implementations must be thread safe.
+ *
+ */
+public interface MetricsRegistry {
+
+	/**
+	 * @param name the name of the counter
+	 * @return the counter having this name
+	 */
+	public Counter counter(String name);
+
+	/**
+	 * @param name the name of the histogram
+	 * @return the histogram having this name
+	 */
+	public Histogram histogram(String name);
+
+	/**
+	 * @return the counters by name
+	 */
+	public Map<String, Counter> getCounters();
+
+	/**
+	 * @return the histograms by name
+	 */
+	public Map<String, Histogram> getHistograms();
+
+}
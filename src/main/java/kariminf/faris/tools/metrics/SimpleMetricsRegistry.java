@@ -0,0 +1,73 @@
+/* FARIS : Factual Arrangement and Representation of Ideas in Sentences
+ * FAris : Farabi & Aristotle
+ * Faris : A knight (in Arabic)
+ * --------------------------------------------------------------------
+ * Copyright (C) 2017 Abdelkrime Aries (kariminfo0@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package kariminf.faris.tools.metrics;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A registry which keeps the metrics in memory
+ *
+ */
+public class SimpleMetricsRegistry implements MetricsRegistry {
+
+	private final ConcurrentHashMap<String, Counter> counters = new ConcurrentHashMap<>();
+	private final ConcurrentHashMap<String, Histogram> histograms = new ConcurrentHashMap<>();
+
+	@Override
+	public Counter counter(String name) {
+		Counter counter = counters.get(name);
+		if (counter != null) return counter;
+		return counters.computeIfAbsent(name, n -> new Counter());
+	}
+
+	@Override
+	public Histogram histogram(String name) {
+		Histogram histogram = histograms.get(name);
+		if (histogram != null) return histogram;
+		return histograms.computeIfAbsent(name, n -> new Histogram());
+	}
+
+	@Override
+	public Map<String, Counter> getCounters() {
+		return Collections.unmodifiableMap(new TreeMap<>(counters));
+	}
+
+	@Override
+	public Map<String, Histogram> getHistograms() {
+		return Collections.unmodifiableMap(new TreeMap<>(histograms));
+	}
+
+	/* (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		String result = "";
+		for (Map.Entry<String, Counter> e: getCounters().entrySet())
+			result += e.getKey() + ": " + e.getValue() + "\n";
+		for (Map.Entry<String, Histogram> e: getHistograms().entrySet())
+			result += e.getKey() + ": " + e.getValue() + "\n";
+		return result;
+	}
+
+}
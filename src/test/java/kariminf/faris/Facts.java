@@ -0,0 +1,102 @@
+package kariminf.faris;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import kariminf.faris.knowledge.Faris;
+import kariminf.faris.knowledge.Faris.FarisWrapper;
+import kariminf.faris.knowledge.Mind.MentalState;
+import kariminf.faris.linguistic.Verb;
+import kariminf.faris.philosophical.Action;
+import kariminf.faris.philosophical.QuantSubstance;
+import kariminf.faris.philosophical.Substance;
+import kariminf.faris.process.Generator;
+import kariminf.faris.process.bin.BinGeneratorHandler;
+
+/**
+ * Builds the facts used by the tests: an agent, a verb and a theme
+ *
+ */
+public final class Facts {
+
+	private Facts(){}
+
+	/**
+	 * @param faris a Faris representation
+	 * @return a wrapper giving access to its collections
+	 */
+	public static FarisWrapper wrap(Faris faris){
+		FarisWrapper wrapper = new FarisWrapper(faris);
+		wrapper.unsafeAddAll();
+		return wrapper;
+	}
+
+	/**
+	 * @param verb the synset of the verb
+	 * @param agent the agent
+	 * @param theme the theme, or null
+	 * @return a new action
+	 */
+	public static Action action(int verb, QuantSubstance agent, QuantSubstance theme){
+		Action action = Action.getNew(new Verb(verb));
+		List<QuantSubstance> agents = new ArrayList<>();
+		agents.add(agent);
+		action.addConjunctSubjects(agents);
+		if (theme != null){
+			List<QuantSubstance> themes = new ArrayList<>();
+			themes.add(theme);
+			action.addConjunctObjects(themes);
+		}
+		return action;
+	}
+
+	/**
+	 * @param verb the synset of the verb
+	 * @param agent the agent
+	 * @param theme the theme, or null
+	 * @return a new action
+	 */
+	public static Action action(int verb, Substance agent, Substance theme){
+		return action(verb, new QuantSubstance(agent),
+				(theme == null)? null: new QuantSubstance(theme));
+	}
+
+	/**
+	 * Adds an action, with its substances, as a fact of the main mind
+	 * @param wrapper the wrapper of Faris
+	 * @param action the action
+	 * @return the action
+	 */
+	public static Action addFact(FarisWrapper wrapper, Action action){
+		for (List<QuantSubstance> conj: action.getAgents())
+			for (QuantSubstance sub: conj) wrapper.substances.add(sub.getSubstance());
+		for (List<QuantSubstance> conj: action.getThemes())
+			for (QuantSubstance sub: conj) wrapper.substances.add(sub.getSubstance());
+		wrapper.actions.add(action);
+		wrapper.minds.get("$").addAction(MentalState.FACT, action);
+		return action;
+	}
+
+	/**
+	 * Adds a new action as a fact of the main mind
+	 * @param wrapper the wrapper of Faris
+	 * @param verb the synset of the verb
+	 * @param agent the agent
+	 * @param theme the theme, or null
+	 * @return the action
+	 */
+	public static Action addFact(FarisWrapper wrapper, int verb, Substance agent, Substance theme){
+		return addFact(wrapper, action(verb, agent, theme));
+	}
+
+	/**
+	 * @param faris a Faris representation
+	 * @return its binary description
+	 */
+	public static byte[] toBin(Faris faris){
+		BinGeneratorHandler handler = new BinGeneratorHandler();
+		faris.process(new Generator(handler));
+		return handler.generate();
+	}
+
+}
@@ -0,0 +1,62 @@
+package kariminf.faris.knowledge;
+
+import static org.junit.Assert.*;
+import static kariminf.faris.Facts.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import kariminf.faris.linguistic.Adverb;
+import kariminf.faris.linguistic.Verb;
+import kariminf.faris.philosophical.Action;
+import kariminf.faris.philosophical.QuantSubstance;
+import kariminf.faris.philosophical.Substance;
+import kariminf.faris.process.ston.Concepts;
+
+public class ActionIndexTest {
+
+	@Test
+	public void findTest(){
+		QuantSubstance mother = new QuantSubstance(new Substance(10332385));
+		QuantSubstance child = new QuantSubstance(new Substance(9917593));
+		QuantSubstance food = new QuantSubstance(new Substance(21265));
+		QuantSubstance car = new QuantSubstance(new Substance(2958343));
+
+		ActionIndex index = new ActionIndex();
+		Action eat = action(1168468, mother, food);
+		index.add(eat);
+		index.add(action(2684, child, car));
+		assertEquals(2, index.size());
+
+		assertSame(eat, index.find(action(1168468, mother, food)));
+		assertNull(index.find(action(1168468, child, food)));
+		assertNull(index.find(action(2684, mother, food)));
+
+		//The child also eats the food
+		Action also = action(1168468, child, food);
+		also.addAdverb(new Adverb(Concepts.ALSO), null);
+		assertSame(eat, index.find(also));
+
+		//The merged action is found by its new doers
+		eat.update(also);
+		index.add(eat);
+		assertEquals(2, index.size());
+		assertNull(index.find(action(1168468, mother, food)));
+		Action merged = Action.getNew(new Verb(1168468));
+		List<QuantSubstance> agents = new ArrayList<>();
+		agents.add(child);
+		agents.add(mother);
+		merged.addConjunctSubjects(agents);
+		List<QuantSubstance> themes = new ArrayList<>();
+		themes.add(food);
+		merged.addConjunctObjects(themes);
+		assertSame(eat, index.find(merged));
+
+		index.remove(eat);
+		assertNull(index.find(merged));
+		assertEquals(1, index.size());
+	}
+
+}
@@ -0,0 +1,45 @@
+package kariminf.faris.knowledge;
+
+import static org.junit.Assert.*;
+import static kariminf.faris.Facts.*;
+
+import org.junit.Test;
+
+import kariminf.faris.knowledge.Faris.FarisWrapper;
+import kariminf.faris.knowledge.Mind.MentalState;
+import kariminf.faris.philosophical.Action;
+import kariminf.faris.philosophical.QuantSubstance;
+import kariminf.faris.philosophical.Substance;
+
+public class FarisViewsTest {
+
+	@Test
+	public void viewsTest(){
+		Faris faris = new Faris();
+		FarisWrapper wrapper = wrap(faris);
+
+		QuantSubstance mother = new QuantSubstance(new Substance(10332385));
+		Action eat = addFact(wrapper, action(1168468, mother, new QuantSubstance(new Substance(21265))));
+
+		Mind main = wrapper.minds.get("$");
+		main.addOpinion(MentalState.THINK, mother).addAction(MentalState.FACT, eat);
+
+		assertEquals(2, faris.minds().count());
+		assertEquals(2, faris.thoughts().count());
+		assertEquals(2, faris.roles().parallel().count());
+		assertEquals(1, main.thoughts().count());
+
+		try {
+			faris.getActions().clear();
+			fail("The actions view must be unmodifiable");
+		} catch (UnsupportedOperationException e){}
+
+		try {
+			eat.getPlaces().clear();
+			fail("The places view must be unmodifiable");
+		} catch (UnsupportedOperationException e){}
+
+		assertEquals(1, faris.getActions().size());
+	}
+
+}
@@ -0,0 +1,52 @@
+package kariminf.faris.knowledge;
+
+import static org.junit.Assert.*;
+import static kariminf.faris.Facts.*;
+
+import org.junit.Test;
+
+import kariminf.faris.knowledge.Faris.FarisWrapper;
+import kariminf.faris.philosophical.Substance;
+
+public class GraphAnalyticsTest {
+
+	@Test
+	public void graphTest(){
+		Faris faris = new Faris();
+		FarisWrapper wrapper = wrap(faris);
+
+		Substance mother = new Substance(10332385);
+		Substance child = new Substance(9917593);
+		Substance food = new Substance(21265);
+		Substance car = new Substance(2958343);
+		Substance man = new Substance(10287213);
+
+		//the mother is in the middle
+		addFact(wrapper, 1168468, mother, food);
+		addFact(wrapper, 1168468, child, mother);
+		addFact(wrapper, 2684, mother, child);
+		//another component
+		addFact(wrapper, 1543123, man, car);
+
+		GraphAnalytics graph = GraphAnalytics.of(faris);
+		assertEquals(5, graph.substanceCount());
+		assertEquals(4, graph.actionCount());
+		assertEquals(8, graph.edgeCount());
+
+		int[] components = graph.components();
+		assertEquals(2, GraphAnalytics.componentCount(components));
+
+		int[] degrees = graph.degrees();
+		double[] scores = new double[degrees.length];
+		for (int i = 0; i < degrees.length; i++) scores[i] = degrees[i];
+		assertSame(mother, graph.topSubstances(scores, 1).get(0));
+
+		double[] ranks = graph.pageRank();
+		double sum = 0;
+		for (double rank: ranks) sum += rank;
+		assertEquals(1.0, sum, 1e-6);
+		assertSame(mother, graph.topSubstances(ranks, 1).get(0));
+		assertEquals(5, graph.topSubstances(ranks, 10).size());
+	}
+
+}
@@ -0,0 +1,120 @@
+package kariminf.faris.knowledge;
+
+import static org.junit.Assert.*;
+import static kariminf.faris.Facts.*;
+
+import java.util.List;
+
+import org.junit.Test;
+
+import kariminf.faris.linguistic.Adjective;
+import kariminf.faris.linguistic.Noun;
+import kariminf.faris.linguistic.ProperNoun;
+import kariminf.faris.philosophical.Action;
+import kariminf.faris.philosophical.Quality;
+import kariminf.faris.philosophical.QuantSubstance;
+import kariminf.faris.philosophical.Substance;
+
+public class NameIndexTest {
+
+	//man
+	private static final int MAN = 10287213;
+
+	private static Substance named(String name){
+		Substance result = new Substance(MAN);
+		result.setNounSpecif(name, "N");
+		return result;
+	}
+
+	private static byte[] describe(String name, int verb, int... adjSynSets){
+		Faris faris = new Faris();
+		Substance agent = named(name);
+		for (int adj: adjSynSets) agent.addQuality(new Quality(new Adjective(adj)));
+		addFact(wrap(faris), verb, agent, null);
+		return toBin(faris);
+	}
+
+	@Test
+	public void properNounTest(){
+		ProperNoun karim = new ProperNoun(Noun.getNew(MAN), "Karim");
+		ProperNoun karim2 = new ProperNoun(Noun.getNew(MAN), new String("Karim"));
+		ProperNoun naguib = new ProperNoun(Noun.getNew(MAN), "Naguib");
+		assertEquals(karim, karim2);
+		assertEquals(karim.hashCode(), karim2.hashCode());
+		assertSame(karim.getName(), karim2.getName());
+		assertNotEquals(karim, naguib);
+		assertEquals("Naguib", ProperNoun.getNew(naguib).getName());
+		assertNotEquals(named("Karim"), named("Naguib"));
+
+		ProperNoun unnamed = new ProperNoun(Noun.getNew(MAN), null);
+		assertNull(unnamed.getName());
+		assertEquals(unnamed, new ProperNoun(Noun.getNew(MAN), null));
+		assertEquals(unnamed.hashCode(), new ProperNoun(Noun.getNew(MAN), null).hashCode());
+		assertNotEquals(unnamed, karim);
+	}
+
+	@Test
+	public void lookupTest(){
+		NameIndex index = new NameIndex();
+		Substance naguib = named("Naguib");
+		Substance nabil = named("Nabil");
+		Substance naguibMahfouz = named("Naguib Mahfouz");
+		for (Substance sub: new Substance[]{naguib, nabil, naguibMahfouz, new Substance(MAN)})
+			index.add(sub);
+		index.add(naguib);
+		assertEquals(3, index.size());
+
+		assertEquals(1, index.exact("Naguib").size());
+		assertSame(naguib, index.exact("Naguib").get(0));
+		assertTrue(index.exact("Nag").isEmpty());
+		assertEquals(3, index.prefix("Na").size());
+		assertEquals(2, index.prefix("Nag").size());
+		assertSame(nabil, index.prefix("Na").get(0));
+		assertTrue(index.prefix("K").isEmpty());
+
+		assertSame(naguib, index.resolve(named("Naguib")));
+		assertNull(index.resolve(named("Karim")));
+		assertNull(index.resolve(new Substance(MAN)));
+
+		//A noun with other attributes is another entity, since it cannot be updated
+		Substance theNaguib = new Substance(MAN);
+		theNaguib.setNounSpecif("Naguib", "Y");
+		assertNull(index.resolve(theNaguib));
+		index.add(theNaguib);
+		assertSame(theNaguib, index.resolve(theNaguib));
+		assertSame(naguib, index.resolve(named("Naguib")));
+	}
+
+	@Test
+	public void resolveTest(){
+		Faris faris = new Faris();
+		assertTrue(faris.addBinDescription(describe("Karim", 1168468)));
+		assertTrue(faris.addBinDescription(describe("Karim", 2684)));
+		assertTrue(faris.addBinDescription(describe("Naguib", 1168468)));
+
+		assertEquals(2, faris.getNameIndex().size());
+		Substance karim = faris.getNameIndex().exact("Karim").get(0);
+		assertEquals(3, faris.getActions().size());
+		int karimActions = 0;
+		for (Action action: faris.getActions())
+			for (List<QuantSubstance> conj: action.getAgents())
+				for (QuantSubstance agent: conj)
+					if (agent.getSubstance() == karim) karimActions++;
+		assertEquals(2, karimActions);
+	}
+
+	@Test
+	public void updateTest(){
+		Faris faris = new Faris();
+		assertTrue(faris.addBinDescription(describe("Karim", 1168468)));
+		assertTrue(faris.addBinDescription(describe("Karim", 2684, 1123148)));
+
+		//The known substance gets the quality, and stays once in the set
+		assertEquals(1, faris.getSubstances().size());
+		Substance karim = faris.getSubstances().iterator().next();
+		assertTrue(karim.hasQuality(1123148));
+		assertTrue(faris.getSubstances().contains(karim));
+		assertSame(karim, faris.getSubstanceIndex().find(MAN, 1123148).get(0));
+	}
+
+}
@@ -0,0 +1,76 @@
+package kariminf.faris.knowledge;
+
+import static org.junit.Assert.*;
+import static kariminf.faris.Facts.*;
+
+import org.junit.Test;
+
+import kariminf.faris.knowledge.Faris.FarisWrapper;
+import kariminf.faris.philosophical.Action;
+import kariminf.faris.philosophical.Place;
+import kariminf.faris.philosophical.QuantSubstance;
+import kariminf.faris.philosophical.State;
+import kariminf.faris.philosophical.Substance;
+import kariminf.sentrep.types.Relation;
+import kariminf.sentrep.types.Relation.Adpositional;
+
+public class PlaceIndexTest {
+
+	//car
+	private static final int CAR = 2958343;
+	//house
+	private static final int HOUSE = 3544360;
+
+	private static Action newAction(int verb, Adpositional relation, Substance location){
+		Action action = action(verb, new Substance(10332385), null);
+
+		Place place = new Place(relation);
+		place.addLocation(new QuantSubstance(location));
+		action.addLocation(place);
+		return action;
+	}
+
+	@Test
+	public void indexTest(){
+		Faris faris = new Faris();
+		FarisWrapper wrapper = wrap(faris);
+
+		Substance car = new Substance(CAR);
+		Action eat = newAction(1168468, Adpositional.INSIDE, car);
+		Action sleep = newAction(2684, Adpositional.OUTSIDE, new Substance(CAR));
+		Action sit = newAction(1543123, Adpositional.INSIDE, new Substance(HOUSE));
+		for (Action action: new Action[]{eat, sleep, sit}){
+			addFact(wrapper, action);
+			wrapper.placeIndex.add(action);
+		}
+		//indexing twice does not duplicate
+		wrapper.placeIndex.add(eat);
+
+		PlaceIndex index = faris.getPlaceIndex();
+		assertEquals(3, index.size());
+		assertEquals(2, index.actionsAt(CAR).size());
+		assertEquals(1, index.actionsAt(CAR, Adpositional.INSIDE).size());
+		assertSame(eat, index.actionsAt(CAR, Adpositional.INSIDE).get(0));
+		assertEquals(2, index.actionsAt(CAR, Adpositional.INSIDE, Adpositional.OUTSIDE).size());
+		assertEquals(1, index.at(car).size());
+		assertTrue(index.actionsAt(CAR, Adpositional.ABOVE).isEmpty());
+		assertTrue(index.actionsAt(1234).isEmpty());
+
+		//the man in the house
+		QuantSubstance man = new QuantSubstance(new Substance(10287213));
+		State state = new State();
+		Action be = newAction(2604760, Adpositional.INSIDE, new Substance(HOUSE));
+		state.affectState(be, man, Relation.Relative.SUBJECT);
+		wrapper.states.add(state);
+		wrapper.placeIndex.add(state);
+		assertEquals(1, index.statesAt(HOUSE).size());
+		assertEquals(1, index.actionsAt(HOUSE).size());
+
+		index.clear();
+		assertEquals(0, index.size());
+		faris.reindex();
+		assertEquals(4, index.size());
+		assertSame(state, index.statesAt(HOUSE, Adpositional.INSIDE).get(0));
+	}
+
+}
@@ -0,0 +1,69 @@
+package kariminf.faris.knowledge;
+
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+
+import org.junit.Test;
+
+import kariminf.faris.linguistic.Adjective;
+import kariminf.faris.philosophical.Quality;
+import kariminf.faris.philosophical.Substance;
+
+public class SubstanceIndexTest {
+
+	private static final int CAR = 2958343;
+	private static final int RED = 381097;
+	private static final int BIG = 1382086;
+
+	private static Substance newSubstance(int noun, int... adjs){
+		Substance result = new Substance(noun);
+		for (int adj: adjs) result.addQuality(new Quality(new Adjective(adj)));
+		return result;
+	}
+
+	@Test
+	public void qualitiesTest(){
+		Substance redCar = newSubstance(CAR, RED);
+		Substance bigRedCar = newSubstance(CAR, BIG, RED);
+
+		//every quality of the first is in the second
+		assertTrue(redCar.equals(bigRedCar));
+		assertFalse(bigRedCar.equals(redCar));
+		//qualities are compared by their adjectives
+		assertEquals(redCar, newSubstance(CAR, RED));
+		assertEquals(redCar.hashCode(), newSubstance(CAR, RED).hashCode());
+		assertTrue(Arrays.equals(new int[]{RED, BIG}, bigRedCar.getQualitySynSets()));
+		assertTrue(bigRedCar.hasQuality(BIG));
+		assertFalse(redCar.hasQuality(BIG));
+
+		redCar.update(newSubstance(CAR, BIG));
+		assertTrue(redCar.hasQuality(BIG));
+	}
+
+	@Test
+	public void findTest(){
+		Substance car = newSubstance(CAR);
+		Substance redCar = newSubstance(CAR, RED);
+		Substance bigRedCar = newSubstance(CAR, BIG, RED);
+		Substance bigHouse = newSubstance(3544360, BIG);
+
+		SubstanceIndex index = new SubstanceIndex();
+		for (Substance sub: new Substance[]{car, redCar, bigRedCar, bigHouse})
+			index.add(sub);
+		index.add(car);
+		assertEquals(4, index.size());
+
+		assertEquals(3, index.find(CAR).size());
+		assertEquals(2, index.find(CAR, RED).size());
+		assertEquals(1, index.find(CAR, RED, BIG).size());
+		assertSame(bigRedCar, index.find(CAR, BIG, RED).get(0));
+		assertTrue(index.find(CAR, 1234).isEmpty());
+
+		//a substance gaining a quality is indexed again
+		car.addQuality(new Quality(new Adjective(BIG)));
+		index.add(car);
+		assertEquals(2, index.find(CAR, BIG).size());
+	}
+
+}
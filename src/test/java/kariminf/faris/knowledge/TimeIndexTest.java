@@ -0,0 +1,98 @@
+package kariminf.faris.knowledge;
+
+import static org.junit.Assert.*;
+import static kariminf.faris.Facts.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.Test;
+
+import kariminf.faris.knowledge.Faris.FarisWrapper;
+import kariminf.faris.philosophical.Action;
+import kariminf.faris.philosophical.QuantSubstance;
+import kariminf.faris.philosophical.Substance;
+import kariminf.faris.philosophical.Time;
+import kariminf.faris.process.ston.Concepts;
+import kariminf.sentrep.types.Relation.Adpositional;
+
+public class TimeIndexTest {
+
+	private static final int YEAR = Concepts.YEAR;
+	//room
+	private static final int ROOM = 4105893;
+
+	private static Action addAction(FarisWrapper wrapper, int verb, String date){
+		Action action = action(verb, new Substance(10332385), null);
+
+		Time time = new Time(Adpositional.EXIST);
+		Substance year = new Substance(YEAR);
+		year.setNounSpecif(date, "N");
+		time.addTimeSubstance(new QuantSubstance(year));
+		action.addTime(time);
+
+		return addFact(wrapper, action);
+	}
+
+	@Test
+	public void resolveTest(){
+		Time time = new Time(Adpositional.EXIST);
+		assertNull(time.resolveDateTime());
+
+		Substance date = new Substance(YEAR);
+		date.setNounSpecif("1955-03-10", "N");
+		time.addTimeSubstance(new QuantSubstance(date));
+		assertEquals(LocalDateTime.of(1955, 3, 10, 0, 0), time.resolveDateTime());
+
+		time = new Time(Adpositional.EXIST);
+		Substance mahfouz = new Substance(YEAR);
+		mahfouz.setNounSpecif("Mahfouz", "N");
+		time.addTimeSubstance(new QuantSubstance(mahfouz));
+		assertNull(time.resolveDateTime());
+
+		//A bare number is a year only when the noun is a year
+		time = new Time(Adpositional.EXIST);
+		Substance year = new Substance(YEAR);
+		year.setNounSpecif("1955", "N");
+		time.addTimeSubstance(new QuantSubstance(year));
+		assertEquals(LocalDateTime.of(1955, 1, 1, 0, 0), time.resolveDateTime());
+
+		time = new Time(Adpositional.EXIST);
+		Substance room = new Substance(ROOM);
+		room.setNounSpecif("1955", "N");
+		time.addTimeSubstance(new QuantSubstance(room));
+		assertNull(time.resolveDateTime());
+
+		time = new Time(Adpositional.EXIST);
+		room = new Substance(ROOM);
+		room.setNounSpecif("1955-03-10", "N");
+		time.addTimeSubstance(new QuantSubstance(room));
+		assertEquals(LocalDateTime.of(1955, 3, 10, 0, 0), time.resolveDateTime());
+	}
+
+	@Test
+	public void rangeTest(){
+		Faris faris = new Faris();
+		FarisWrapper wrapper = wrap(faris);
+
+		Action a1955 = addAction(wrapper, 1168468, "1955");
+		Action a1962 = addAction(wrapper, 1493380, "1962-05-01");
+		addAction(wrapper, 631737, "1930");
+		faris.reindex();
+
+		assertEquals(3, faris.getTimeIndex().size());
+		List<Action> found = faris.getTimeIndex().between(1950, 1960);
+		assertEquals(1, found.size());
+		assertSame(a1955, found.get(0));
+		assertEquals(2, faris.getTimeIndex().between(1950, 1962).size());
+		assertSame(a1962, faris.getTimeIndex().after(LocalDateTime.of(1960, 1, 1, 0, 0)).get(0));
+		assertEquals(0, faris.getTimeIndex().between(1963, 2000).size());
+
+		//The dates are kept by the binary format, and indexed when decoded
+		Faris copy = new Faris();
+		assertTrue(copy.addBinDescription(toBin(faris)));
+		assertEquals(3, copy.getTimeIndex().size());
+		assertEquals(1, copy.getTimeIndex().at(LocalDateTime.of(1962, 5, 1, 0, 0)).size());
+	}
+
+}
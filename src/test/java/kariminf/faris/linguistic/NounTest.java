@@ -33,6 +33,36 @@ public class NounTest {
 		
 	}
 	
+	@Test
+	public void keyTest(){
+		Noun childF = Noun.getNew(9917593);
+		childF.setAttributs(Gender.FEMININE, true);
+		Noun childM = Noun.getNew(9917593);
+		childM.setAttributs(Gender.MASCULINE, true);
+		Noun childM2 = Noun.getNew(9917593);
+		childM2.setAttributs(Gender.MASCULINE, true);
+		
+		assertNotEquals(childF, childM);
+		assertEquals(childM, childM2);
+		assertEquals(childM.hashCode(), childM2.hashCode());
+		assertEquals(childM.getKey(), childM2.getKey());
+		
+		childM2.setAttributs(Gender.COMMON, false);
+		assertEquals(Gender.COMMON, childM2.getGender());
+		assertFalse(childM2.isDefined());
+		assertEquals(9917593, childM2.getSynSet());
+		
+		//Same synset, different POS
+		assertNotEquals(new Adverb(9917593), new Adjective(9917593));
+		assertEquals(new Adverb(47534), new Adverb(47534));
+		
+		HashSet<Noun> set = new HashSet<>();
+		set.add(childF);
+		set.add(childM);
+		set.add(Noun.getNew(childM));
+		assertEquals(2, set.size());
+	}
+	
 	//=====================================
 	// As Java Application
 	//=====================================
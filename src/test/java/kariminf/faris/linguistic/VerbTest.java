@@ -0,0 +1,56 @@
+package kariminf.faris.linguistic;
+
+import static org.junit.Assert.*;
+import static kariminf.faris.Facts.*;
+
+import org.junit.Test;
+
+import kariminf.faris.knowledge.Faris;
+import kariminf.faris.philosophical.Action;
+import kariminf.faris.philosophical.Substance;
+import kariminf.sentrep.types.VerbTense;
+
+public class VerbTest {
+
+	@Test
+	public void attributesTest(){
+		Verb eat = new Verb(1168468);
+		assertEquals(VerbTense.PRESENT, eat.getTense());
+		assertFalse(eat.isPerfect());
+
+		Verb ate = new Verb(1168468);
+		ate.setTense(VerbTense.PAST);
+		ate.setPerfect();
+		assertEquals(VerbTense.PAST, ate.getTense());
+		assertTrue(ate.isPerfect());
+		assertFalse(ate.isProgressive());
+		assertEquals(1168468, ate.getSynSet());
+		assertEquals("V@1168468.PAST.PRF", ate.toString());
+
+		//The tense is not compared
+		assertEquals(eat, ate);
+		assertEquals(eat.hashCode(), ate.hashCode());
+		assertNotEquals(eat, new Verb(2684));
+	}
+
+	@Test
+	public void nullTenseTest(){
+		Verb eat = new Verb(1168468);
+		eat.setTense(null);
+		assertNull(eat.getTense());
+		assertEquals("V@1168468.null", eat.toString());
+		eat.setTense(VerbTense.FUTURE);
+		assertEquals(VerbTense.FUTURE, eat.getTense());
+
+		//An unknown tense is kept by the binary format
+		Faris faris = new Faris();
+		Action action = addFact(wrap(faris), 1168468, new Substance(10332385), null);
+		action.getVerb().setTense(null);
+		Faris copy = new Faris();
+		assertTrue(copy.addBinDescription(toBin(faris)));
+		Action decoded = copy.getActions().iterator().next();
+		assertNull(decoded.getVerb().getTense());
+		assertEquals(1168468, decoded.getVerb().getSynSet());
+	}
+
+}
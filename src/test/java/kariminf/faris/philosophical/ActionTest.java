@@ -1,10 +1,13 @@
 package kariminf.faris.philosophical;
 
 import static org.junit.Assert.*;
+import static kariminf.faris.Facts.*;
 
 import org.junit.Test;
 
+import kariminf.faris.linguistic.Adverb;
 import kariminf.faris.linguistic.Verb;
+import kariminf.faris.process.ston.Concepts;
 
 public class ActionTest {
 
@@ -25,6 +28,33 @@ public class ActionTest {
 		
 	}
 	
+	@Test
+	public void reverseEdgesTest(){
+		QuantSubstance mother = new QuantSubstance(new Substance(10332385));
+		QuantSubstance child = new QuantSubstance(new Substance(9917593));
+		QuantSubstance food = new QuantSubstance(new Substance(21265));
+		
+		Action eat = action(1168468, mother, food);
+		
+		assertTrue(mother.getActions().contains(eat));
+		assertTrue(food.getAffections().contains(eat));
+		assertTrue(food.getActions().isEmpty());
+		
+		//the same action parsed again, with another agent
+		Action eat2 = action(1168468, child, food);
+		eat2.addAdverb(new Adverb(Concepts.ALSO), null);
+		
+		assertTrue(eat.update(eat2));
+		assertEquals(1, food.getAffections().size());
+		assertSame(eat, food.getAffections().iterator().next());
+		for (QuantSubstance doer: (Iterable<QuantSubstance>) eat.roles()::iterator)
+			assertTrue(doer.getActions().contains(eat) || doer.getAffections().contains(eat));
+		assertFalse(child.getActions().contains(eat2));
+		
+		QuantSubstance copy = QuantSubstance.withNewSubstance(food, new Substance(21265));
+		assertSame(eat, copy.getAffections().iterator().next());
+	}
+	
 	
 	
 	
@@ -0,0 +1,71 @@
+package kariminf.faris.process;
+
+import static org.junit.Assert.*;
+import static kariminf.faris.Facts.*;
+
+import org.junit.Test;
+
+import kariminf.faris.knowledge.Conditional;
+import kariminf.faris.knowledge.Faris;
+import kariminf.faris.knowledge.Faris.FarisWrapper;
+import kariminf.faris.knowledge.Mind;
+import kariminf.faris.knowledge.Mind.MentalState;
+import kariminf.faris.knowledge.Thought;
+import kariminf.faris.linguistic.Adjective;
+import kariminf.faris.philosophical.Action;
+import kariminf.faris.philosophical.Quality;
+import kariminf.faris.philosophical.Substance;
+
+public class BrowserTest {
+
+	@Test
+	public void browseTest(){
+		Faris faris = new Faris();
+		FarisWrapper wrapper = wrap(faris);
+
+		Substance mother = new Substance(10332385);
+		Substance child = new Substance(9917593);
+		Substance food = new Substance(21265);
+		food.addQuality(new Quality(new Adjective(1123148)));
+
+		Action eat = addFact(wrapper, 1168468, mother, food);
+		addFact(wrapper, 1168468, child, mother);
+
+		Browser browser = new Browser();
+		faris.process(browser);
+		assertEquals(2, browser.size());
+
+		assertEquals(2, browser.browse(new Query().verb(1168468)).count());
+		assertEquals(0, browser.browse(new Query().verb(631737)).count());
+		assertEquals(1, browser.browse(new Query().verb(1168468).agent(10332385)).count());
+		assertSame(eat, browser.browse(new Query().quality(1123148)).findFirst().get().action);
+		assertEquals(2, browser.browse(new Query().owner(0).mentalState(MentalState.FACT)).count());
+		assertEquals(0, browser.browse(new Query().mentalState(MentalState.THINK)).count());
+
+		//Negative synsets are criteria like the others
+		assertEquals(0, browser.browse(new Query().agent(-1)).count());
+		addFact(wrapper, 1168468, new Substance(-1), null);
+		faris.process(browser);
+		assertEquals(1, browser.browse(new Query().agent(-1)).count());
+	}
+
+	@Test
+	public void conditionalTest(){
+		Faris faris = new Faris();
+		FarisWrapper wrapper = wrap(faris);
+
+		//The mother thinks: if the child eats, then the mother eats
+		Action eat = addFact(wrapper, 1168468, new Substance(10332385), new Substance(21265));
+		Action childEats = action(1168468, new Substance(9917593), null);
+		Mind main = wrapper.minds.get("$");
+		main.addCondition(MentalState.THINK, 
+				new Conditional(new Thought(childEats), new Thought(eat)){});
+
+		Browser browser = new Browser();
+		faris.process(browser);
+		assertEquals(3, browser.size());
+		assertEquals(2, browser.browse(new Query().mentalState(MentalState.THINK)).count());
+		assertSame(childEats, browser.browse(new Query().agent(9917593)).findFirst().get().action);
+	}
+
+}
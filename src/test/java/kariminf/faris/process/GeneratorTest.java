@@ -0,0 +1,54 @@
+package kariminf.faris.process;
+
+import static org.junit.Assert.*;
+import static kariminf.faris.Facts.*;
+
+import org.junit.Test;
+
+import kariminf.faris.knowledge.Faris;
+import kariminf.faris.knowledge.Faris.FarisWrapper;
+import kariminf.faris.knowledge.Mind.MentalState;
+import kariminf.faris.philosophical.QuantSubstance;
+import kariminf.faris.philosophical.Substance;
+import kariminf.faris.process.bin.BinGeneratorHandler;
+
+public class GeneratorTest {
+
+	@Test
+	public void filterTest(){
+		Faris faris = new Faris();
+		FarisWrapper wrapper = wrap(faris);
+
+		addFact(wrapper, 1168468, new Substance(10332385), null); //mother eats
+		addFact(wrapper, 1168468, new Substance(9917593), null); //child eats
+
+		BinGeneratorHandler handler = new BinGeneratorHandler();
+		faris.process(new Generator(handler, new GeneratorFilter(){
+			@Override
+			public boolean acceptSubstance(QuantSubstance substance) {
+				return substance.getSubstance().getNounSynSet() == 9917593;
+			}
+		}));
+
+		Faris result = new Faris();
+		assertTrue(result.addBinDescription(handler.generate()));
+
+		Browser browser = new Browser();
+		result.process(browser);
+		assertEquals(1, browser.size());
+		assertEquals(1, browser.browse(new Query().agent(9917593)).count());
+
+		handler = new BinGeneratorHandler();
+		faris.process(new Generator(handler, new GeneratorFilter(){
+			@Override
+			public boolean acceptMentalState(MentalState ms) {
+				return ms != MentalState.FACT;
+			}
+		}));
+		result = new Faris();
+		assertTrue(result.addBinDescription(handler.generate()));
+		result.process(browser);
+		assertEquals(0, browser.size());
+	}
+
+}
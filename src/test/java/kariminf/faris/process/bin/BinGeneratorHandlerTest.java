@@ -0,0 +1,114 @@
+package kariminf.faris.process.bin;
+
+import static org.junit.Assert.*;
+import static kariminf.faris.Facts.*;
+
+import org.junit.Test;
+
+import kariminf.faris.knowledge.Faris;
+import kariminf.faris.linguistic.Adjective;
+import kariminf.faris.linguistic.Adverb;
+import kariminf.faris.philosophical.Action;
+import kariminf.faris.philosophical.Place;
+import kariminf.faris.philosophical.Quality;
+import kariminf.faris.philosophical.QuantSubstance;
+import kariminf.faris.philosophical.Relative;
+import kariminf.faris.philosophical.Relative.RelativeType;
+import kariminf.faris.philosophical.Substance;
+
+public class BinGeneratorHandlerTest {
+
+	/**
+	 * The mother eats good food
+	 * @return a Faris with one idea
+	 */
+	private static Faris motherEats(){
+		Faris faris = new Faris();
+		Substance food = new Substance(21265);
+		food.addQuality(new Quality(new Adjective(1123148)));
+		addFact(wrap(faris), 1168468, new Substance(10332385), food);
+		return faris;
+	}
+
+	@Test
+	public void roundTripTest(){
+		byte[] description = toBin(motherEats());
+		//More than the header and the end
+		assertTrue(description.length > 5);
+
+		Faris faris = new Faris();
+		assertTrue(faris.addBinDescription(description));
+		assertArrayEquals(description, toBin(faris));
+	}
+
+	@Test
+	public void synSetsTest(){
+		//Any synset, even the ones whose zigzag encoding is the largest
+		for (int synSet: new int[]{Integer.MIN_VALUE, Integer.MAX_VALUE, -1, 0}){
+			Faris faris = new Faris();
+			Action action = addFact(wrap(faris), 1168468, new Substance(10332385), null);
+			action.addLocation(new Place(new Adverb(synSet)));
+			Relative.affectRelative(RelativeType.MORE, new Adjective(synSet), 
+					action, new QuantSubstance(new Substance(21265)));
+			byte[] description = toBin(faris);
+
+			Faris decoded = new Faris();
+			assertTrue(decoded.addBinDescription(description));
+			assertArrayEquals(description, toBin(decoded));
+			Action act = decoded.getActions().iterator().next();
+			assertEquals(synSet, act.getPlaces().iterator().next().getAdverb().getSynSet());
+			assertEquals(synSet, act.getRelatives().iterator().next().getAdjective().getSynSet());
+		}
+	}
+
+	@Test
+	public void malformedTest(){
+		byte[] description = toBin(motherEats());
+		byte[] truncated = new byte[description.length - 2];
+		System.arraycopy(description, 0, truncated, 0, truncated.length);
+
+		Faris faris = new Faris();
+		assertFalse(faris.addBinDescription(truncated));
+		assertFalse(faris.addBinDescription(new byte[]{'S', 'T', 'O', 'N'}));
+		assertEquals(faris.info(), new Faris().info());
+	}
+
+	@Test
+	public void reuseTest(){
+		byte[] description = toBin(motherEats());
+
+		//A decoder which failed in the middle of the blocks decodes the next one
+		for (int length = 6; length < description.length; length++){
+			byte[] truncated = new byte[length];
+			System.arraycopy(description, 0, truncated, 0, length);
+
+			Faris faris = new Faris();
+			FarisDecode decoder = new FarisDecode(wrap(faris));
+			decoder.decode(truncated);
+			assertFalse(decoder.decoded());
+			decoder.decode(description);
+			assertTrue(decoder.decoded());
+			assertArrayEquals(description, toBin(faris));
+		}
+	}
+
+	@Test
+	public void corruptedTest(){
+		byte[] description = toBin(motherEats());
+
+		//A corrupted description is refused or decoded, but never throws
+		for (int length = 0; length < description.length; length++){
+			byte[] truncated = new byte[length];
+			System.arraycopy(description, 0, truncated, 0, length);
+			assertFalse(new Faris().addBinDescription(truncated));
+		}
+
+		for (int i = 5; i < description.length; i++)
+			for (int b: new int[]{0, 1, 0x7F, 0x80, 0xFF}){
+				byte[] corrupted = description.clone();
+				corrupted[i] = (byte) b;
+				new Faris().addBinDescription(corrupted);
+			}
+	}
+
+}
@@ -0,0 +1,76 @@
+package kariminf.faris.process.ston;
+
+import static org.junit.Assert.*;
+import static kariminf.faris.Facts.*;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+import org.junit.Test;
+
+import kariminf.faris.knowledge.Faris;
+import kariminf.faris.knowledge.Faris.FarisWrapper;
+
+public class FarisParsePoolTest {
+
+	@Test
+	public void acquireTest(){
+		FarisWrapper wrapper = new FarisWrapper(new Faris());
+		wrapper.unsafeAddAll();
+
+		ParseTracer.disable();
+		FarisParse parser = FarisParse.acquire(wrapper);
+		assertFalse(parser instanceof TracedFarisParse);
+
+		//The thread's parser is in use
+		FarisParse other = FarisParse.acquire(wrapper);
+		assertNotSame(parser, other);
+		other.release();
+
+		parser.beginRole("r1", 10332385);
+		parser.endRole("r1", 10332385);
+		parser.beginRole("p1", 0, "he");
+		parser.beginPRelatives();
+		parser.addConjunctions(Arrays.asList("r1"));
+		parser.endPRelatives();
+		assertEquals(Arrays.asList("r1"), parser.resolvePronoun("p1"));
+		parser.release();
+
+		assertSame(parser, FarisParse.acquire(wrapper));
+		assertTrue(parser.resolvePronoun("p1").isEmpty());
+		parser.release();
+
+		ParseTracer.enable();
+		FarisParse traced = FarisParse.acquire(wrapper);
+		ParseTracer.disable();
+		assertTrue(traced instanceof TracedFarisParse);
+		traced.release();
+	}
+
+	@Test
+	public void reuseTest() throws IOException {
+		ParseTracer.disable();
+		Faris first = new Faris();
+		FarisParse parser = FarisParse.acquire(wrap(first));
+		assertTrue(parser.read(StonReaderTest.readSton("think2")));
+		parser.release();
+		String firstInfo = first.info();
+
+		//The second document is read as by a new parser, and the first is not changed
+		String motherEats = "@r:[ r:{ id: mother; syn: 10332385 r:} r:] "
+				+ "@act:[ act:{ id: eat; syn: 1168468; tns: PA; agt: [mother] act:} act:] "
+				+ "@st:[ st:{ typ: AFF; act: [eat] st:} st:]";
+		Faris second = new Faris();
+		assertSame(parser, FarisParse.acquire(wrap(second)));
+		assertTrue(parser.read(motherEats));
+		parser.release();
+
+		Faris fresh = new Faris();
+		assertTrue(new FarisParse(wrap(fresh)).read(motherEats));
+		assertEquals(1, fresh.getActions().size());
+		assertEquals(fresh.info(), second.info());
+		assertArrayEquals(toBin(fresh), toBin(second));
+		assertEquals(firstInfo, first.info());
+	}
+
+}
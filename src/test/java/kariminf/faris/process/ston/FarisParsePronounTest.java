@@ -0,0 +1,57 @@
+package kariminf.faris.process.ston;
+
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+import kariminf.faris.knowledge.Faris;
+import kariminf.faris.knowledge.Faris.FarisWrapper;
+
+public class FarisParsePronounTest {
+
+	private static void addPlayer(FarisParse parser, String id, int synSet){
+		parser.beginRole(id, synSet);
+		parser.endRole(id, synSet);
+	}
+
+	private static void addPronoun(FarisParse parser, String id, String... refIDs){
+		parser.beginRole(id, 0, "he");
+		parser.beginPRelatives();
+		parser.addConjunctions(Arrays.asList(refIDs));
+		parser.endPRelatives();
+	}
+
+	@Test
+	public void resolveTest(){
+		FarisWrapper wrapper = new FarisWrapper(new Faris());
+		wrapper.unsafeAddAll();
+		FarisParse parser = new FarisParse(wrapper);
+
+		addPlayer(parser, "r1", 10332385);
+		addPlayer(parser, "r2", 9917593);
+
+		addPronoun(parser, "p1", "r1");
+		addPronoun(parser, "p2", "p1", "r2");
+		//A cycle: p3 -> p4 -> p3
+		addPronoun(parser, "p3", "p4", "r1");
+		addPronoun(parser, "p4", "p3", "p2");
+
+		assertEquals(Arrays.asList("r1"), parser.resolvePronoun("p1"));
+		assertEquals(Arrays.asList("r1", "r2"), parser.resolvePronoun("p2"));
+
+		List<String> p3 = parser.resolvePronoun("p3");
+		assertEquals(2, p3.size());
+		assertTrue(p3.containsAll(Arrays.asList("r1", "r2")));
+		assertSame(p3, parser.resolvePronoun("p3"));
+
+		assertTrue(parser.resolvePronoun("r1").isEmpty());
+
+		//A new pronoun invalidates the resolved ones
+		addPronoun(parser, "p1", "r2");
+		assertEquals(Arrays.asList("r2"), parser.resolvePronoun("p1"));
+	}
+
+}
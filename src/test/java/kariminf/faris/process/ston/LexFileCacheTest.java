@@ -0,0 +1,32 @@
+package kariminf.faris.process.ston;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+public class LexFileCacheTest {
+
+	@Test
+	public void cacheTest(){
+		LexFileCache cache = new LexFileCache(4);
+		assertEquals(LexFileCache.ABSENT, cache.get(21265));
+
+		cache.put(21265, 13);
+		cache.put(10332385, 0);
+		assertEquals(13, cache.get(21265));
+		assertEquals(0, cache.get(10332385));
+
+		//A synset without lex file is cached too
+		cache.put(9917593, -1);
+		assertEquals(-1, cache.get(9917593));
+
+		//The cache is bounded: old synsets are replaced
+		for (int synSet = 1; synSet < 100; synSet++) cache.put(synSet, 28);
+		int found = 0;
+		for (int synSet = 1; synSet < 100; synSet++)
+			if (cache.get(synSet) == 28) found++;
+		assertTrue(found <= 4);
+		assertTrue(found > 0);
+	}
+
+}
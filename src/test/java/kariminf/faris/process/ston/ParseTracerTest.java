@@ -0,0 +1,49 @@
+package kariminf.faris.process.ston;
+
+import static org.junit.Assert.*;
+
+import java.util.Map;
+
+import org.junit.Test;
+
+import kariminf.faris.knowledge.Faris;
+import kariminf.faris.knowledge.Faris.FarisWrapper;
+import kariminf.faris.process.ston.ParseTracer.Phase;
+
+public class ParseTracerTest {
+
+	@Test
+	public void traceTest() throws Exception {
+		FarisWrapper wrapper = new FarisWrapper(new Faris());
+		wrapper.unsafeAddAll();
+		TracedFarisParse parser = new TracedFarisParse(wrapper);
+
+		ParseTracer.reset();
+		ParseTracer.disable();
+		parser.beginRelative("OBJ");
+		assertTrue(ParseTracer.totals().isEmpty());
+
+		ParseTracer.enable();
+		parser.parse("");
+		parser.beginRelative("OBJ");
+		parser.endRelative("OBJ");
+		ParseTracer.disable();
+
+		Map<Phase, Long> totals = ParseTracer.totals();
+		assertTrue(totals.containsKey(Phase.PARSE));
+		assertTrue(totals.containsKey(Phase.BEGIN_RELATIVE));
+		assertTrue(totals.containsKey(Phase.END_RELATIVE));
+		assertFalse(totals.containsKey(Phase.BEGIN_ROLE));
+
+		StringBuilder folded = new StringBuilder();
+		ParseTracer.dumpFolded(folded, true);
+		for (String line: folded.toString().split("\n")){
+			if (line.isEmpty()) continue;
+			assertTrue(line, line.matches(".+#1;parse(;\\w+)? \\d+"));
+		}
+
+		ParseTracer.reset();
+		assertTrue(ParseTracer.totals().isEmpty());
+	}
+
+}
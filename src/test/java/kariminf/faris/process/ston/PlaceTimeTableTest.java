@@ -0,0 +1,77 @@
+package kariminf.faris.process.ston;
+
+import static org.junit.Assert.*;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+
+import org.junit.Test;
+
+import kariminf.faris.process.ston.Concepts.PlaceTime;
+import kariminf.sentrep.types.Relation.Adpositional;
+
+public class PlaceTimeTableTest {
+
+	private static PlaceTimeTable load(String text) throws IOException {
+		return PlaceTimeTable.load(new BufferedReader(new StringReader(text)));
+	}
+
+	@Test
+	public void loadTest() throws IOException {
+		PlaceTimeTable table = load("# adverbs\n"
+				+ "place adverb 8203948\n"
+				+ "time  adverb 48834 # yesterday\n"
+				+ "\n"
+				+ "time adposition before\n"
+				+ "place lexfile 15\n");
+
+		assertEquals(PlaceTime.PLACE, table.getAdverbType(8203948));
+		assertEquals(PlaceTime.TIME, table.getAdverbType(48834));
+		assertEquals(PlaceTime.OTHER, table.getAdverbType(47534));
+		assertEquals(PlaceTime.TIME, table.getAdpositionType(Adpositional.BEFORE));
+		assertNull(table.getAdpositionType(Adpositional.INSIDE));
+		assertEquals(PlaceTime.PLACE, table.getLexFileType(15));
+		assertEquals(PlaceTime.OTHER, table.getLexFileType(28));
+
+		StringBuilder text = new StringBuilder();
+		PlaceTimeTable.defaults().write(text);
+		PlaceTimeTable copy = load(text.toString());
+		assertEquals(PlaceTime.PLACE, copy.getAdpositionType(Adpositional.INSIDE));
+		assertEquals(PlaceTime.TIME, copy.getLexFileType(28));
+	}
+
+	@Test
+	public void defaultsTest(){
+		//The entries of the documented example
+		PlaceTimeTable table = PlaceTimeTable.defaults();
+		assertEquals(PlaceTime.PLACE, table.getAdpositionType(Adpositional.INSIDE));
+		assertEquals(PlaceTime.TIME, table.getAdpositionType(Adpositional.PAST));
+		assertEquals(PlaceTime.OTHER, table.getAdpositionType(Adpositional.SUBJECT));
+		assertNull(table.getAdpositionType(Adpositional.EXIST));
+		assertEquals(PlaceTime.PLACE, table.getLexFileType(15));
+		assertEquals(PlaceTime.TIME, table.getLexFileType(28));
+
+		//No adverb is classified by default
+		assertEquals(PlaceTime.OTHER, table.getAdverbType(8203948));
+		assertEquals(PlaceTime.OTHER, table.getAdverbType(48834));
+		assertEquals(PlaceTime.OTHER, Concepts.getAdverbType(Concepts.ALSO));
+	}
+
+	@Test(expected = IOException.class)
+	public void malformedTest() throws IOException {
+		load("place adverb\n");
+	}
+
+	@Test
+	public void reloadTest() throws IOException {
+		try {
+			assertEquals(PlaceTime.OTHER, Concepts.getAdverbType(8203948));
+			Concepts.setPlaceTimeTable(load("place adverb 8203948\n"));
+			assertEquals(PlaceTime.PLACE, Concepts.getAdverbType(8203948));
+		} finally {
+			Concepts.setPlaceTimeTable(PlaceTimeTable.defaults());
+		}
+	}
+
+}
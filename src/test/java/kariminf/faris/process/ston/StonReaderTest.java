@@ -0,0 +1,258 @@
+package kariminf.faris.process.ston;
+
+import static org.junit.Assert.*;
+import static kariminf.faris.Facts.toBin;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Scanner;
+
+import org.junit.Test;
+
+import kariminf.faris.knowledge.Faris;
+
+public class StonReaderTest {
+
+	/**
+	 * Records the callbacks, without building anything
+	 */
+	private static class Recorder extends FarisParse {
+		List<String> calls = new ArrayList<>();
+		boolean skip = true;
+
+		Recorder() {
+			super(null);
+		}
+
+		@Override
+		protected void beginAction(String id, int synSet) {
+			calls.add("act{" + id + ":" + synSet);
+		}
+
+		@Override
+		protected void endAction(String id, int synSet) {
+			calls.add("act}");
+		}
+
+		@Override
+		protected boolean actionFailure() {
+			calls.add("act!");
+			return skip;
+		}
+
+		@Override
+		protected void addVerbSpecif(String tense, String modality,
+				boolean progressive, boolean perfect, boolean negated) {
+			calls.add("tns:" + tense + (negated? "-": ""));
+		}
+
+		@Override
+		protected void addActionAdverb(int advSynSet, List<Integer> advSynSets) {
+			calls.add("adv:" + advSynSet);
+		}
+
+		@Override
+		protected void beginAgents() {
+			calls.add("agt");
+		}
+
+		@Override
+		protected void endAgents() {}
+
+		@Override
+		protected void beginThemes() {
+			calls.add("thm");
+		}
+
+		@Override
+		protected void endThemes() {}
+
+		@Override
+		protected void beginRole(String id, int synSet) {
+			calls.add("r{" + id + ":" + synSet);
+		}
+
+		@Override
+		protected void beginRole(String id, int synSet, String pronoun) {
+			calls.add("r{" + id + ":" + synSet + ":" + pronoun);
+		}
+
+		@Override
+		protected void endRole(String id, int synSet) {
+			calls.add("r}");
+		}
+
+		@Override
+		protected boolean roleFailure() {
+			calls.add("r!");
+			return skip;
+		}
+
+		@Override
+		protected void addRoleSpecif(String name, String def, String quantity) {
+			calls.add("spec:" + name + ":" + def + ":" + quantity);
+		}
+
+		@Override
+		protected void addAdjective(int synSet, List<Integer> advSynSets) {
+			calls.add("adj:" + synSet + advSynSets);
+		}
+
+		@Override
+		protected void beginPRelatives() {
+			calls.add("pref");
+		}
+
+		@Override
+		protected void endPRelatives() {}
+
+		@Override
+		protected void beginSentence(String type) {
+			calls.add("st:" + type);
+		}
+
+		@Override
+		protected void endSentence(String type) {}
+
+		@Override
+		protected void beginActions(boolean mainClause) {}
+
+		@Override
+		protected void endActions(boolean mainClause) {}
+
+		@Override
+		protected void addConjunctions(List<String> IDs) {
+			calls.add(IDs.toString());
+		}
+
+		@Override
+		protected void beginRelative(String type) {
+			calls.add("rel:" + type);
+		}
+
+		@Override
+		protected void endRelative(String type) {}
+
+		@Override
+		protected void parseSuccess() {
+			calls.add("ok");
+		}
+
+		@Override
+		protected void parseFailure() {
+			calls.add("ko");
+		}
+	}
+
+	static String readSton(String name) throws IOException {
+		try (InputStream in = StonReaderTest.class.getResourceAsStream("/STON/" + name + ".ston");
+				Scanner scanner = new Scanner(in, "UTF-8")){
+			return scanner.useDelimiter("\\A").next();
+		}
+	}
+
+	@Test
+	public void callbacksTest() throws IOException {
+		Recorder recorder = new Recorder();
+		assertTrue(recorder.read(readSton("update_info")));
+
+		String expected = "[r{karim:7846, spec:Karim:N:, r}, "
+				+ "r{hiscar:2958343:PTSMFN, spec::N:O1, pref, [karim], r}, "
+				+ "r{he:0:STSMFN, pref, [karim], r}, r{it:0:STSNFN, pref, [hiscar], r}, "
+				+ "r{tree:13104059, spec::Y:, r}, "
+				+ "act{parks:1493380, tns:PR, agt, [karim], thm, [hiscar], act}, "
+				+ "act{parks2:1493380, tns:PR, agt, [he], thm, [it], rel:BY, [tree], act}, "
+				+ "st:AFF, [parks], st:AFF, [parks2], ok]";
+		assertEquals(expected, recorder.calls.toString());
+
+		recorder.calls.clear();
+		assertTrue(recorder.read(readSton("think1")));
+		assertTrue(recorder.calls.contains("adj:1123148[89408]"));
+		assertTrue(recorder.calls.contains("rel:OBJ"));
+	}
+
+	@Test
+	public void syntaxTest(){
+		Recorder recorder = new Recorder();
+		StonReader reader = new StonReader();
+
+		//conjunctions, disjunctions, closing marks on the same line, bytes
+		String ston = "@act:[act:{id: a; syn: 5; neg: Y; agt: [x, y | z] act:} act:] "
+				+ "@r:[ r:{ id:x; syn:1 r:} r:]";
+		ByteBuffer bytes = ByteBuffer.wrap(ston.getBytes(StandardCharsets.UTF_8));
+		assertTrue(reader.read(bytes, recorder));
+		assertEquals(0, bytes.position());
+		assertEquals("[r{x:1, spec::N:, r}, act{a:5, tns:PR-, agt, [x, y], [z], act}, ok]", 
+				recorder.calls.toString());
+
+		//A malformed element is skipped, or stops the parsing
+		recorder.calls.clear();
+		ston = "@act:[act:{id: a; syn: b act:} act:{id: c; syn: 6 act:} act:]";
+		assertTrue(reader.read(ston, recorder));
+		assertEquals("[act!, act{c:6, tns:PR, act}, ok]", recorder.calls.toString());
+
+		recorder.calls.clear();
+		recorder.skip = false;
+		assertFalse(reader.read(ston, recorder));
+		assertEquals("[act!, ko]", recorder.calls.toString());
+
+		recorder.calls.clear();
+		assertFalse(reader.read("@act:[act:{id: a; syn: 5 act:]", recorder));
+		assertEquals("[ko]", recorder.calls.toString());
+		assertNotNull(reader.getError());
+		assertFalse(reader.read("@r:[ r:]", recorder));
+	}
+
+	@Test
+	public void nestedTest(){
+		Recorder recorder = new Recorder();
+		StonReader reader = new StonReader();
+		String role = "@r:[r:{id: t; syn: 13104059 r:} r:]";
+
+		//The blocks of a role and of an action
+		String ston = "@act:[act:{id: a; syn: 5; @adv:[adv:{syn: 3 adv:} adv:] "
+				+ "@rel:[rel:{typ: BY; ref: [t] rel:} rel:] act:} act:] " + role;
+		assertTrue(reader.read(ston, recorder));
+		assertTrue(recorder.calls.contains("adv:3"));
+		assertTrue(recorder.calls.contains("rel:BY"));
+
+		//A block inside a nested element is not dropped silently
+		recorder.calls.clear();
+		ston = "@act:[act:{id: a; syn: 5; @rel:[rel:{typ: BY; ref: [t]; "
+				+ "@r:[r:{id: u; syn: 1 r:} r:] rel:} rel:] act:} act:] " + role;
+		assertFalse(reader.read(ston, recorder));
+		assertEquals("[r{t:13104059, spec::N:, r}, act{a:5, tns:PR, ko]", recorder.calls.toString());
+		assertNotNull(reader.getError());
+
+		//Neither is an unknown block, or a block its element cannot have
+		assertFalse(reader.read("@act:[act:{id: a; syn: 5; @t:[t:] act:} act:]", recorder));
+		assertFalse(reader.read("@act:[act:{id: a; syn: 5; @adj:[adj:] act:} act:]", recorder));
+		assertFalse(reader.read("@act:[act:{id: a; syn: 5 act:} act:] @t:[t:]", recorder));
+	}
+
+	@Test
+	public void farisTest() throws IOException {
+		Faris faris = new Faris();
+		assertTrue(faris.readStonDescription(readSton("think1")));
+		assertEquals(2, faris.getActions().size());
+		assertEquals(3, faris.getSubstances().size());
+	}
+
+	@Test
+	public void sentrepTest() throws IOException {
+		for (String name: new String[]{"update_info", "think1", "think2"}){
+			String ston = readSton(name);
+			Faris parsed = new Faris();
+			assertTrue(parsed.addStonDescription(ston));
+			Faris read = new Faris();
+			assertTrue(read.readStonDescription(ston));
+			assertEquals(name, parsed.info(), read.info());
+			assertArrayEquals(toBin(parsed), toBin(read));
+		}
+	}
+
+}
@@ -0,0 +1,44 @@
+package kariminf.faris.process.ston;
+
+import static org.junit.Assert.*;
+
+import java.util.stream.Collectors;
+
+import org.junit.Test;
+
+public class SyntheticStonTest {
+
+	private static int count(String text, String pattern){
+		int result = 0;
+		for (int i = text.indexOf(pattern); i >= 0; i = text.indexOf(pattern, i + 1))
+			result++;
+		return result;
+	}
+
+	@Test
+	public void deterministicTest(){
+		SyntheticSton corpus = new SyntheticSton(7).roles(5).actions(4);
+
+		assertEquals(corpus.documents(10).collect(Collectors.toList()),
+				new SyntheticSton(7).roles(5).actions(4).documents(10).collect(Collectors.toList()));
+		assertEquals(corpus.document(5), corpus.documents(5, 1).findFirst().get());
+		assertNotEquals(corpus.document(5), new SyntheticSton(8).roles(5).actions(4).document(5));
+	}
+
+	@Test
+	public void structureTest(){
+		String doc = new SyntheticSton(1).roles(5).actions(4).opinionDepth(3)
+				.relativeRate(0).placeTimeRate(0).document(0);
+
+		assertEquals(5, count(doc, "r:{"));
+		assertEquals(4 + 3, count(doc, "act:{"));
+		assertEquals(0, count(doc, "rel:{"));
+		assertEquals(3, count(doc, "syn: " + Concepts.THINK) + count(doc, "syn: " + Concepts.BELIEVE));
+		//the last fact is inside the opinions
+		assertEquals(3 + 1, count(doc, "st:{"));
+
+		doc = new SyntheticSton(1).relativeRate(1).document(0);
+		assertEquals(6, count(doc, "typ: OBJ"));
+	}
+
+}
@@ -0,0 +1,54 @@
+package kariminf.faris.tools;
+
+import static org.junit.Assert.*;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.Test;
+
+import kariminf.faris.philosophical.QuantSubstance;
+import kariminf.faris.philosophical.Substance;
+
+public class ConjunctedSubstancesTest {
+
+	@Test
+	public void conjunctionTest(){
+		QuantSubstance a = new QuantSubstance(new Substance(10332385));
+		QuantSubstance b = new QuantSubstance(new Substance(9917593));
+		QuantSubstance c = new QuantSubstance(new Substance(21265));
+		QuantSubstance a2 = new QuantSubstance(new Substance(10332385));
+
+		ConjunctedSubstances ab = ConjunctedSubstances.of(b, a, b);
+		assertEquals(2, ab.size());
+		assertEquals(ab, ConjunctedSubstances.of(a, b));
+		assertEquals(ab.hashCode(), ConjunctedSubstances.of(a, b).hashCode());
+		//Substances are compared by identity
+		assertNotEquals(ab, ConjunctedSubstances.of(a2, b));
+		assertTrue(ab.contains(a));
+		assertFalse(ab.contains(a2));
+		assertFalse(ab.contains(c));
+
+		Set<ConjunctedSubstances> disj = new HashSet<>();
+		disj.add(ab);
+		assertTrue(disj.contains(ConjunctedSubstances.of(b, a)));
+
+		ConjunctedSubstances abc = ab.fuse(ConjunctedSubstances.of(c, b));
+		assertEquals(3, abc.size());
+		assertTrue(abc.containsAll(ab));
+		assertFalse(ab.containsAll(abc));
+		assertSame(abc, abc.fuse(ab));
+		assertEquals(3, abc.getSubstances().size());
+
+		try {
+			abc.getSubstances().add(a2);
+			fail("A conjunction is immutable");
+		} catch (UnsupportedOperationException e){}
+
+		int count = 0;
+		for (QuantSubstance substance: abc) if (substance != null) count++;
+		assertEquals(3, count);
+		assertTrue(ConjunctedSubstances.of().isEmpty());
+	}
+
+}
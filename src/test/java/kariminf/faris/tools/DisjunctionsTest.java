@@ -0,0 +1,66 @@
+package kariminf.faris.tools;
+
+import static org.junit.Assert.*;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.Test;
+
+import kariminf.faris.philosophical.QuantSubstance;
+import kariminf.faris.philosophical.Substance;
+import kariminf.faris.tools.Disjunctions.Fallback;
+
+public class DisjunctionsTest {
+
+	private static Set<ConjunctedSubstances> disj(ConjunctedSubstances... conjs){
+		Set<ConjunctedSubstances> result = new HashSet<>();
+		for (ConjunctedSubstances conj: conjs) result.add(conj);
+		return result;
+	}
+
+	@Test
+	public void mergeTest(){
+		QuantSubstance[] subs = new QuantSubstance[4];
+		for (int i = 0; i < subs.length; i++)
+			subs[i] = new QuantSubstance(new Substance(10000000 + i));
+		ConjunctedSubstances a = ConjunctedSubstances.of(subs[0]);
+		ConjunctedSubstances b = ConjunctedSubstances.of(subs[1]);
+		ConjunctedSubstances c = ConjunctedSubstances.of(subs[2]);
+		ConjunctedSubstances d = ConjunctedSubstances.of(subs[3]);
+		ConjunctedSubstances ab = a.fuse(b);
+
+		//A + AB = A
+		assertEquals(disj(a), Disjunctions.absorb(disj(a, ab)));
+
+		//(A + B)(A + C) = A + AC + AB + BC = A + BC
+		Set<ConjunctedSubstances> merged = Disjunctions.merge(disj(a, b), disj(a, c));
+		assertEquals(disj(a, b.fuse(c)), merged);
+
+		//Nothing is lost with an empty side
+		assertEquals(disj(a), Disjunctions.merge(disj(a), new HashSet<>()));
+
+		try {
+			//(A + B)(C + D) gives 4 conjunctions
+			Disjunctions.setLimit(3, Fallback.FUSE);
+			assertEquals(disj(ab.fuse(c).fuse(d)), Disjunctions.merge(disj(a, b), disj(c, d)));
+
+			Disjunctions.setLimit(3, Fallback.KEEP);
+			assertEquals(disj(a, b), Disjunctions.merge(disj(a, b), disj(c, d)));
+
+			Disjunctions.setLimit(4, Fallback.UNION);
+			assertEquals(4, Disjunctions.merge(disj(a, b), disj(c, d)).size());
+			Disjunctions.setLimit(3, Fallback.UNION);
+			//the union is too big as well
+			assertEquals(1, Disjunctions.merge(disj(a, b), disj(c, d)).size());
+
+			//(A + B + C + D)(A) = A, even if the first factor is over the limit
+			Disjunctions.setLimit(2, Fallback.FUSE);
+			assertEquals(disj(a), Disjunctions.merge(disj(a, b, c, d), disj(a)));
+			assertEquals(disj(a), Disjunctions.merge(disj(a), disj(a, b, c, d)));
+		} finally {
+			Disjunctions.setLimit(Disjunctions.DEFAULT_MAX_SIZE, Fallback.FUSE);
+		}
+	}
+
+}
@@ -0,0 +1,28 @@
+package kariminf.faris.tools;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+public class IntHashSetTest {
+
+	@Test
+	public void addContainsTest(){
+		IntHashSet set = new IntHashSet(2);
+		assertTrue(set.isEmpty());
+		assertFalse(set.contains(0));
+
+		for (int i = -500; i < 500; i += 5) assertTrue(set.add(i));
+		assertFalse(set.add(0));
+		assertFalse(set.add(495));
+		assertEquals(200, set.size());
+
+		for (int i = -500; i < 500; i++) assertEquals(i % 5 == 0, set.contains(i));
+
+		int[] values = set.toArray();
+		assertEquals(200, values.length);
+		assertEquals(-500, values[0]);
+		assertEquals(495, values[199]);
+	}
+
+}
@@ -0,0 +1,56 @@
+package kariminf.faris.tools;
+
+import static org.junit.Assert.*;
+
+import java.io.BufferedReader;
+import java.io.OutputStream;
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.Test;
+
+import kariminf.faris.process.ston.Concepts;
+import kariminf.faris.process.ston.Concepts.PlaceTime;
+import kariminf.sentrep.types.Relation.Adpositional;
+
+public class LexFileTableTest {
+
+	private static final String DATA_NOUN = 
+			"  1 This software and database is being provided to you, the LICENSEE, by\n"
+			+ "  2 Princeton University under the following license.\n"
+			+ "13104059 20 n 01 tree 0 001 @ 13083586 n 0000 | a tall perennial woody plant\n"
+			+ "00021265 13 n 02 food 0 nutrient 0 000 | any substance that can be metabolized\n"
+			+ "15113229 28 n 01 time 0 000 | the continuum of experience\n"
+			//a duplicate is written once
+			+ "00021265 13 n 02 food 0 nutrient 0 000 | any substance that can be metabolized\n";
+
+	@Test
+	public void exportTest() throws Exception {
+		LexFileExport export = new LexFileExport();
+		export.read(new BufferedReader(new StringReader(DATA_NOUN)));
+
+		Path file = Files.createTempFile("lexfiles", ".bin");
+		try {
+			try (OutputStream out = Files.newOutputStream(file)){
+				assertEquals(3, export.write(out));
+			}
+
+			LexFileTable table = LexFileTable.map(file);
+			assertEquals(3, table.size());
+			assertEquals(13, table.getLexFileNumber(21265));
+			assertEquals(20, table.getLexFileNumber(13104059));
+			assertEquals(28, table.getLexFileNumber(15113229));
+			assertEquals(-1, table.getLexFileNumber(10332385));
+
+			Concepts.setLexFileTable(table);
+			assertEquals(PlaceTime.PLACE, Concepts.getAdjType(Adpositional.EXIST, 13104059));
+			assertEquals(PlaceTime.TIME, Concepts.getAdjType(Adpositional.EXIST, 15113229));
+			assertEquals(PlaceTime.OTHER, Concepts.getAdjType(Adpositional.EXIST, 10332385));
+		} finally {
+			Concepts.setLexFileTable(null);
+			Files.delete(file);
+		}
+	}
+
+}
@@ -0,0 +1,65 @@
+package kariminf.faris.tools;
+
+import static org.junit.Assert.*;
+
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Set;
+
+import org.junit.Test;
+
+public class SmallSetTest {
+
+	@Test
+	public void smallSetTest(){
+		Set<String> set = SmallSet.empty();
+		assertTrue(set.isEmpty());
+		Set<String> other = SmallSet.add(set, "a");
+		assertNotSame(set, other);
+		assertTrue(set.isEmpty());
+		set = other;
+		assertSame(set, SmallSet.add(set, "b"));
+
+		Set<String> expected = new HashSet<>();
+		expected.add("a");
+		expected.add("b");
+		assertEquals(expected, set);
+		assertEquals(expected.hashCode(), set.hashCode());
+
+		assertFalse(set.add(new String("a")));
+		for (String e: new String[]{"c", "d", "e", "f"}){
+			set.add(e);
+			expected.add(e);
+		}
+		assertEquals(6, set.size());
+		assertEquals(expected, set);
+
+		Set<String> small = new SmallSet<>();
+		small.add("a");
+		small.add("b");
+		small.add("c");
+		assertTrue(small.remove("b"));
+		assertFalse(small.contains("b"));
+		assertEquals(2, small.size());
+		Iterator<String> it = small.iterator();
+		assertEquals("a", it.next());
+		it.remove();
+		assertEquals("c", it.next());
+		assertFalse(it.hasNext());
+		assertEquals(1, small.size());
+		assertTrue(small.contains("c"));
+	}
+
+	@Test
+	public void identityTest(){
+		Set<String> set = SmallSet.addIdentity(SmallSet.<String>empty(), "a");
+		String a2 = new String("a");
+		assertFalse(set.contains(a2));
+		assertTrue(set.add(a2));
+		for (int i = 0; i < 5; i++) set.add(new String("a"));
+		assertEquals(7, set.size());
+		assertFalse(set.contains(new String("a")));
+		assertTrue(set.contains(a2));
+	}
+
+}
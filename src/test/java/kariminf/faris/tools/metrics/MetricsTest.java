@@ -0,0 +1,73 @@
+package kariminf.faris.tools.metrics;
+
+import static org.junit.Assert.*;
+
+import java.lang.management.ManagementFactory;
+import java.util.HashSet;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.ReflectionException;
+
+import org.junit.Test;
+
+import kariminf.faris.tools.Search;
+
+public class MetricsTest {
+
+	@Test
+	public void histogramTest(){
+		Histogram h = new Histogram();
+		assertEquals(0, h.getPercentile(99));
+		for (long v = 1; v <= 100; v++) h.record(v);
+		assertEquals(100, h.getCount());
+		assertEquals(5050, h.getSum());
+		assertEquals(100, h.getMax());
+		assertEquals(50.5, h.getMean(), 0.001);
+		//50 is in the bucket [32, 63]
+		assertEquals(63, h.getPercentile(50));
+		assertEquals(100, h.getPercentile(100));
+	}
+
+	@Test
+	public void registryTest() throws Exception {
+		MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+		ObjectName name = new ObjectName(JmxMetricsRegistry.OBJECT_NAME);
+		//The MBean is registered only when JMX is enabled
+		Metrics.setRegistry(new SimpleMetricsRegistry());
+		assertFalse(server.isRegistered(name));
+
+		assertTrue(Metrics.enableJmx());
+		JmxMetricsRegistry registry = (JmxMetricsRegistry) Metrics.getRegistry();
+		assertTrue(server.isRegistered(name));
+
+		HashSet<String> set = new HashSet<>();
+		set.add("a");
+		Search.getElement(set, "a");
+		Search.getElement(set, "b");
+		Search.getElement(set, "c");
+		assertEquals(1, registry.counter("search.hits").get());
+		assertEquals(2, registry.counter("search.misses").get());
+
+		registry.histogram("test.time").record(10);
+		new CachedHistogram("test.time").record(20);
+		assertEquals(2, registry.histogram("test.time").getCount());
+
+		assertEquals(2L, server.getAttribute(name, "search.misses"));
+		assertEquals(2L, server.getAttribute(name, "test.time.count"));
+		try {
+			registry.invoke("reset", new Object[0], new String[0]);
+			fail("The registry has no operations");
+		} catch (ReflectionException e){
+			assertTrue(e.getTargetException() instanceof NoSuchMethodException);
+		}
+
+		SimpleMetricsRegistry simple = new SimpleMetricsRegistry();
+		Metrics.setRegistry(simple);
+		assertFalse(server.isRegistered(name));
+		Search.getElement(set, "a");
+		assertEquals(1, simple.counter("search.hits").get());
+		assertEquals(1, registry.counter("search.hits").get());
+	}
+
+}